@@ -34,6 +34,9 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 import org.springframework.web.server.ResponseStatusException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -53,6 +56,21 @@ import java.util.Set;
 @Log4j2
 public abstract class BindedRestController<E extends BaseDTOModel, F extends BaseDTOModel> {
 
+  /**
+   * Request header used by clients to state their preferences, see RFC 7240.
+   */
+  public static final String PREFER_HEADER = "Prefer";
+
+  /**
+   * Response header listing the preferences that were honored.
+   */
+  public static final String PREFERENCE_APPLIED_HEADER = "Preference-Applied";
+
+  /**
+   * Preference asking for the ids of the written entities instead of their full representation.
+   */
+  public static final String RETURN_MINIMAL = "return=minimal";
+
   /**
    * Converter for converting raw JSON strings to DTO objects.
    */
@@ -122,9 +140,12 @@ public abstract class BindedRestController<E extends BaseDTOModel, F extends Bas
    * @param rawEntity The raw JSON string to be converted to a DTO object.
    * @return The saved DTO object.
    */
-  private E handleEntity(String rawEntity) {
+  private Object handleEntity(String rawEntity, boolean minimal) {
     F dtoEntity = converter.convert(rawEntity);
     validate(dtoEntity);
+    if (minimal) {
+      return Map.of("id", repository.saveMinimal(dtoEntity));
+    }
     return repository.save(dtoEntity);
   }
 
@@ -132,7 +153,7 @@ public abstract class BindedRestController<E extends BaseDTOModel, F extends Bas
    * Endpoint for creating a new entity.
    *
    * @param rawEntity The raw JSON string of the entity to be created.
-   * @return The created entity.
+   * @return The created entity, or only its id when the request prefers return=minimal.
    */
   @PostMapping
   @ResponseStatus(HttpStatus.OK)
@@ -146,7 +167,12 @@ public abstract class BindedRestController<E extends BaseDTOModel, F extends Bas
     try {
       jsonPath = (StringUtils.hasText(jsonPath)) ? jsonPath : "$";
       Object rawData = parseJson(rawEntity, jsonPath);
-      return new ResponseEntity<>(handleRawData(rawData, rawEntity), HttpStatus.CREATED);
+      boolean minimal = isReturnMinimal();
+      var response = ResponseEntity.status(HttpStatus.CREATED);
+      if (minimal) {
+        response.header(PREFERENCE_APPLIED_HEADER, RETURN_MINIMAL);
+      }
+      return response.body(handleRawData(rawData, rawEntity, minimal));
     } catch (JsonProcessingException e) {
       log.error("JSON processing error while updating new entity", e);
       throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid JSON format");
@@ -177,17 +203,19 @@ public abstract class BindedRestController<E extends BaseDTOModel, F extends Bas
    *
    * @param rawData   The parsed JSON data.
    * @param rawEntity The raw JSON string.
+   * @param minimal   Whether only the ids of the saved entities are returned.
    * @return The DTO or list of DTOs.
    * @throws JsonProcessingException If an error occurs while converting a JSON object to a DTO.
    */
-  private Object handleRawData(Object rawData, String rawEntity) throws JsonProcessingException {
+  private Object handleRawData(Object rawData, String rawEntity, boolean minimal)
+      throws JsonProcessingException {
     ObjectMapper objectMapper = new ObjectMapper();
     if (rawData instanceof JSONArray) {
-      List<E> jsonObjects = new ArrayList<>();
+      List<Object> jsonObjects = new ArrayList<>();
       for (Object rawDatum : ((JSONArray) rawData)) {
         if (rawDatum instanceof Map) {
           String jsonObject = objectMapper.writeValueAsString(rawDatum);
-          jsonObjects.add(handleEntity(jsonObject));
+          jsonObjects.add(handleEntity(jsonObject, minimal));
         } else {
           log.error("Invalid JSON object: {}", rawDatum);
           throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid JSON object");
@@ -196,9 +224,9 @@ public abstract class BindedRestController<E extends BaseDTOModel, F extends Bas
       return jsonObjects;
     } else if (rawData instanceof Map) {
       String jsonObject = objectMapper.writeValueAsString(rawData);
-      return handleEntity(jsonObject);
+      return handleEntity(jsonObject, minimal);
     } else {
-      return handleEntity(rawEntity);
+      return handleEntity(rawEntity, minimal);
     }
   }
 
@@ -207,7 +235,7 @@ public abstract class BindedRestController<E extends BaseDTOModel, F extends Bas
    *
    * @param id        The ID of the entity to be updated.
    * @param rawEntity The raw JSON string of the entity to be updated.
-   * @return The updated entity.
+   * @return The updated entity, or no content when the request prefers return=minimal.
    */
   @PutMapping("/{id}")
   @ResponseStatus(HttpStatus.OK)
@@ -221,6 +249,10 @@ public abstract class BindedRestController<E extends BaseDTOModel, F extends Bas
       F dtoEntity = converter.convert(rawEntity);
       validate(dtoEntity);
       dtoEntity.setId(id);
+      if (isReturnMinimal()) {
+        repository.updateMinimal(dtoEntity);
+        return ResponseEntity.noContent().header(PREFERENCE_APPLIED_HEADER, RETURN_MINIMAL).build();
+      }
       return new ResponseEntity<>(repository.update(dtoEntity), HttpStatus.CREATED);
     } catch (Exception e) {
       log.error("Error while updating entity {}", id, e);
@@ -243,4 +275,25 @@ public abstract class BindedRestController<E extends BaseDTOModel, F extends Bas
       throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Validation failed: " + messages);
     }
   }
+
+  /**
+   * Checks whether the current request prefers a minimal response.
+   *
+   * @return true if the Prefer header of the request contains return=minimal.
+   */
+  protected boolean isReturnMinimal() {
+    RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+    if (!(attributes instanceof ServletRequestAttributes)) {
+      return false;
+    }
+    var prefer = ((ServletRequestAttributes) attributes).getRequest().getHeaders(PREFER_HEADER);
+    while (prefer != null && prefer.hasMoreElements()) {
+      for (String preference : prefer.nextElement().split(",")) {
+        if (RETURN_MINIMAL.equalsIgnoreCase(preference.trim())) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
 }
@@ -28,5 +28,27 @@ public interface DASRepository<E extends BaseDTOModel, F extends BaseDTOModel> {
 
   E update(F dtoEntity);
 
+  /**
+   * Saves an entity and returns only its id. Implementations can skip the conversion of the
+   * saved entity to the read DTO.
+   *
+   * @param dtoEntity The entity to save.
+   * @return String The id of the saved entity.
+   */
+  default String saveMinimal(F dtoEntity) {
+    return save(dtoEntity).getId();
+  }
+
+  /**
+   * Updates an entity and returns only its id. Implementations can skip the conversion of the
+   * updated entity to the read DTO.
+   *
+   * @param dtoEntity The entity to update.
+   * @return String The id of the updated entity.
+   */
+  default String updateMinimal(F dtoEntity) {
+    return update(dtoEntity).getId();
+  }
+
 }
 
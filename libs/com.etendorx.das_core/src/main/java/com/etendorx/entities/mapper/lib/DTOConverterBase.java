@@ -3,13 +3,16 @@ package com.etendorx.entities.mapper.lib;
 import org.springframework.data.domain.Page;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 public abstract class DTOConverterBase<E, F, G> implements DTOConverter<E, F, G> {
 
   @Override
   public Iterable<F> convert(Iterable<E> entities) {
-    List<F> dtos = new ArrayList<>();
+    List<F> dtos = entities instanceof Collection<E> collection
+        ? new ArrayList<>(collection.size())
+        : new ArrayList<>();
     for (E entity : entities) {
       dtos.add(convert(entity));
     }
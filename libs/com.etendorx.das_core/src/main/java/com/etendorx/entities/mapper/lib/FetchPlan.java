@@ -0,0 +1,114 @@
+/*
+ * Copyright 2022-2024  Futit Services SL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.etendorx.entities.mapper.lib;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceUnitUtil;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.FetchParent;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.metamodel.EntityType;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The associations a projection reads from an entity, expressed as property paths such as
+ * {@code businessPartner.priceList}. Converters walk these paths on lazy associations, so loading
+ * them up front replaces one select per row and association with a single fetch join query for
+ * the whole page.
+ *
+ * @param <E> The type of the root entity.
+ */
+@Getter
+public class FetchPlan<E> {
+
+  // Keeps the IN clause of the fetch query below the limits of the database drivers.
+  private static final int MAX_IDS_PER_QUERY = 1000;
+
+  private final Class<E> entityClass;
+  private final List<String> paths;
+
+  private FetchPlan(Class<E> entityClass, List<String> paths) {
+    this.entityClass = entityClass;
+    this.paths = paths;
+  }
+
+  /**
+   * Creates a fetch plan.
+   *
+   * @param entityClass The class of the root entity.
+   * @param paths       The association paths to load, relative to the root entity.
+   * @return FetchPlan<E> The fetch plan.
+   */
+  public static <E> FetchPlan<E> of(Class<E> entityClass, String... paths) {
+    return new FetchPlan<>(entityClass, List.of(paths));
+  }
+
+  public boolean isEmpty() {
+    return paths.isEmpty();
+  }
+
+  /**
+   * Loads the associations of the plan for the given entities into the persistence context. The
+   * entities keep their own instances; their lazy proxies are resolved from the persistence
+   * context when the converters access them, without further queries.
+   *
+   * @param entityManager The entity manager bound to the current session.
+   * @param entities      The entities already loaded.
+   */
+  public void load(EntityManager entityManager, Iterable<? extends E> entities) {
+    if (isEmpty()) {
+      return;
+    }
+    PersistenceUnitUtil unitUtil = entityManager.getEntityManagerFactory().getPersistenceUnitUtil();
+    List<Object> ids = new ArrayList<>();
+    for (E entity : entities) {
+      if (entity != null) {
+        ids.add(unitUtil.getIdentifier(entity));
+      }
+    }
+    for (int from = 0; from < ids.size(); from += MAX_IDS_PER_QUERY) {
+      List<Object> chunk = ids.subList(from, Math.min(ids.size(), from + MAX_IDS_PER_QUERY));
+      entityManager.createQuery(createQuery(entityManager, chunk)).getResultList();
+    }
+  }
+
+  private CriteriaQuery<E> createQuery(EntityManager entityManager, List<Object> ids) {
+    CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+    CriteriaQuery<E> query = builder.createQuery(entityClass);
+    Root<E> root = query.from(entityClass);
+    // Paths sharing a prefix reuse the same join
+    Map<String, FetchParent<?, ?>> fetches = new HashMap<>();
+    for (String path : paths) {
+      FetchParent<?, ?> parent = root;
+      String prefix = "";
+      for (String attribute : path.split("\\.")) {
+        prefix = prefix.isEmpty() ? attribute : prefix + "." + attribute;
+        final FetchParent<?, ?> current = parent;
+        parent = fetches.computeIfAbsent(prefix, key -> current.fetch(attribute, JoinType.LEFT));
+      }
+    }
+    EntityType<E> entityType = entityManager.getMetamodel().entity(entityClass);
+    String idAttribute = entityType.getId(entityType.getIdType().getJavaType()).getName();
+    return query.select(root).where(root.get(idAttribute).in(ids));
+  }
+}
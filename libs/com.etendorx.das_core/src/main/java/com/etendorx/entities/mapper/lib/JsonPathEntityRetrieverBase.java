@@ -15,16 +15,18 @@
  */
 package com.etendorx.entities.mapper.lib;
 
+import jakarta.persistence.criteria.Predicate;
 import lombok.extern.slf4j.Slf4j;
 import org.hibernate.Hibernate;
 import org.hibernate.NonUniqueResultException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.repository.CrudRepository;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Iterator;
 import java.util.List;
 import java.util.TreeSet;
 
@@ -37,6 +39,10 @@ import java.util.TreeSet;
 @Slf4j
 public abstract class JsonPathEntityRetrieverBase<E> implements JsonPathEntityRetriever<E> {
 
+  private static final String ID = "id";
+  // Two rows are enough to tell a unique result from a non-unique one
+  private static final Pageable UNIQUE_CHECK = PageRequest.of(0, 2);
+
   protected abstract String getTableId();
 
   protected abstract ExternalIdService getExternalIdService();
@@ -67,9 +73,7 @@ public abstract class JsonPathEntityRetrieverBase<E> implements JsonPathEntityRe
     if (key == null) {
       return null;
     }
-    var treeSet = new TreeSet<String>();
-    treeSet.add(objectToString(key));
-    return get(treeSet);
+    return find(getKeys(), new String[]{ objectToString(key) });
   }
 
   /**
@@ -84,46 +88,73 @@ public abstract class JsonPathEntityRetrieverBase<E> implements JsonPathEntityRe
     return get(getKeys(), keyValues);
   }
 
-/**
- * Retrieves an entity from the repository using a set of key values and their corresponding keys.
- * The keys and values are provided as arrays and must have the same length.
- * Each key-value pair is used to create a specification that checks if an entity's attribute (the key) equals the provided value.
- * All specifications are combined using logical AND, meaning an entity must satisfy all specifications to be retrieved.
- * If no entity satisfies all specifications, null is returned.
- *
- * @param keys An array of keys. Each key is the name of an attribute of the entity.
- * @param keyValues An array of values. Each value corresponds to a key and is the value the entity's attribute should have.
- * @return The retrieved entity, or null if no entity was found.
- * @throws NonUniqueResultException If more than one entity was found.
- * @throws IllegalArgumentException If the number of keys does not match the number of values.
- */
-@SuppressWarnings("unchecked")
-public E get(String[] keys, TreeSet<String> keyValues) throws NonUniqueResultException {
-  Iterator<String> valueIterator = keyValues.iterator();
-  if (keyValues.size() != keys.length) {
-    throw new IllegalArgumentException("Mapping has misconfigured identifiers");
+  /**
+   * Retrieves an entity from the repository using a set of key values and their corresponding keys.
+   * The keys and values are provided as arrays and must have the same length.
+   * Each key-value pair is used to create a specification that checks if an entity's attribute (the key) equals the provided value.
+   * All specifications are combined using logical AND, meaning an entity must satisfy all specifications to be retrieved.
+   * If no entity satisfies all specifications, null is returned.
+   *
+   * @param keys An array of keys. Each key is the name of an attribute of the entity.
+   * @param keyValues An array of values. Each value corresponds to a key and is the value the entity's attribute should have.
+   * @return The retrieved entity, or null if no entity was found.
+   * @throws NonUniqueResultException If more than one entity was found.
+   * @throws IllegalArgumentException If the number of keys does not match the number of values.
+   */
+  public E get(String[] keys, TreeSet<String> keyValues) throws NonUniqueResultException {
+    if (keyValues.size() != keys.length) {
+      throw new IllegalArgumentException("Mapping has misconfigured identifiers");
+    }
+    return find(keys, keyValues.toArray(new String[0]));
   }
-  List<Specification<E>> specs = new ArrayList<>();
 
-  for (String key : keys) {
-    String idReceived = valueIterator.next();
-    final String value = getExternalIdService().convertExternalToInternalId(getTableId(), idReceived);
-    specs.add((root, query, builder) -> builder.equal(root.get(key), value));
-  }
-  Specification<E> combinedSpec = specs.stream().reduce(Specification::and).orElse(null);
-  if(combinedSpec == null) {
-    throw new IllegalArgumentException("No specifications were created");
-  }
-  var result = getRepository().findAll(combinedSpec);
-  if(result.size() > 1) {
-    // In case of a bad configuration, the repository will retrieve the first entity that satisfies
-    // the specifications. This is a configuration error and should be fixed.
-    log.error("Detected a non-unique result for the entity retrieval. This is a configuration error."
-        + Arrays.toString(keys));
+  /**
+   * Retrieves the entity whose keys have the given values. A lookup by id alone goes to
+   * findById, which is answered from the persistence context when the entity is already loaded.
+   * Other lookups run a single specification with one predicate per key, whose values Hibernate
+   * binds as parameters so the statement is the same for every call, and read at most two rows,
+   * enough to detect a non-unique result.
+   *
+   * @param keys   The names of the attributes of the entity.
+   * @param values The external values of the attributes, in key order.
+   * @return The retrieved entity, or null if no entity was found.
+   */
+  @SuppressWarnings("unchecked")
+  private E find(String[] keys, String[] values) {
+    if (keys.length != values.length) {
+      throw new IllegalArgumentException("Mapping has misconfigured identifiers");
+    }
+    if (keys.length == 0) {
+      throw new IllegalArgumentException("No specifications were created");
+    }
+    final String[] internalValues = new String[values.length];
+    for (int i = 0; i < values.length; i++) {
+      internalValues[i] = getExternalIdService().convertExternalToInternalId(getTableId(),
+          values[i]);
+    }
+    if (keys.length == 1 && ID.equals(keys[0])
+        && getRepository() instanceof CrudRepository<?, ?> crudRepository) {
+      return ((CrudRepository<E, String>) crudRepository).findById(internalValues[0])
+          .map(entity -> (E) Hibernate.unproxy(entity))
+          .orElse(null);
+    }
+    Specification<E> spec = (root, query, builder) -> {
+      Predicate[] predicates = new Predicate[keys.length];
+      for (int i = 0; i < keys.length; i++) {
+        predicates[i] = builder.equal(root.get(keys[i]), internalValues[i]);
+      }
+      return builder.and(predicates);
+    };
+    List<E> result = getRepository().findAll(spec, UNIQUE_CHECK).getContent();
+    if (result.size() > 1) {
+      // In case of a bad configuration, the repository will retrieve the first entity that satisfies
+      // the specifications. This is a configuration error and should be fixed.
+      log.error("Detected a non-unique result for the entity retrieval. This is a configuration error."
+          + Arrays.toString(keys));
+    }
+    // Unproxy the entity to avoid lazy loading issues
+    return result.isEmpty() ? null : (E) Hibernate.unproxy(result.get(0));
   }
-  // Unproxy the entity to avoid lazy loading issues
-  return result.isEmpty() ? null : (E) Hibernate.unproxy(result.get(0));
-}
 
   /**
    * Converts an object to a string.
@@ -151,6 +182,6 @@ public E get(String[] keys, TreeSet<String> keyValues) throws NonUniqueResultExc
 
   @Override
   public E get(String field, String key) {
-    return get(new String[]{field}, new TreeSet<>(List.of(objectToString(key))));
+    return find(new String[]{ field }, new String[]{ objectToString(key) });
   }
 }
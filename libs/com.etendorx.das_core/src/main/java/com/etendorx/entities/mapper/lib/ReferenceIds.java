@@ -0,0 +1,46 @@
+/*
+ * Copyright 2022-2024  Futit Services SL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.etendorx.entities.mapper.lib;
+
+import org.hibernate.proxy.HibernateProxy;
+
+import java.util.function.Function;
+
+/**
+ * Reads the id of a referenced entity. A lazy many-to-one is a proxy that already holds the id of
+ * the row it stands for, so the id is returned from the proxy and the referenced row is not
+ * loaded.
+ */
+public final class ReferenceIds {
+
+  private ReferenceIds() {
+  }
+
+  /**
+   * Returns the id of a referenced entity.
+   *
+   * @param reference The referenced entity, or its proxy.
+   * @param idGetter  The id getter, used when the reference is not a proxy.
+   * @return I The id of the referenced entity.
+   */
+  @SuppressWarnings("unchecked")
+  public static <E, I> I getId(E reference, Function<E, I> idGetter) {
+    if (reference instanceof HibernateProxy proxy) {
+      return (I) proxy.getHibernateLazyInitializer().getIdentifier();
+    }
+    return idGetter.apply(reference);
+  }
+}
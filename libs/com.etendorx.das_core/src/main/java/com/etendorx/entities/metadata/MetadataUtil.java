@@ -2,4 +2,14 @@ package com.etendorx.entities.metadata;
 
 public interface MetadataUtil {
   FieldMetadata getPropertyMetadata(String adTableId, String property);
+
+  /**
+   * Resolves a dotted property path starting on the given table, following the relations of its
+   * segments.
+   *
+   * @param adTableId The table the path starts on.
+   * @param propertyPath The property path, segments separated by ".".
+   * @return PropertyPathMetadata The resolution, or null if no segment is a relation.
+   */
+  PropertyPathMetadata getPropertyPathMetadata(String adTableId, String propertyPath);
 }
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2022-2024  Futit Services SL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.etendorx.entities.metadata;
+
+/**
+ * Resolution of a dotted property path: the table and entity the path ends on, and whether the
+ * last relation traversed is a one-to-many list. Instances are immutable and shared.
+ */
+public class PropertyPathMetadata {
+  final String adTableId;
+  final String entityName;
+  final boolean isArray;
+
+  public PropertyPathMetadata(String adTableId, String entityName, boolean isArray) {
+    this.adTableId = adTableId;
+    this.entityName = entityName;
+    this.isArray = isArray;
+  }
+
+  public String getAdTableId() {
+    return adTableId;
+  }
+
+  public String getEntityName() {
+    return entityName;
+  }
+
+  public boolean isArray() {
+    return isArray;
+  }
+}
@@ -18,16 +18,29 @@ import org.springframework.util.MultiValueMap;
 import org.springframework.util.ReflectionUtils;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class AnnotatedEventHandlerListenerInvoker
     implements SaveOrUpdateEventListener, PreInsertEventListener, PreDeleteEventListener,
     PreUpdateEventListener, PostInsertEventListener, PostDeleteEventListener,
     PostUpdateEventListener, BeanPostProcessor {
 
+  private static final EventHandlerMethod[] NO_HANDLERS = new EventHandlerMethod[0];
+
   private final MultiValueMap<Class<?>, EventHandlerMethod> handlerMethods = new LinkedMultiValueMap<>();
+  // Handlers of each event type resolved by concrete entity class, built on the first event
+  private final Map<Class<?>, Map<Class<?>, EventHandlerMethod[]>> dispatchTable =
+      new ConcurrentHashMap<>();
 
   @Override
   public void onSaveOrUpdate(SaveOrUpdateEvent event) throws HibernateException {
@@ -71,16 +84,52 @@ public class AnnotatedEventHandlerListenerInvoker
 
   private boolean onEvent(AbstractEvent event, Object entity) {
     boolean result = false;
-    if (handlerMethods.get(event.getClass()) != null) {
-      for (EventHandlerMethod handlerMethod : handlerMethods.get(event.getClass())) {
-        if (ClassUtils.isAssignable(handlerMethod.targetType, entity.getClass()))
-          ReflectionUtils.invokeMethod(handlerMethod.method, handlerMethod.bean, entity, event);
-      }
+    EventHandlerMethod[] handlers = getHandlers(event.getClass(), entity.getClass());
+    for (EventHandlerMethod handlerMethod : handlers) {
+      handlerMethod.invoke(entity, event);
     }
 
     return result;
   }
 
+  /**
+   * Returns the handlers of an event type that accept an entity class, in invocation order. The
+   * result is resolved once per pair and cached, entity classes without handlers get an empty
+   * array.
+   *
+   * @param eventClass  The class of the Hibernate event.
+   * @param entityClass The concrete class of the entity.
+   * @return EventHandlerMethod[] The handlers to invoke.
+   */
+  private EventHandlerMethod[] getHandlers(Class<?> eventClass, Class<?> entityClass) {
+    Map<Class<?>, EventHandlerMethod[]> byEntity = dispatchTable.get(eventClass);
+    if (byEntity == null) {
+      if (!handlerMethods.containsKey(eventClass)) {
+        return NO_HANDLERS;
+      }
+      byEntity = dispatchTable.computeIfAbsent(eventClass, key -> new ConcurrentHashMap<>());
+    }
+    EventHandlerMethod[] handlers = byEntity.get(entityClass);
+    if (handlers == null) {
+      handlers = byEntity.computeIfAbsent(entityClass, key -> resolve(eventClass, key));
+    }
+    return handlers;
+  }
+
+  private EventHandlerMethod[] resolve(Class<?> eventClass, Class<?> entityClass) {
+    List<EventHandlerMethod> registered = handlerMethods.get(eventClass);
+    if (registered == null) {
+      return NO_HANDLERS;
+    }
+    List<EventHandlerMethod> handlers = new ArrayList<>();
+    for (EventHandlerMethod handlerMethod : registered) {
+      if (ClassUtils.isAssignable(handlerMethod.targetType, entityClass)) {
+        handlers.add(handlerMethod);
+      }
+    }
+    return handlers.isEmpty() ? NO_HANDLERS : handlers.toArray(NO_HANDLERS);
+  }
+
   @Override
   public Object postProcessBeforeInitialization(Object bean, String beanName)
       throws BeansException {
@@ -127,17 +176,44 @@ public class AnnotatedEventHandlerListenerInvoker
       Collections.sort(events);
       handlerMethods.put(eventClass, events);
     }
+    // Beans registered after the first events must be visible to the next dispatches
+    dispatchTable.clear();
   }
 
   static class EventHandlerMethod implements Comparable<EventHandlerMethod> {
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(void.class,
+        Object.class, Object.class);
+
     final Class<?> targetType;
     final Method method;
     final Object bean;
+    // The method bound to the bean, taking the entity and the event as Object
+    private final MethodHandle handle;
 
     public EventHandlerMethod(Class<?> targetType, Object bean, Method method) {
       this.targetType = targetType;
       this.method = method;
       this.bean = bean;
+      try {
+        MethodHandle methodHandle = MethodHandles.lookup().unreflect(method);
+        if (!Modifier.isStatic(method.getModifiers())) {
+          methodHandle = methodHandle.bindTo(bean);
+        }
+        this.handle = methodHandle.asType(INVOKER_TYPE);
+      } catch (IllegalAccessException e) {
+        throw new BeanInitializationException(
+            "@EventHandlerListener method could not be accessed.", e);
+      }
+    }
+
+    void invoke(Object entity, Object event) {
+      try {
+        handle.invokeExact(entity, event);
+      } catch (RuntimeException | Error e) {
+        throw e;
+      } catch (Throwable e) {
+        throw new UndeclaredThrowableException(e);
+      }
     }
 
     @Override
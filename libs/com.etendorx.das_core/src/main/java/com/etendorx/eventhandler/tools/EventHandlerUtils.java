@@ -5,40 +5,83 @@ import org.hibernate.event.spi.AbstractPreDatabaseOperationEvent;
 import org.hibernate.event.spi.SaveOrUpdateEvent;
 import org.hibernate.persister.entity.EntityPersister;
 
-import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 public class EventHandlerUtils {
 
+  // Property name to state index of each persister, built on the first lookup. The persisters
+  // are weakly referenced, so the indexes go away with their session factory
+  private static final Map<EntityPersister, Map<String, Integer>> PROPERTY_INDEXES =
+      Collections.synchronizedMap(new WeakHashMap<>());
+
   private EventHandlerUtils() {
   }
 
   public static int getPropertyIndex(AbstractEvent event, String property) {
+    return getPropertyIndexByPersister(getPersister(event), property);
+  }
+
+  /**
+   * Returns the persister of the entity of an event.
+   *
+   * @param event The event, a pre database operation or a save or update event.
+   * @return EntityPersister The persister of the event entity.
+   */
+  public static EntityPersister getPersister(AbstractEvent event) {
     if (event instanceof AbstractPreDatabaseOperationEvent) {
       AbstractPreDatabaseOperationEvent specificEvent = (AbstractPreDatabaseOperationEvent) event;
-      return getPropertyIndexByPersister(specificEvent.getPersister(), property);
+      return specificEvent.getPersister();
     } else if (event instanceof SaveOrUpdateEvent) {
       SaveOrUpdateEvent specificEvent = (SaveOrUpdateEvent) event;
-      return getPropertyIndexByPersister(specificEvent.getEntry().getPersister(), property);
+      return specificEvent.getEntry().getPersister();
     } else {
       throw new IllegalArgumentException("Unsupported event type: " + event.getClass());
     }
   }
 
-  private static int getPropertyIndexByPersister(EntityPersister persister, String property) {
-    return Arrays.asList(persister.getPropertyNames()).indexOf(property);
+  /**
+   * Returns the index of a property in the state arrays of a persister.
+   *
+   * @param persister The entity persister.
+   * @param property  The property name.
+   * @return int The index of the property, or -1 if the entity has no such property.
+   */
+  public static int getPropertyIndexByPersister(EntityPersister persister, String property) {
+    Integer index = PROPERTY_INDEXES.computeIfAbsent(persister, EventHandlerUtils::indexProperties)
+        .get(property);
+    return index == null ? -1 : index;
+  }
+
+  private static Map<String, Integer> indexProperties(EntityPersister persister) {
+    String[] propertyNames = persister.getPropertyNames();
+    Map<String, Integer> indexes = new HashMap<>(propertyNames.length * 2);
+    for (int i = propertyNames.length - 1; i >= 0; i--) {
+      // Iterated backwards so the first occurrence wins, as indexOf did
+      indexes.put(propertyNames[i], i);
+    }
+    return Collections.unmodifiableMap(indexes);
   }
 
   public static Object getPropertyValue(AbstractEvent event, String property) {
-    int index = getPropertyIndex(event, property);
+    EntityPersister persister = getPersister(event);
+    int index = getPropertyIndexByPersister(persister, property);
+    return persister.getPropertyValue(getEntity(event), index);
+  }
 
+  /**
+   * Returns the entity of an event.
+   *
+   * @param event The event, a pre database operation or a save or update event.
+   * @return Object The event entity.
+   */
+  public static Object getEntity(AbstractEvent event) {
     if (event instanceof AbstractPreDatabaseOperationEvent) {
-      AbstractPreDatabaseOperationEvent specificEvent = (AbstractPreDatabaseOperationEvent) event;
-      return specificEvent.getPersister().getPropertyValue(specificEvent.getEntity(), index);
+      return ((AbstractPreDatabaseOperationEvent) event).getEntity();
     } else if (event instanceof SaveOrUpdateEvent) {
-      SaveOrUpdateEvent specificEvent = (SaveOrUpdateEvent) event;
-      return specificEvent.getEntry()
-          .getPersister()
-          .getPropertyValue(specificEvent.getEntity(), index);
+      return ((SaveOrUpdateEvent) event).getEntity();
     } else {
       throw new IllegalArgumentException("Unsupported event type: " + event.getClass());
     }
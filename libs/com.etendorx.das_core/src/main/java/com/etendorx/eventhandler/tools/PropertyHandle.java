@@ -0,0 +1,124 @@
+package com.etendorx.eventhandler.tools;
+
+import org.hibernate.event.spi.AbstractEvent;
+import org.hibernate.persister.entity.EntityPersister;
+
+import java.lang.ref.WeakReference;
+
+/**
+ * A typed accessor to a property of the entities handled by an event handler. Handlers create
+ * their handles once, usually as static fields, and use them to read and modify the state arrays
+ * of the events without looking up the property by name every time. The index of the property
+ * is resolved on the first use and reused while the events come from the same persister.
+ *
+ * @param <T> The type of the property value.
+ */
+public final class PropertyHandle<T> {
+
+  private final String property;
+  private final Class<T> type;
+  private volatile Resolved resolved;
+
+  private PropertyHandle(String property, Class<T> type) {
+    this.property = property;
+    this.type = type;
+  }
+
+  /**
+   * Creates a handle for a property.
+   *
+   * @param property The property name.
+   * @param type     The type of the property value.
+   * @param <T>      The type of the property value.
+   * @return PropertyHandle<T> The handle of the property.
+   */
+  public static <T> PropertyHandle<T> of(String property, Class<T> type) {
+    return new PropertyHandle<>(property, type);
+  }
+
+  /**
+   * @return String The property name.
+   */
+  public String getProperty() {
+    return property;
+  }
+
+  /**
+   * Returns the index of the property in the state arrays of a persister.
+   *
+   * @param persister The entity persister.
+   * @return int The index of the property.
+   * @throws IllegalArgumentException If the entity has no such property.
+   */
+  public int getIndex(EntityPersister persister) {
+    Resolved current = resolved;
+    if (current == null || current.persister.get() != persister) {
+      int index = EventHandlerUtils.getPropertyIndexByPersister(persister, property);
+      if (index < 0) {
+        throw new IllegalArgumentException(
+            "Property " + property + " not found in entity " + persister.getEntityName());
+      }
+      current = new Resolved(persister, index);
+      resolved = current;
+    }
+    return current.index;
+  }
+
+  /**
+   * Returns the index of the property in the state arrays of an event.
+   *
+   * @param event The event, a pre database operation or a save or update event.
+   * @return int The index of the property.
+   */
+  public int getIndex(AbstractEvent event) {
+    return getIndex(EventHandlerUtils.getPersister(event));
+  }
+
+  /**
+   * Returns the current value of the property in the entity of an event.
+   *
+   * @param event The event, a pre database operation or a save or update event.
+   * @return T The property value.
+   */
+  public T get(AbstractEvent event) {
+    EntityPersister persister = EventHandlerUtils.getPersister(event);
+    return type.cast(persister.getPropertyValue(EventHandlerUtils.getEntity(event),
+        getIndex(persister)));
+  }
+
+  /**
+   * Returns the value of the property in a state array of an event.
+   *
+   * @param event The event the state belongs to.
+   * @param state The state array, for example the state of a pre insert event.
+   * @return T The property value.
+   */
+  public T get(AbstractEvent event, Object[] state) {
+    return type.cast(state[getIndex(event)]);
+  }
+
+  /**
+   * Sets the value of the property in a state array of an event.
+   *
+   * @param event The event the state belongs to.
+   * @param state The state array, for example the state of a pre update event.
+   * @param value The new property value.
+   */
+  public void set(AbstractEvent event, Object[] state, T value) {
+    state[getIndex(event)] = value;
+  }
+
+  /**
+   * The index of the property in the state arrays of a persister. Handles usually live in static
+   * fields, the persister is weakly referenced so they do not keep a closed session factory.
+   */
+  private static final class Resolved {
+    private final WeakReference<EntityPersister> persister;
+    private final int index;
+
+    private Resolved(EntityPersister persister, int index) {
+      this.persister = new WeakReference<>(persister);
+      this.index = index;
+    }
+  }
+}
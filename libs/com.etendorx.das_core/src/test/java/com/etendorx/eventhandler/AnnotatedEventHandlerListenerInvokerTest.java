@@ -0,0 +1,149 @@
+/*
+ * Copyright 2022-2024  Futit Services SL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.etendorx.eventhandler;
+
+import com.etendorx.eventhandler.annotation.EventHandlerListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PreInsertEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.annotation.Order;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AnnotatedEventHandlerListenerInvokerTest {
+
+  private static final List<String> CALLS = new ArrayList<>();
+
+  interface Audited {
+  }
+
+  static class BaseEntity {
+  }
+
+  static class SalesOrder extends BaseEntity implements Audited {
+  }
+
+  static class Product extends BaseEntity {
+  }
+
+  static class Invoice {
+  }
+
+  public static class OrderListeners {
+
+    @EventHandlerListener
+    @Order(3)
+    public void order(SalesOrder order, PreInsertEvent event) {
+      CALLS.add("order");
+    }
+
+    @EventHandlerListener
+    @Order(1)
+    public void audited(Audited audited, PreInsertEvent event) {
+      CALLS.add("audited");
+    }
+
+    @EventHandlerListener
+    public void invoice(Invoice invoice, PreInsertEvent event) {
+      CALLS.add("invoice");
+    }
+  }
+
+  public static class BaseListeners {
+
+    @EventHandlerListener
+    @Order(2)
+    public void base(BaseEntity entity, PreInsertEvent event) {
+      CALLS.add("base");
+    }
+
+    @EventHandlerListener
+    public void postInsert(Object entity, PostInsertEvent event) {
+      CALLS.add("postInsert");
+    }
+  }
+
+  private AnnotatedEventHandlerListenerInvoker invoker;
+
+  @BeforeEach
+  void setUp() {
+    CALLS.clear();
+    invoker = new AnnotatedEventHandlerListenerInvoker();
+    invoker.postProcessAfterInitialization(new OrderListeners(), "orderListeners");
+    invoker.postProcessAfterInitialization(new BaseListeners(), "baseListeners");
+  }
+
+  private static PreInsertEvent preInsert(Object entity) {
+    return new PreInsertEvent(entity, "1", new Object[0], null, null);
+  }
+
+  @Test
+  void listenersOfSuperclassesAndInterfacesShouldFireInOrder() {
+    invoker.onPreInsert(preInsert(new SalesOrder()));
+
+    assertEquals(List.of("audited", "base", "order"), CALLS);
+  }
+
+  @Test
+  void listenersShouldOnlyFireForAssignableEntities() {
+    invoker.onPreInsert(preInsert(new Product()));
+    invoker.onPreInsert(preInsert(new Invoice()));
+
+    assertEquals(List.of("base", "invoice"), CALLS);
+  }
+
+  @Test
+  void resolvedHandlersShouldBeReused() {
+    invoker.onPreInsert(preInsert(new SalesOrder()));
+    invoker.onPreInsert(preInsert(new SalesOrder()));
+
+    assertEquals(List.of("audited", "base", "order", "audited", "base", "order"), CALLS);
+  }
+
+  @Test
+  void listenersOfObjectShouldFireForEveryEntity() {
+    invoker.onPostInsert(new PostInsertEvent(new SalesOrder(), "1", new Object[0], null, null));
+    invoker.onPostInsert(new PostInsertEvent(new Invoice(), "2", new Object[0], null, null));
+
+    assertEquals(List.of("postInsert", "postInsert"), CALLS);
+  }
+
+  @Test
+  void eventsWithoutListenersShouldNotFire() {
+    invoker.onPostUpdate(new PostUpdateEvent(new SalesOrder(), "1",
+        new Object[0], new Object[0], new int[0], null, null));
+
+    assertEquals(List.of(), CALLS);
+  }
+
+  @Test
+  void listenersRegisteredAfterTheFirstEventShouldFire() {
+    invoker = new AnnotatedEventHandlerListenerInvoker();
+    invoker.postProcessAfterInitialization(new OrderListeners(), "orderListeners");
+    invoker.onPreInsert(preInsert(new SalesOrder()));
+
+    invoker.postProcessAfterInitialization(new BaseListeners(), "baseListeners");
+    invoker.onPreInsert(preInsert(new SalesOrder()));
+
+    assertEquals(List.of("audited", "order", "audited", "base", "order"), CALLS);
+  }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2022-2024  Futit Services SL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.etendorx.eventhandler.tools;
+
+import org.hibernate.event.spi.PreInsertEvent;
+import org.hibernate.event.spi.PreUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PropertyHandleTest {
+
+  private static final PropertyHandle<String> NAME = PropertyHandle.of("name", String.class);
+  private static final PropertyHandle<Long> QUANTITY = PropertyHandle.of("quantity", Long.class);
+
+  private final Object entity = new Object();
+  private EntityPersister persister;
+
+  @BeforeEach
+  void setUp() {
+    persister = mock(EntityPersister.class);
+    when(persister.getEntityName()).thenReturn("Product");
+    when(persister.getPropertyNames()).thenReturn(new String[] { "id", "name", "quantity" });
+    when(persister.getPropertyValue(entity, 1)).thenReturn("current");
+  }
+
+  private PreUpdateEvent preUpdate(Object[] state) {
+    return new PreUpdateEvent(entity, "1", state, state.clone(), persister, null);
+  }
+
+  @Test
+  void getShouldReadTheStateAndTheEntity() {
+    Object[] state = { "1", "new", 10L };
+    PreUpdateEvent event = preUpdate(state);
+
+    assertEquals("new", NAME.get(event, state));
+    assertEquals(10L, QUANTITY.get(event, state));
+    assertEquals("current", NAME.get(event));
+  }
+
+  @Test
+  void setShouldWriteTheState() {
+    Object[] state = { "1", "old", 10L };
+    PreInsertEvent event = new PreInsertEvent(entity, "1", state, persister, null);
+
+    NAME.set(event, state, "new");
+    QUANTITY.set(event, state, 20L);
+
+    assertArrayEquals(new Object[] { "1", "new", 20L }, state);
+  }
+
+  @Test
+  void handleShouldResolveTheIndexOfEachPersister() {
+    EntityPersister other = mock(EntityPersister.class);
+    when(other.getPropertyNames()).thenReturn(new String[] { "name" });
+
+    assertEquals(1, NAME.getIndex(persister));
+    assertEquals(0, NAME.getIndex(other));
+    assertEquals(1, NAME.getIndex(persister));
+  }
+
+  @Test
+  void unknownPropertyShouldBeRejected() {
+    PropertyHandle<String> unknown = PropertyHandle.of("unknown", String.class);
+    Object[] state = { "1", "name", 10L };
+
+    var exception = assertThrows(IllegalArgumentException.class,
+        () -> unknown.get(preUpdate(state), state));
+    assertEquals("Property unknown not found in entity Product", exception.getMessage());
+  }
+
+  @Test
+  void utilsShouldReturnTheFirstIndexOrMinusOne() {
+    EntityPersister duplicated = mock(EntityPersister.class);
+    when(duplicated.getPropertyNames()).thenReturn(new String[] { "a", "b", "a" });
+
+    assertEquals(0, EventHandlerUtils.getPropertyIndexByPersister(duplicated, "a"));
+    assertEquals(1, EventHandlerUtils.getPropertyIndexByPersister(duplicated, "b"));
+    assertEquals(-1, EventHandlerUtils.getPropertyIndexByPersister(duplicated, "c"));
+  }
+}
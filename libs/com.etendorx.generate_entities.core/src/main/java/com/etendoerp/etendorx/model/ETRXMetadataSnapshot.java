@@ -0,0 +1,615 @@
+/*
+ * Copyright 2022-2024  Futit Services SL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.etendoerp.etendorx.model;
+
+import com.etendoerp.etendorx.model.mapping.ETRXConstantValue;
+import com.etendoerp.etendorx.model.mapping.ETRXJavaMapping;
+import com.etendoerp.etendorx.model.projection.ETRXEntityField;
+import com.etendoerp.etendorx.model.projection.ETRXEntityFieldMap;
+import com.etendoerp.etendorx.model.projection.ETRXProjection;
+import com.etendoerp.etendorx.model.projection.ETRXProjectionEntity;
+import com.etendoerp.etendorx.model.repository.ETRXEntitySearch;
+import com.etendoerp.etendorx.model.repository.ETRXRepository;
+import com.etendoerp.etendorx.model.repository.ETRXSearchParam;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.hibernate.Session;
+import org.openbravo.base.model.ModelObject;
+import org.openbravo.base.model.ModelProvider;
+import org.openbravo.base.model.Table;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Indexed view of the Etendo RX metadata (projections, projection entities, fields,
+ * repositories and searches) used by the generators. The whole metadata is read with a few bulk
+ * queries, so the generators resolve it through in-memory lookups instead of querying the
+ * database for every table and projection.
+ * <p>
+ * The snapshot can be written to disk and read back, which allows running the generation without
+ * access to the Etendo RX tables. Table references are stored by id and resolved against the
+ * runtime model when the snapshot is read.
+ */
+public final class ETRXMetadataSnapshot {
+
+  private static final Logger log = LogManager.getLogger();
+
+  private static final Comparator<ModelObject> BY_ID = Comparator.comparing(ModelObject::getId,
+      Comparator.nullsLast(Comparator.naturalOrder()));
+  private static final Comparator<ETRXProjectionEntity> BY_PROJECTION = Comparator.comparing(
+      (ETRXProjectionEntity entity) -> entity.getProjection().getId(),
+      Comparator.nullsLast(Comparator.naturalOrder())).thenComparing(BY_ID);
+
+  private final List<ETRXProjection> projections;
+  private final List<ETRXProjectionEntity> projectionEntities;
+  private final List<ETRXRepository> repositories;
+  private final Map<String, List<ETRXProjectionEntity>> entitiesByTable;
+  private final Map<String, List<ETRXProjectionEntity>> entitiesByProjection;
+  private final Map<String, List<ETRXRepository>> repositoriesByTable;
+  private final Map<String, List<ETRXEntitySearch>> uniqueSearchesByTable;
+
+  /**
+   * Builds the snapshot and its indexes.
+   *
+   * @param projections        the active projections
+   * @param projectionEntities all the projection entities
+   * @param repositories       the active repositories
+   */
+  ETRXMetadataSnapshot(Collection<ETRXProjection> projections,
+      Collection<ETRXProjectionEntity> projectionEntities,
+      Collection<ETRXRepository> repositories) {
+    this.projections = sorted(projections, BY_ID);
+    this.projectionEntities = sorted(projectionEntities, BY_PROJECTION);
+    this.repositories = sorted(repositories, BY_ID);
+    this.entitiesByTable = index(this.projectionEntities, entity -> entity.getTable().getId());
+    this.entitiesByProjection = index(this.projectionEntities,
+        entity -> entity.getProjection().getId());
+    this.repositoriesByTable = index(this.repositories, repository -> repository.getTable().getId());
+    Map<String, List<ETRXEntitySearch>> searches = new HashMap<>();
+    repositoriesByTable.forEach((tableId, tableRepositories) -> {
+      Map<String, ETRXEntitySearch> unique = new LinkedHashMap<>();
+      for (ETRXRepository repository : tableRepositories) {
+        for (ETRXEntitySearch search : sorted(repository.getSearches(), BY_ID)) {
+          unique.putIfAbsent(search.getMethod(), search);
+        }
+      }
+      searches.put(tableId, List.copyOf(unique.values()));
+    });
+    this.uniqueSearchesByTable = Collections.unmodifiableMap(searches);
+  }
+
+  /**
+   * Reads the whole Etendo RX metadata with bulk queries. Java mappings and constant values are
+   * read first, so the eager references of the entity fields are resolved from the session.
+   *
+   * @param session the session mapping the Etendo RX classes
+   * @return ETRXMetadataSnapshot The snapshot of the metadata.
+   */
+  public static ETRXMetadataSnapshot load(Session session) {
+    long start = System.currentTimeMillis();
+    session.createQuery("select m from ETRXJavaMapping m left join fetch m.table",
+        ETRXJavaMapping.class).list();
+    session.createQuery("from ETRXConstantValue", ETRXConstantValue.class).list();
+    List<ETRXProjectionEntity> projectionEntities = session.createQuery(
+        "select distinct e from ETRXProjectionEntity e join fetch e.projection p"
+            + " left join fetch p.module join fetch e.table left join fetch e.fields f"
+            + " left join fetch f.entityFieldMap", ETRXProjectionEntity.class).list();
+    List<ETRXProjection> projections = session.createQuery(
+        "select distinct p from ETRXProjection p left join fetch p.entities"
+            + " where p.active = true", ETRXProjection.class).list();
+    List<ETRXRepository> repositories = session.createQuery(
+        "select distinct r from ETRXRepository r join fetch r.table left join fetch r.module"
+            + " left join fetch r.searches s left join fetch s.params where r.active = true",
+        ETRXRepository.class).list();
+    log.debug("Etendo RX metadata loaded in {} ms: {} projections, {} entities, {} repositories",
+        System.currentTimeMillis() - start, projections.size(), projectionEntities.size(),
+        repositories.size());
+    return new ETRXMetadataSnapshot(projections, projectionEntities, repositories);
+  }
+
+  /**
+   * @return List<ETRXProjection> The active projections, sorted by id.
+   */
+  public List<ETRXProjection> getProjections() {
+    return projections;
+  }
+
+  /**
+   * @return List<ETRXRepository> The active repositories, sorted by id.
+   */
+  public List<ETRXRepository> getRepositories() {
+    return repositories;
+  }
+
+  /**
+   * @param tableId the id of the table
+   * @return List<ETRXRepository> The active repositories of the table.
+   */
+  public List<ETRXRepository> getRepositories(String tableId) {
+    return repositoriesByTable.getOrDefault(tableId, List.of());
+  }
+
+  /**
+   * @param tableId the id of the table
+   * @return List<ETRXProjectionEntity> The projection entities of the table, sorted by projection.
+   */
+  public List<ETRXProjectionEntity> getProjectionEntitiesByTable(String tableId) {
+    return entitiesByTable.getOrDefault(tableId, List.of());
+  }
+
+  /**
+   * @param projectionId the id of the projection
+   * @return List<ETRXProjectionEntity> The entities of the projection.
+   */
+  public List<ETRXProjectionEntity> getProjectionEntitiesByProjection(String projectionId) {
+    return entitiesByProjection.getOrDefault(projectionId, List.of());
+  }
+
+  /**
+   * @param tableId the id of the table
+   * @return List<ETRXEntitySearch> The searches of the active repositories of the table, one per
+   * method name.
+   */
+  public List<ETRXEntitySearch> getUniqueSearches(String tableId) {
+    return uniqueSearchesByTable.getOrDefault(tableId, List.of());
+  }
+
+  /**
+   * Writes the snapshot to a file, so it can be used by later offline runs.
+   *
+   * @param file the target file
+   */
+  public void write(File file) {
+    if (file.getParentFile() != null) {
+      file.getParentFile().mkdirs();
+    }
+    try (var out = new ObjectOutputStream(
+        new BufferedOutputStream(new FileOutputStream(file)))) {
+      out.writeObject(toData());
+    } catch (IOException e) {
+      throw new UncheckedIOException("Error writing the Etendo RX metadata snapshot " + file, e);
+    }
+    log.info("Etendo RX metadata snapshot written to {}", file);
+  }
+
+  /**
+   * Reads a snapshot previously written with {@link #write(File)}. Tables are resolved against the
+   * runtime model of the {@link ModelProvider}.
+   *
+   * @param file the snapshot file
+   * @return ETRXMetadataSnapshot The snapshot read.
+   */
+  public static ETRXMetadataSnapshot read(File file) {
+    if (!file.isFile()) {
+      throw new IllegalStateException("The Etendo RX metadata snapshot " + file
+          + " does not exist, run the generation once with access to the database.");
+    }
+    try (var in = new ObjectInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+      log.info("Reading Etendo RX metadata snapshot from {}", file);
+      return fromData((SnapshotData) in.readObject());
+    } catch (IOException e) {
+      throw new UncheckedIOException("Error reading the Etendo RX metadata snapshot " + file, e);
+    } catch (ClassNotFoundException e) {
+      throw new IllegalStateException("Invalid Etendo RX metadata snapshot " + file, e);
+    }
+  }
+
+  private SnapshotData toData() {
+    Map<String, ETRXProjection> allProjections = new LinkedHashMap<>();
+    projections.forEach(projection -> allProjections.put(projection.getId(), projection));
+    projectionEntities.forEach(
+        entity -> allProjections.putIfAbsent(entity.getProjection().getId(),
+            entity.getProjection()));
+    Map<String, ETRXModule> modules = new LinkedHashMap<>();
+    allProjections.values().stream()
+        .map(ETRXProjection::getModule)
+        .filter(Objects::nonNull)
+        .forEach(module -> modules.putIfAbsent(module.getId(), module));
+    repositories.stream()
+        .map(ETRXRepository::getModule)
+        .filter(Objects::nonNull)
+        .forEach(module -> modules.putIfAbsent(module.getId(), module));
+    // Fields and search params keep the order of their mapping, the generators iterate them as
+    // they come
+    List<ETRXEntityField> fields = projectionEntities.stream()
+        .flatMap(entity -> inOrder(entity.getFields()).stream())
+        .toList();
+    Map<String, ETRXJavaMapping> javaMappings = new LinkedHashMap<>();
+    Map<String, ETRXConstantValue> constantValues = new LinkedHashMap<>();
+    for (ETRXEntityField field : fields) {
+      if (field.getJavaMapping() != null) {
+        javaMappings.putIfAbsent(field.getJavaMapping().getId(), field.getJavaMapping());
+      }
+      if (field.getConstantValue() != null) {
+        constantValues.putIfAbsent(field.getConstantValue().getId(), field.getConstantValue());
+      }
+    }
+    List<ETRXEntitySearch> searches = repositories.stream()
+        .flatMap(repository -> sorted(repository.getSearches(), BY_ID).stream())
+        .toList();
+    Set<String> activeProjections = projections.stream()
+        .map(ETRXProjection::getId)
+        .collect(Collectors.toSet());
+
+    return new SnapshotData(
+        modules.values().stream().map(ModuleData::of).toList(),
+        allProjections.values().stream()
+            .map(projection -> ProjectionData.of(projection,
+                activeProjections.contains(projection.getId())))
+            .toList(),
+        projectionEntities.stream().map(EntityData::of).toList(),
+        fields.stream().map(FieldData::of).toList(),
+        fields.stream()
+            .flatMap(field -> sorted(field.getEntityFieldMap(), BY_ID).stream())
+            .map(FieldMapData::of)
+            .toList(),
+        javaMappings.values().stream().map(JavaMappingData::of).toList(),
+        constantValues.values().stream().map(ConstantValueData::of).toList(),
+        repositories.stream().map(RepositoryData::of).toList(),
+        searches.stream().map(SearchData::of).toList(),
+        searches.stream()
+            .flatMap(search -> inOrder(search.getParams()).stream())
+            .map(SearchParamData::of)
+            .toList());
+  }
+
+  private static ETRXMetadataSnapshot fromData(SnapshotData data) {
+    Map<String, Table> tables = new HashMap<>();
+    for (Table table : ModelProvider.getInstance().getTables()) {
+      tables.putIfAbsent(table.getId(), table);
+    }
+    Map<String, ETRXModule> modules = byId(data.modules(), ModuleData::object,
+        ModuleData::toModule);
+    Map<String, ETRXJavaMapping> javaMappings = byId(data.javaMappings(),
+        JavaMappingData::object, mapping -> mapping.toJavaMapping(tables));
+    Map<String, ETRXConstantValue> constantValues = byId(data.constantValues(),
+        ConstantValueData::object, ConstantValueData::toConstantValue);
+    Map<String, ETRXProjection> allProjections = byId(data.projections(),
+        ProjectionData::object, projection -> projection.toProjection(modules));
+    Map<String, ETRXProjectionEntity> entities = byId(data.entities(), EntityData::object,
+        entity -> entity.toEntity(allProjections, tables));
+    Map<String, ETRXEntityField> fields = byId(data.fields(), FieldData::object,
+        field -> field.toField(entities, javaMappings, constantValues));
+    for (FieldData field : data.fields()) {
+      fields.get(field.object().id()).setEtrxProjectionEntityRelated(
+          entities.get(field.relatedEntityId()));
+    }
+    for (FieldMapData fieldMap : data.fieldMaps()) {
+      fieldMap.toFieldMap(fields);
+    }
+    Map<String, ETRXRepository> repositories = byId(data.repositories(),
+        RepositoryData::object, repository -> repository.toRepository(modules, tables));
+    Map<String, ETRXEntitySearch> searches = byId(data.searches(), SearchData::object,
+        search -> search.toSearch(repositories));
+    for (SearchParamData param : data.params()) {
+      param.toParam(searches);
+    }
+
+    List<ETRXProjection> projections = data.projections().stream()
+        .filter(ProjectionData::activeProjection)
+        .map(projection -> allProjections.get(projection.object().id()))
+        .toList();
+    return new ETRXMetadataSnapshot(projections, entities.values(), repositories.values());
+  }
+
+  private static <T> List<T> sorted(Collection<T> values, Comparator<? super T> comparator) {
+    if (values == null) {
+      return List.of();
+    }
+    return values.stream().sorted(comparator).toList();
+  }
+
+  private static <T> List<T> inOrder(Collection<T> values) {
+    return values == null ? List.of() : List.copyOf(values);
+  }
+
+  private static <T> Map<String, List<T>> index(List<T> values, Function<T, String> key) {
+    return values.stream()
+        .collect(Collectors.collectingAndThen(
+            Collectors.groupingBy(key, Collectors.toUnmodifiableList()),
+            Collections::unmodifiableMap));
+  }
+
+  private static <D, T> Map<String, T> byId(List<D> values, Function<D, ObjectData> object,
+      Function<D, T> builder) {
+    Map<String, T> result = new LinkedHashMap<>();
+    for (D value : values) {
+      result.put(object.apply(value).id(), builder.apply(value));
+    }
+    return result;
+  }
+
+  private static <T> Set<T> newSet() {
+    return new LinkedHashSet<>();
+  }
+
+  private static String id(ModelObject modelObject) {
+    return modelObject == null ? null : modelObject.getId();
+  }
+
+  /**
+   * Serialized form of the snapshot.
+   */
+  private record SnapshotData(List<ModuleData> modules, List<ProjectionData> projections,
+      List<EntityData> entities, List<FieldData> fields, List<FieldMapData> fieldMaps,
+      List<JavaMappingData> javaMappings, List<ConstantValueData> constantValues,
+      List<RepositoryData> repositories, List<SearchData> searches,
+      List<SearchParamData> params) implements Serializable {
+  }
+
+  private record ObjectData(String id, boolean active, String name, Date updated)
+      implements Serializable {
+
+    static ObjectData of(ModelObject modelObject) {
+      return new ObjectData(modelObject.getId(), modelObject.isActive(), modelObject.getName(),
+          modelObject.getUpdated());
+    }
+
+    <T extends ModelObject> T restore(T modelObject) {
+      modelObject.setId(id);
+      modelObject.setActive(active);
+      modelObject.setName(name);
+      modelObject.setUpdated(updated);
+      return modelObject;
+    }
+  }
+
+  private record ModuleData(ObjectData object, Integer seqno, String javaPackage, String version,
+      Boolean rx, Boolean react, String rxJavaPackage) implements Serializable {
+
+    static ModuleData of(ETRXModule module) {
+      return new ModuleData(ObjectData.of(module), module.getSeqno(), module.getJavaPackage(),
+          module.getVersion(), module.isRx(), module.isReact(), module.getRxJavaPackage());
+    }
+
+    ETRXModule toModule() {
+      ETRXModule module = object.restore(new ETRXModule());
+      module.setSeqno(seqno);
+      module.setJavaPackage(javaPackage);
+      module.setVersion(version);
+      module.setRx(rx);
+      module.setReact(react);
+      module.setRxJavaPackage(rxJavaPackage);
+      module.setProjections(newSet());
+      module.setRepositories(newSet());
+      return module;
+    }
+  }
+
+  private record ProjectionData(ObjectData object, String moduleId, boolean grpc,
+      boolean activeProjection) implements Serializable {
+
+    static ProjectionData of(ETRXProjection projection, boolean activeProjection) {
+      return new ProjectionData(ObjectData.of(projection), id(projection.getModule()),
+          projection.isGrpc(), activeProjection);
+    }
+
+    ETRXProjection toProjection(Map<String, ETRXModule> modules) {
+      ETRXProjection projection = object.restore(new ETRXProjection());
+      projection.setGrpc(grpc);
+      projection.setEntities(newSet());
+      ETRXModule module = modules.get(moduleId);
+      projection.setModule(module);
+      if (module != null) {
+        module.getProjections().add(projection);
+      }
+      return projection;
+    }
+  }
+
+  private record EntityData(ObjectData object, String projectionId, String tableId,
+      Boolean identity, String mappingType, Boolean restEndPoint, String externalName)
+      implements Serializable {
+
+    static EntityData of(ETRXProjectionEntity entity) {
+      return new EntityData(ObjectData.of(entity), id(entity.getProjection()),
+          id(entity.getTable()), entity.getIdentity(), entity.getMappingType(),
+          entity.isRestEndPoint(), entity.getExternalName());
+    }
+
+    ETRXProjectionEntity toEntity(Map<String, ETRXProjection> projections,
+        Map<String, Table> tables) {
+      ETRXProjectionEntity entity = object.restore(new ETRXProjectionEntity());
+      entity.setTable(table(tables, tableId));
+      entity.setIdentity(identity);
+      entity.setMappingType(mappingType);
+      entity.setRestEndPoint(restEndPoint);
+      entity.setExternalName(externalName);
+      entity.setFields(newSet());
+      ETRXProjection projection = projections.get(projectionId);
+      entity.setProjection(projection);
+      projection.getEntities().add(entity);
+      return entity;
+    }
+  }
+
+  private record FieldData(ObjectData object, String entityId, String property,
+      Boolean isMandatory, Boolean identifiesUnivocally, String fieldMapping, BigDecimal line,
+      String javaMappingId, String relatedEntityId, String jsonPath, String constantValueId,
+      Boolean createRelated) implements Serializable {
+
+    static FieldData of(ETRXEntityField field) {
+      return new FieldData(ObjectData.of(field), id(field.getEntity()), field.getProperty(),
+          field.getIsMandatory(), field.getIdentifiesUnivocally(), field.getFieldMapping(),
+          field.getLine(), id(field.getJavaMapping()),
+          id(field.getEtrxProjectionEntityRelated()), field.getJsonPath(),
+          id(field.getConstantValue()), field.getCreateRelated());
+    }
+
+    ETRXEntityField toField(Map<String, ETRXProjectionEntity> entities,
+        Map<String, ETRXJavaMapping> javaMappings,
+        Map<String, ETRXConstantValue> constantValues) {
+      ETRXEntityField field = object.restore(new ETRXEntityField());
+      field.setProperty(property);
+      field.setIsMandatory(isMandatory);
+      field.setIdentifiesUnivocally(identifiesUnivocally);
+      field.setFieldMapping(fieldMapping);
+      field.setLine(line);
+      field.setJavaMapping(javaMappings.get(javaMappingId));
+      field.setJsonPath(jsonPath);
+      field.setConstantValue(constantValues.get(constantValueId));
+      field.setCreateRelated(createRelated);
+      field.setEntityFieldMap(newSet());
+      ETRXProjectionEntity entity = entities.get(entityId);
+      field.setEntity(entity);
+      entity.getFields().add(field);
+      return field;
+    }
+  }
+
+  private record FieldMapData(ObjectData object, String fieldId, String relatedFieldId,
+      String property) implements Serializable {
+
+    static FieldMapData of(ETRXEntityFieldMap fieldMap) {
+      return new FieldMapData(ObjectData.of(fieldMap), id(fieldMap.getField()),
+          id(fieldMap.getRelatedField()), fieldMap.getProperty());
+    }
+
+    void toFieldMap(Map<String, ETRXEntityField> fields) {
+      ETRXEntityFieldMap fieldMap = object.restore(new ETRXEntityFieldMap());
+      fieldMap.setProperty(property);
+      fieldMap.setRelatedField(fields.get(relatedFieldId));
+      ETRXEntityField field = fields.get(fieldId);
+      fieldMap.setField(field);
+      field.getEntityFieldMap().add(fieldMap);
+    }
+  }
+
+  private record JavaMappingData(ObjectData object, String description, String qualifier,
+      String mappingType, String tableId) implements Serializable {
+
+    static JavaMappingData of(ETRXJavaMapping javaMapping) {
+      return new JavaMappingData(ObjectData.of(javaMapping), javaMapping.getDescription(),
+          javaMapping.getQualifier(), javaMapping.getMappingType(), id(javaMapping.getTable()));
+    }
+
+    ETRXJavaMapping toJavaMapping(Map<String, Table> tables) {
+      ETRXJavaMapping javaMapping = object.restore(new ETRXJavaMapping());
+      javaMapping.setDescription(description);
+      javaMapping.setQualifier(qualifier);
+      javaMapping.setMappingType(mappingType);
+      javaMapping.setTable(tableId == null ? null : table(tables, tableId));
+      return javaMapping;
+    }
+  }
+
+  private record ConstantValueData(ObjectData object, String defaultValue)
+      implements Serializable {
+
+    static ConstantValueData of(ETRXConstantValue constantValue) {
+      return new ConstantValueData(ObjectData.of(constantValue), constantValue.getDefaultValue());
+    }
+
+    ETRXConstantValue toConstantValue() {
+      ETRXConstantValue constantValue = object.restore(new ETRXConstantValue());
+      constantValue.setDefaultValue(defaultValue);
+      return constantValue;
+    }
+  }
+
+  private record RepositoryData(ObjectData object, String moduleId, String tableId,
+      String entityName) implements Serializable {
+
+    static RepositoryData of(ETRXRepository repository) {
+      return new RepositoryData(ObjectData.of(repository), id(repository.getModule()),
+          id(repository.getTable()), repository.getEntityName());
+    }
+
+    ETRXRepository toRepository(Map<String, ETRXModule> modules, Map<String, Table> tables) {
+      ETRXRepository repository = object.restore(new ETRXRepository());
+      repository.setTable(table(tables, tableId));
+      repository.setEntityName(entityName);
+      repository.setSearches(newSet());
+      ETRXModule module = modules.get(moduleId);
+      repository.setModule(module);
+      if (module != null) {
+        module.getRepositories().add(repository);
+      }
+      return repository;
+    }
+  }
+
+  private record SearchData(ObjectData object, String repositoryId, String query, String method)
+      implements Serializable {
+
+    static SearchData of(ETRXEntitySearch search) {
+      return new SearchData(ObjectData.of(search), id(search.getRepository()), search.getQuery(),
+          search.getMethod());
+    }
+
+    ETRXEntitySearch toSearch(Map<String, ETRXRepository> repositories) {
+      ETRXEntitySearch search = object.restore(new ETRXEntitySearch());
+      search.setQuery(query);
+      search.setMethod(method);
+      search.setParams(newSet());
+      ETRXRepository repository = repositories.get(repositoryId);
+      search.setRepository(repository);
+      repository.getSearches().add(search);
+      return search;
+    }
+  }
+
+  private record SearchParamData(ObjectData object, String searchId, String type, Long line)
+      implements Serializable {
+
+    static SearchParamData of(ETRXSearchParam param) {
+      return new SearchParamData(ObjectData.of(param), id(param.getEntitySearch()),
+          param.getType(), param.getLine());
+    }
+
+    void toParam(Map<String, ETRXEntitySearch> searches) {
+      ETRXSearchParam param = object.restore(new ETRXSearchParam());
+      param.setType(type);
+      param.setLine(line);
+      ETRXEntitySearch search = searches.get(searchId);
+      param.setEntitySearch(search);
+      search.getParams().add(param);
+    }
+  }
+
+  private static Table table(Map<String, Table> tables, String tableId) {
+    Table table = tables.get(tableId);
+    if (table == null) {
+      throw new IllegalStateException(
+          "The table " + tableId + " of the Etendo RX metadata snapshot is not in the model");
+    }
+    return table;
+  }
+}
@@ -29,11 +29,11 @@ import com.fasterxml.jackson.databind.SerializationFeature;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.etendorx.base.provider.OBProvider;
+import org.etendorx.base.session.OBPropertiesProvider;
 import org.etendorx.base.provider.OBSingleton;
 import org.hibernate.Session;
 import org.openbravo.base.model.Entity;
 import org.openbravo.base.model.ModelObject;
-import org.openbravo.base.model.ModelProvider;
 import org.openbravo.base.model.ModelSessionFactoryController;
 import org.openbravo.base.model.Module;
 import org.openbravo.base.model.Table;
@@ -41,21 +41,24 @@ import org.openbravo.base.model.Table;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Root;
-import java.util.ArrayList;
+import java.io.File;
 import java.util.HashMap;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Properties;
 import java.util.function.Function;
 
 public class ETRXModelProvider implements OBSingleton {
 
   private static final String ETENDO_RX_MODULE = "com.etendoerp.etendorx";
   private static final String ACTIVE = "active";
+  public static final String SNAPSHOT_FILE_PROPERTY = "rx.etrx.snapshot";
+  public static final String OFFLINE_PROPERTY = "rx.offline";
 
   private static final Logger log = LogManager.getLogger();
   private static ETRXModelProvider instance;
   private Session initSession;
+  private ETRXMetadataSnapshot snapshot;
 
   // Etendo RX Models
   private static final List<Class<? extends ModelObject>> ETRX_MODEL_CLASSES = List.of(
@@ -84,7 +87,7 @@ public class ETRXModelProvider implements OBSingleton {
     initSession.close();
   }
 
-  private <T> List<T> getData(Class<T> tClass, Function<Session, List<T>> retrieve) {
+  private <T> T getData(Function<Session, T> retrieve) {
     // Verify Etendo RX module is installed
     if (initSession == null) {
       final ModelSessionFactoryController sessionFactoryController = getETRXSessionFactoryController();
@@ -101,7 +104,7 @@ public class ETRXModelProvider implements OBSingleton {
   public List<ETRXModule> getEtendoRxModules() {
     verifyModule(ETENDO_RX_MODULE);
     log.info("Building Etendo RX projections model");
-    return getData(ETRXModule.class, this::retrieveRXModules);
+    return getData(this::retrieveRXModules);
   }
 
   /**
@@ -234,103 +237,69 @@ public class ETRXModelProvider implements OBSingleton {
     return session.createQuery(criteria).list();
   }
 
-  private List<ETRXProjection> retrieveRXProjection(Session session) {
-    CriteriaBuilder builder = session.getCriteriaBuilder();
-    CriteriaQuery<ETRXProjection> criteria = builder.createQuery(ETRXProjection.class);
-    Root<ETRXProjection> root = criteria.from(ETRXProjection.class);
-    criteria.select(root);
-    criteria.where(builder.equal(root.get(ACTIVE), true));
-    return session.createQuery(criteria).list();
+  /**
+   * Returns the snapshot of the Etendo RX metadata. It is loaded once with bulk queries, or read
+   * from the snapshot file when the generation runs offline. When a snapshot file is configured,
+   * every load from the database refreshes it.
+   *
+   * @return ETRXMetadataSnapshot The metadata snapshot.
+   */
+  public synchronized ETRXMetadataSnapshot getSnapshot() {
+    if (snapshot == null) {
+      final Properties properties = OBPropertiesProvider.getInstance().getOpenbravoProperties();
+      final String snapshotFile = properties.getProperty(SNAPSHOT_FILE_PROPERTY);
+      if (isOffline()) {
+        if (snapshotFile == null || snapshotFile.isBlank()) {
+          throw new IllegalStateException(
+              "The property " + SNAPSHOT_FILE_PROPERTY + " is required when " + OFFLINE_PROPERTY
+                  + " is enabled.");
+        }
+        snapshot = ETRXMetadataSnapshot.read(new File(snapshotFile));
+      } else {
+        snapshot = getData(ETRXMetadataSnapshot::load);
+        if (snapshotFile != null && !snapshotFile.isBlank()) {
+          snapshot.write(new File(snapshotFile));
+        }
+      }
+    }
+    return snapshot;
+  }
+
+  /**
+   * @return boolean True if the Etendo RX metadata is read from the snapshot file instead of the
+   * database.
+   */
+  public boolean isOffline() {
+    return Boolean.parseBoolean(
+        OBPropertiesProvider.getInstance().getOpenbravoProperties().getProperty(OFFLINE_PROPERTY));
   }
 
   public List<ETRXProjection> getETRXProjection() {
-    return getData(ETRXProjection.class, this::retrieveRXProjection);
+    return getSnapshot().getProjections();
   }
 
   public List<ETRXRepository> getETRXRepositories(Entity entity) {
-    return getData(ETRXRepository.class, session -> retrieveETRXRepositories(session, entity));
+    return getSnapshot().getRepositories(entity.getTableId());
   }
 
   public List<ETRXRepository> getETRXRepositories(ETRXProjectionEntity entity) {
-    return getETRXRepositories(ModelProvider.getInstance().getEntity(entity.getTable().getName()));
+    return getSnapshot().getRepositories(entity.getTable().getId());
   }
 
   public List<ETRXEntitySearch> getUniqueSearches(ETRXProjectionEntity entity) {
-    List<ETRXRepository> repos = getETRXRepositories(entity);
-    Map<String, ETRXEntitySearch> unique = new LinkedHashMap<>();
-    for (ETRXRepository repo : repos) {
-      for (ETRXEntitySearch search : repo.getSearches()) {
-        unique.putIfAbsent(search.getMethod(), search);
-      }
-    }
-    return new ArrayList<>(unique.values());
-  }
-
-  private Table retrieveTable(Session session, String tableId) {
-    CriteriaBuilder builder = session.getCriteriaBuilder();
-    CriteriaQuery<Table> criteria = builder.createQuery(Table.class);
-    Root<Table> root = criteria.from(Table.class);
-    criteria.select(root);
-    criteria.where(builder.equal(root.get("id"), tableId));
-    return session.createQuery(criteria).uniqueResult();
-  }
-
-  private List<ETRXRepository> retrieveETRXRepositories(Session session, Entity entity) {
-    Table table = retrieveTable(session, entity.getTableId());
-
-    CriteriaBuilder builder = session.getCriteriaBuilder();
-    CriteriaQuery<ETRXRepository> criteria = builder.createQuery(ETRXRepository.class);
-    Root<ETRXRepository> root = criteria.from(ETRXRepository.class);
-    criteria.select(root);
-    criteria.where(
-        builder.and(
-            builder.equal(root.get(ACTIVE), true),
-            builder.equal(root.get("table"), table)
-        )
-    );
-    return session.createQuery(criteria).list();
-  }
-
-  private List<ETRXRepository> retrieveETRXRepositories(Session session) {
-    CriteriaBuilder builder = session.getCriteriaBuilder();
-    CriteriaQuery<ETRXRepository> criteria = builder.createQuery(ETRXRepository.class);
-    Root<ETRXRepository> root = criteria.from(ETRXRepository.class);
-    criteria.select(root);
-    criteria.where(builder.equal(root.get(ACTIVE), true));
-    return session.createQuery(criteria).list();
+    return getSnapshot().getUniqueSearches(entity.getTable().getId());
   }
 
   public List<ETRXRepository> getETRXRepositories() {
-    return getData(ETRXRepository.class, this::retrieveETRXRepositories);
-  }
-
-  public List<ETRXProjectionEntity> retrieveETRXProjectionEntity(Session session, Table table) {
-    CriteriaBuilder builder = session.getCriteriaBuilder();
-    CriteriaQuery<ETRXProjectionEntity> criteria = builder.createQuery(ETRXProjectionEntity.class);
-    Root<ETRXProjectionEntity> root = criteria.from(ETRXProjectionEntity.class);
-    criteria.select(root);
-    criteria.where(builder.equal(root.get("table"), table));
-    criteria.orderBy(builder.asc(root.get("projection")));
-    return session.createQuery(criteria).list();
+    return getSnapshot().getRepositories();
   }
 
   public List<ETRXProjectionEntity> getETRXProjectionEntity(Table table) {
-    return getData(ETRXProjectionEntity.class, s -> retrieveETRXProjectionEntity(s, table));
-  }
-
-  public List<ETRXProjectionEntity> retrieveETRXProjectionEntity(Session session,
-      ETRXProjection projection) {
-    CriteriaBuilder builder = session.getCriteriaBuilder();
-    CriteriaQuery<ETRXProjectionEntity> criteria = builder.createQuery(ETRXProjectionEntity.class);
-    Root<ETRXProjectionEntity> root = criteria.from(ETRXProjectionEntity.class);
-    criteria.select(root);
-    criteria.where(builder.equal(root.get("projection"), projection));
-    criteria.orderBy(builder.asc(root.get("projection")));
-    return session.createQuery(criteria).list();
+    return getSnapshot().getProjectionEntitiesByTable(table.getId());
   }
 
   public List<ETRXProjectionEntity> getETRXProjectionEntity(ETRXProjection projection) {
-    return getData(ETRXProjectionEntity.class, s -> retrieveETRXProjectionEntity(s, projection));
+    return getSnapshot().getProjectionEntitiesByProjection(projection.getId());
   }
 
   public void verifyModule() {
@@ -27,6 +27,11 @@ public class ETRXJavaMapping extends ModelObject {
   private String mappingType;
   private Table table;
 
+  @Override
+  public void setId(String id) {
+    this.id = id;
+  }
+
   @Override
   public String getId() {
     return id;
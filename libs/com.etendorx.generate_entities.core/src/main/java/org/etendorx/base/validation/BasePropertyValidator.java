@@ -18,6 +18,8 @@ package org.etendorx.base.validation;
 
 import org.openbravo.base.model.Property;
 
+import java.io.Serializable;
+
 /**
  * Base class for property validators. Property validators check length and min and max constraints
  * of property values.
@@ -26,7 +28,7 @@ import org.openbravo.base.model.Property;
  */
 
 public abstract class BasePropertyValidator
-    implements org.etendorx.base.validation.PropertyValidator {
+    implements org.etendorx.base.validation.PropertyValidator, Serializable {
 
   private Property property;
 
@@ -20,6 +20,8 @@ import org.openbravo.base.model.BaseOBObjectDef;
 import org.openbravo.base.model.Entity;
 import org.openbravo.base.model.Property;
 
+import java.io.Serializable;
+
 /**
  * Validates an entity, a list of property validators is kept which are called one by one for a
  * passed entity instance and its property values.
@@ -27,7 +29,7 @@ import org.openbravo.base.model.Property;
  * @author mtaal
  */
 
-public class EntityValidator {
+public class EntityValidator implements Serializable {
 
   private boolean validateRequired = false;
   private Entity entity;
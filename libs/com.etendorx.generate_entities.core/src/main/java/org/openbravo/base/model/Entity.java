@@ -26,6 +26,9 @@ import org.etendorx.base.validation.AccessLevelChecker;
 import org.etendorx.base.validation.EntityValidator;
 import org.etendorx.base.validation.PropertyValidator;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
 import java.util.*;
 
 /**
@@ -39,7 +42,7 @@ import java.util.*;
  * @see ModelProvider
  */
 
-public class Entity {
+public class Entity implements Serializable {
   private static final Logger log = LogManager.getLogger();
 
   private List<UniqueConstraint> uniqueConstraints = new ArrayList<UniqueConstraint>();
@@ -57,8 +60,8 @@ public class Entity {
   private String name = null;
   private String tableName;
   private String tableId;
-  private Class<?> mappingClass = null;
-  private boolean mappingClassComputed = false;
+  private transient Class<?> mappingClass = null;
+  private transient boolean mappingClassComputed = false;
   private String className;
 
   private String help;
@@ -82,7 +85,7 @@ public class Entity {
   private boolean hasInheritedFrom;
 
   private EntityValidator entityValidator;
-  private AccessLevelChecker accessLevelChecker;
+  private transient AccessLevelChecker accessLevelChecker;
   private AccessLevel accessLevel;
 
   private Module module;
@@ -776,6 +779,33 @@ public class Entity {
     this.accessLevel = accessLevel;
   }
 
+  /**
+   * The access level checkers are shared singletons, so they are not serialized with the entity
+   * but resolved again from its access level.
+   */
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    if (accessLevel == null) {
+      return;
+    }
+    switch (accessLevel) {
+      case ORGANIZATION:
+        accessLevelChecker = AccessLevelChecker.ORGANIZATION;
+        break;
+      case CLIENT_ORGANIZATION:
+        accessLevelChecker = AccessLevelChecker.CLIENT_ORGANIZATION;
+        break;
+      case SYSTEM:
+        accessLevelChecker = AccessLevelChecker.SYSTEM;
+        break;
+      case SYSTEM_CLIENT:
+        accessLevelChecker = AccessLevelChecker.SYSTEM_CLIENT;
+        break;
+      default:
+        accessLevelChecker = AccessLevelChecker.ALL;
+    }
+  }
+
   public String getTableId() {
     return tableId;
   }
@@ -16,6 +16,7 @@
 
 package org.openbravo.base.model;
 
+import java.io.Serializable;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -26,7 +27,7 @@ import java.util.Map;
  * @author mtaal
  */
 
-public class ModelObject {
+public class ModelObject implements Serializable {
 
   private String id = null;
   private boolean active = true;
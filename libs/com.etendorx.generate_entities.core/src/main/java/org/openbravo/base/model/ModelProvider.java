@@ -43,9 +43,12 @@ import org.openbravo.base.model.domaintype.StringDomainType;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Root;
+import java.io.File;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
 import java.util.*;
 
 /**
@@ -85,6 +88,13 @@ public class ModelProvider implements OBSingleton {
   private Session initsession;
 
   private static final String TABLEBASEDTABLE = "Table";
+  private static final String MODEL_CACHE_PROPERTY = "rx.model.cache";
+  private static final String OFFLINE_PROPERTY = "rx.offline";
+  private static final String ALL_CHILD_PROPERTIES_PROPERTY =
+      "hb.generate.all.parent.child.properties";
+  // tables of the Application Dictionary objects the in-memory model is built from
+  private static final List<String> MODEL_TABLES = List.of("ad_table", "ad_column",
+      "ad_ref_table", "ad_ref_search", "ad_ref_list", "ad_module", "ad_package", "ad_reference");
 
   private static final Set<String> ENTITIES_WITHOUT_ALL_CHILD_PROPERTIES = new HashSet<>(
       Arrays.asList("org.etendorx.model.ad.system.Client",
@@ -147,6 +157,27 @@ public class ModelProvider implements OBSingleton {
   }
 
   private void initialize() {
+    final RuntimeModelCache cache = getModelCache();
+    final long optionsKey = getModelOptionsKey();
+    Long lastUpdateTime = null;
+    if (cache != null) {
+      // offline runs use the cached model without checking the database
+      lastUpdateTime = isOffline() ? null : computeLastUpdateModelTime();
+      final RuntimeModelCache.State state = cache.read(lastUpdateTime, optionsKey);
+      if (state != null) {
+        restore(state);
+        log.info("Runtime model read from cache, {} entities", model.size());
+        return;
+      }
+    }
+    buildModel();
+    if (cache != null) {
+      cache.write(toState(),
+          lastUpdateTime != null ? lastUpdateTime : computeLastUpdateModelTime(), optionsKey);
+    }
+  }
+
+  private void buildModel() {
     log.info("Building runtime model");
     // Caching model (tables, table-references, search-references,
     // list-references)
@@ -306,7 +337,7 @@ public class ModelProvider implements OBSingleton {
       }
 
       boolean generateAllChildProperties = OBPropertiesProvider.getInstance()
-          .getBooleanProperty("hb.generate.all.parent.child.properties");
+          .getBooleanProperty(ALL_CHILD_PROPERTIES_PROPERTY);
       if (generateAllChildProperties) {
         log.warn("Generating all children properties in parent entities.");
         log.warn(
@@ -347,6 +378,73 @@ public class ModelProvider implements OBSingleton {
     clearLists();
   }
 
+  private RuntimeModelCache getModelCache() {
+    final String cacheFile = OBPropertiesProvider.getInstance()
+        .getOpenbravoProperties()
+        .getProperty(MODEL_CACHE_PROPERTY);
+    if (cacheFile == null || cacheFile.isBlank()) {
+      return null;
+    }
+    return new RuntimeModelCache(new File(cacheFile));
+  }
+
+  private boolean isOffline() {
+    return OBPropertiesProvider.getInstance().getBooleanProperty(OFFLINE_PROPERTY);
+  }
+
+  // the options read while building the model, a cached model is only valid for the same options
+  private long getModelOptionsKey() {
+    return (ALL_CHILD_PROPERTIES_PROPERTY + "=" + OBPropertiesProvider.getInstance()
+        .getBooleanProperty(ALL_CHILD_PROPERTIES_PROPERTY)).hashCode();
+  }
+
+  private RuntimeModelCache.State toState() {
+    final RuntimeModelCache.State state = new RuntimeModelCache.State();
+    state.model = model;
+    state.tablesByTableName = tablesByTableName;
+    state.dataSourceTablesByName = dataSourceTablesByName;
+    state.refTableMap = refTableMap;
+    state.refSearchMap = refSearchMap;
+    state.entitiesByName = entitiesByName;
+    state.entitiesByClassName = entitiesByClassName;
+    state.entitiesByTableName = entitiesByTableName;
+    state.entitiesByTableId = entitiesByTableId;
+    state.referencesById = referencesById;
+    state.entitiesWithTreeType = entitiesWithTreeType;
+    state.entitiesWithImage = entitiesWithImage;
+    state.entitiesWithFile = entitiesWithFile;
+    state.modules = modules;
+    return state;
+  }
+
+  void restore(RuntimeModelCache.State state) {
+    tablesByTableName = state.tablesByTableName;
+    dataSourceTablesByName = state.dataSourceTablesByName;
+    refTableMap = state.refTableMap;
+    refSearchMap = state.refSearchMap;
+    entitiesByName = state.entitiesByName;
+    entitiesByClassName = state.entitiesByClassName;
+    entitiesByTableName = state.entitiesByTableName;
+    entitiesByTableId = state.entitiesByTableId;
+    referencesById = state.referencesById;
+    entitiesWithTreeType = state.entitiesWithTreeType;
+    entitiesWithImage = state.entitiesWithImage;
+    entitiesWithFile = state.entitiesWithFile;
+    modules = state.modules;
+    // the model provider is not serialized with the domain types
+    for (final Reference reference : referencesById.values()) {
+      reference.getDomainType().setModelProvider(this);
+    }
+    for (final Entity e : state.model) {
+      for (final Property p : e.getProperties()) {
+        if (p.getDomainType() != null) {
+          p.getDomainType().setModelProvider(this);
+        }
+      }
+    }
+    model = state.model;
+  }
+
   private void setTranslatableColumns(List<Column> translatableColumns) {
     for (Column c : translatableColumns) {
       final Entity translationEntity = getEntityByTableName(c.getTable().getTableName() + "_Trl");
@@ -450,54 +548,44 @@ public class ModelProvider implements OBSingleton {
    * Module, Package.
    */
   public long computeLastUpdateModelTime() {
-    final SessionFactoryController sessionFactoryController = new ModelSessionFactoryController();
-    final Session session = sessionFactoryController.getSessionFactory().openSession();
-    final Transaction tx = session.beginTransaction();
+    // plain JDBC, building a session factory costs more than the queries themselves
+    ConnectionProvider con = null;
+    boolean createdNewPool = false;
     try {
-      // compute the last updated time
-      long currentLastTimeUpdated = 0;
-      currentLastTimeUpdated = getLastUpdated(Table.class, currentLastTimeUpdated, session);
-      currentLastTimeUpdated = getLastUpdated(Column.class, currentLastTimeUpdated, session);
-      currentLastTimeUpdated = getLastUpdated(RefTable.class, currentLastTimeUpdated, session);
-      currentLastTimeUpdated = getLastUpdated(RefSearch.class, currentLastTimeUpdated, session);
-      currentLastTimeUpdated = getLastUpdated(RefList.class, currentLastTimeUpdated, session);
-      currentLastTimeUpdated = getLastUpdated(Module.class, currentLastTimeUpdated, session);
-      currentLastTimeUpdated = getLastUpdated(Package.class, currentLastTimeUpdated, session);
-      currentLastTimeUpdated = getLastUpdated(Reference.class, currentLastTimeUpdated, session);
-      return currentLastTimeUpdated;
+      con = ConnectionProviderContextListener.getPool();
+      if (con == null) {
+        con = new ConnectionProviderImpl(
+            OBPropertiesProvider.getInstance().getOpenbravoProperties());
+        createdNewPool = true;
+      }
+      try (Connection connection = con.getConnection();
+           Statement statement = connection.createStatement()) {
+        long currentLastTimeUpdated = 0;
+        for (final String tableName : MODEL_TABLES) {
+          try (ResultSet rs = statement.executeQuery("select max(updated) from " + tableName)) {
+            final Timestamp updated = rs.next() ? rs.getTimestamp(1) : null;
+            if (updated == null) {
+              throw new OBException(
+                  "No instances of " + tableName + " in the database, has the database been created and filled with data?");
+            }
+            currentLastTimeUpdated = Math.max(currentLastTimeUpdated, updated.getTime());
+          }
+        }
+        return currentLastTimeUpdated;
+      }
+    } catch (OBException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new OBException("Failed to compute the last update time of the model", e);
     } finally {
-      tx.commit();
-      session.close();
-      sessionFactoryController.getSessionFactory().close();
-    }
-  }
-
-  private <T extends ModelObject> long getLastUpdated(Class<T> clz, long currentLastTime,
-      Session session) {
-    final ModelObject mo = queryLastUpdateObject(session, clz);
-    if (mo.getUpdated().getTime() > currentLastTime) {
-      return mo.getUpdated().getTime();
-    }
-    return currentLastTime;
-  }
-
-  private <T extends ModelObject> T queryLastUpdateObject(Session session, Class<T> clazz) {
-    CriteriaBuilder builder = session.getCriteriaBuilder();
-    CriteriaQuery<T> criteria = builder.createQuery(clazz);
-    Root<T> root = criteria.from(clazz);
-    criteria.select(root);
-    criteria.orderBy(builder.desc(root.get("updated")));
-
-    Query<T> query = session.createQuery(criteria);
-    query.setMaxResults(1);
-
-    final List<T> list = query.list();
-    if (list.isEmpty()) {
-      throw new OBException(
-          "No instances of " + clazz.getName() + " in the database, has the database been created and filled with data?");
+      try {
+        if (con != null && createdNewPool) {
+          con.destroy();
+        }
+      } catch (Exception e) {
+        // do nothing
+      }
     }
-    return list.get(0);
-
   }
 
   // clears some in-memory lists to save memory
@@ -1035,6 +1123,19 @@ public class ModelProvider implements OBSingleton {
     return entity;
   }
 
+  /**
+   * Searches for an Entity using the fully qualified name of the class implementing it.
+   *
+   * @param className the fully qualified name of the java class used for the Entity
+   * @return the Entity, or null if no Entity is implemented by that class
+   */
+  public Entity getEntityByClassName(String className) {
+    if (model == null) {
+      getModel();
+    }
+    return entitiesByClassName.get(className);
+  }
+
   /**
    * Returns a reference instance from the org.etendorx.base.model package.
    *
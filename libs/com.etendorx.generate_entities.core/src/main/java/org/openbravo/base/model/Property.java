@@ -25,6 +25,7 @@ import org.etendorx.base.validation.PropertyValidator;
 import org.etendorx.base.validation.ValidationException;
 import org.openbravo.base.model.domaintype.*;
 
+import java.io.Serializable;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Date;
@@ -39,7 +40,7 @@ import java.util.stream.Collectors;
  * @author mtaal
  */
 // TODO: consider subclasses for different types of properties
-public class Property {
+public class Property implements Serializable {
   private static final Logger log = LogManager.getLogger();
 
   private boolean oneToOne;
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2022-2024  Futit Services SL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openbravo.base.model;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Stores the resolved in-memory model of the {@link ModelProvider} in a binary file, so later runs
+ * can skip reading the Application Dictionary through hibernate when it did not change.
+ * <p>
+ * The file starts with a header holding the format version, the last update time of the
+ * Application Dictionary and a key of the options that change the model. A cached model is only
+ * used when the header matches. The body is the deflated, serialized model, which is read through
+ * a memory mapped buffer.
+ */
+final class RuntimeModelCache {
+  private static final Logger log = LogManager.getLogger();
+
+  private static final int MAGIC = 0x52584D43;
+  private static final int FORMAT_VERSION = 1;
+  private static final int HEADER_SIZE = Integer.BYTES * 2 + Long.BYTES * 2;
+  // serializing the model graph recurses through the entity references, so it runs on a thread
+  // with a large stack
+  private static final long STACK_SIZE = 512L * 1024 * 1024;
+
+  private final File file;
+
+  RuntimeModelCache(File file) {
+    this.file = file;
+  }
+
+  /**
+   * Reads the cached model.
+   *
+   * @param lastUpdateTime the last update time of the Application Dictionary, null to accept any
+   *                       cached model
+   * @param optionsKey     the key of the options used to build the model
+   * @return the cached model, or null if there is no valid cached model for the given keys
+   */
+  State read(Long lastUpdateTime, long optionsKey) {
+    if (!file.isFile()) {
+      return null;
+    }
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC
+          || buffer.getInt() != FORMAT_VERSION) {
+        log.info("Ignoring runtime model cache {} with an unknown format", file);
+        return null;
+      }
+      long cachedUpdateTime = buffer.getLong();
+      long cachedOptionsKey = buffer.getLong();
+      if ((lastUpdateTime != null && cachedUpdateTime != lastUpdateTime)
+          || cachedOptionsKey != optionsKey) {
+        log.info("Runtime model cache {} is outdated", file);
+        return null;
+      }
+      return runWithLargeStack(() -> {
+        Inflater inflater = new Inflater();
+        try (ObjectInputStream in = new ObjectInputStream(
+            new InflaterInputStream(new ByteBufferInputStream(buffer), inflater, 64 * 1024))) {
+          return (State) in.readObject();
+        } finally {
+          inflater.end();
+        }
+      });
+    } catch (Exception e) {
+      log.warn("Error reading the runtime model cache {}, the model is read from the database",
+          file, e);
+      return null;
+    }
+  }
+
+  /**
+   * Writes the model to the cache file. The file is replaced atomically, so a failed write never
+   * leaves a partial cache.
+   *
+   * @param state          the model to cache
+   * @param lastUpdateTime the last update time of the Application Dictionary used to build it
+   * @param optionsKey     the key of the options used to build the model
+   */
+  void write(State state, long lastUpdateTime, long optionsKey) {
+    try {
+      File parent = file.getAbsoluteFile().getParentFile();
+      parent.mkdirs();
+      File tmp = File.createTempFile(file.getName(), ".tmp", parent);
+      try {
+        runWithLargeStack(() -> {
+          try (DataOutputStream out = new DataOutputStream(
+              new BufferedOutputStream(Files.newOutputStream(tmp.toPath()), 64 * 1024))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(lastUpdateTime);
+            out.writeLong(optionsKey);
+            Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+            try {
+              DeflaterOutputStream deflated = new DeflaterOutputStream(out, deflater, 64 * 1024);
+              ObjectOutputStream objects = new ObjectOutputStream(deflated);
+              objects.writeObject(state);
+              objects.flush();
+              deflated.finish();
+            } finally {
+              deflater.end();
+            }
+          }
+          return null;
+        });
+        Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE);
+        log.info("Runtime model cached in {}", file);
+      } finally {
+        Files.deleteIfExists(tmp.toPath());
+      }
+    } catch (Exception e) {
+      log.warn("Error writing the runtime model cache {}", file, e);
+    }
+  }
+
+  private static <T> T runWithLargeStack(Callable<T> task) throws Exception {
+    AtomicReference<T> result = new AtomicReference<>();
+    AtomicReference<Exception> error = new AtomicReference<>();
+    Thread thread = new Thread(null, () -> {
+      try {
+        result.set(task.call());
+      } catch (Exception e) {
+        error.set(e);
+      }
+    }, "runtime-model-cache", STACK_SIZE);
+    thread.start();
+    thread.join();
+    if (error.get() != null) {
+      throw error.get();
+    }
+    return result.get();
+  }
+
+  /**
+   * The resolved model, with the indexes kept by the {@link ModelProvider}.
+   */
+  static final class State implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    List<Entity> model;
+    HashMap<String, Table> tablesByTableName;
+    HashMap<String, Table> dataSourceTablesByName;
+    Map<String, RefTable> refTableMap;
+    Map<String, RefSearch> refSearchMap;
+    HashMap<String, Entity> entitiesByName;
+    HashMap<String, Entity> entitiesByClassName;
+    HashMap<String, Entity> entitiesByTableName;
+    HashMap<String, Entity> entitiesByTableId;
+    HashMap<String, Reference> referencesById;
+    List<Entity> entitiesWithTreeType;
+    HashMap<Entity, List<String>> entitiesWithImage;
+    HashMap<Entity, List<String>> entitiesWithFile;
+    List<Module> modules;
+  }
+
+  /**
+   * Exposes a byte buffer as an input stream.
+   */
+  private static final class ByteBufferInputStream extends InputStream {
+    private final ByteBuffer buffer;
+
+    private ByteBufferInputStream(ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    @Override
+    public int read() {
+      return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) {
+      if (!buffer.hasRemaining()) {
+        return -1;
+      }
+      int count = Math.min(length, buffer.remaining());
+      buffer.get(bytes, offset, count);
+      return count;
+    }
+
+    @Override
+    public int available() {
+      return buffer.remaining();
+    }
+  }
+}
@@ -20,6 +20,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.etendorx.base.util.Check;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -30,7 +31,7 @@ import java.util.List;
  * @author mtaal
  */
 
-public class UniqueConstraint {
+public class UniqueConstraint implements Serializable {
   private static final Logger log = LogManager.getLogger();
 
   private List<Property> properties = new ArrayList<Property>();
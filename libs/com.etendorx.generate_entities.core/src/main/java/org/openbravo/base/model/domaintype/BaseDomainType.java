@@ -22,6 +22,7 @@ import org.openbravo.base.model.ModelProvider;
 import org.openbravo.base.model.Property;
 import org.openbravo.base.model.Reference;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -31,10 +32,10 @@ import java.util.List;
  * @author mtaal
  */
 
-public abstract class BaseDomainType implements DomainType {
+public abstract class BaseDomainType implements DomainType, Serializable {
 
   private Reference reference;
-  private ModelProvider modelProvider;
+  private transient ModelProvider modelProvider;
 
   /**
    * Method is empty in this class, subclasses should override and call super.initialize() (to allow
@@ -30,7 +30,7 @@ import java.lang.reflect.Constructor;
 public abstract class BasePrimitiveDomainType extends BaseDomainType
     implements PrimitiveDomainType {
 
-  private Constructor<Object> constructor;
+  private transient Constructor<Object> constructor;
 
   /*
    * (non-Javadoc)
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2022-2024  Futit Services SL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openbravo.base.model;
+
+import org.etendorx.base.exception.OBSecurityException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openbravo.base.model.domaintype.StringDomainType;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RuntimeModelCacheTest {
+
+  private static final long UPDATE_TIME = 1_700_000_000_000L;
+  private static final long OPTIONS_KEY = 42L;
+
+  @TempDir
+  Path tempDir;
+
+  private RuntimeModelCache cache;
+
+  @BeforeEach
+  void setUp() {
+    cache = new RuntimeModelCache(tempDir.resolve("model/runtime-model.cache").toFile());
+  }
+
+  private static RuntimeModelCache.State state() {
+    Reference reference = new Reference();
+    reference.setId("10");
+    reference.setModelImpl(StringDomainType.class.getName());
+
+    Entity entity = new Entity();
+    entity.setName("ADTable");
+    entity.setTableName("AD_Table");
+    entity.setAccessLevel(AccessLevel.SYSTEM);
+    Property property = new Property();
+    property.setName("name");
+    property.setColumnName("Name");
+    property.setEntity(entity);
+    property.setDomainType(reference.getDomainType());
+    entity.addProperty(property);
+    entity.addPropertyByName(property);
+
+    RuntimeModelCache.State state = new RuntimeModelCache.State();
+    state.model = new ArrayList<>(List.of(entity));
+    state.tablesByTableName = new HashMap<>();
+    state.dataSourceTablesByName = new HashMap<>();
+    state.refTableMap = new HashMap<>();
+    state.refSearchMap = new HashMap<>();
+    state.entitiesByName = new HashMap<>();
+    state.entitiesByName.put(entity.getName(), entity);
+    state.entitiesByClassName = new HashMap<>();
+    state.entitiesByTableName = new HashMap<>();
+    state.entitiesByTableName.put("AD_TABLE", entity);
+    state.entitiesByTableId = new HashMap<>();
+    state.referencesById = new HashMap<>();
+    state.referencesById.put(reference.getId(), reference);
+    state.entitiesWithTreeType = new ArrayList<>();
+    state.entitiesWithImage = new HashMap<>();
+    state.entitiesWithFile = new HashMap<>();
+    state.modules = new ArrayList<>();
+    return state;
+  }
+
+  @Test
+  void roundTripShouldRestoreTheModel() {
+    cache.write(state(), UPDATE_TIME, OPTIONS_KEY);
+    RuntimeModelCache.State read = cache.read(UPDATE_TIME, OPTIONS_KEY);
+    assertNotNull(read);
+
+    ModelProvider provider = new ModelProvider();
+    provider.restore(read);
+
+    Entity entity = provider.getEntity("ADTable");
+    assertSame(entity, provider.getEntityByTableName("AD_Table"));
+    assertSame(entity, provider.getModel().get(0));
+    Property property = entity.getProperty("name");
+    assertSame(entity, property.getEntity());
+    assertSame(property, entity.getPropertyByColumnName("Name"));
+    assertEquals("AD_Table", entity.getTableName());
+    assertEquals(AccessLevel.SYSTEM, entity.getAccessLevel());
+  }
+
+  @Test
+  void roundTripShouldRestoreTheModelProviderOfTheDomainTypes() {
+    cache.write(state(), UPDATE_TIME, OPTIONS_KEY);
+    ModelProvider provider = new ModelProvider();
+    provider.restore(cache.read(UPDATE_TIME, OPTIONS_KEY));
+
+    Reference reference = provider.getReference("10");
+    Property property = provider.getEntity("ADTable").getProperty("name");
+    assertSame(provider, reference.getDomainType().getModelProvider());
+    assertSame(provider, property.getDomainType().getModelProvider());
+    assertSame(reference.getDomainType(), property.getDomainType());
+  }
+
+  @Test
+  void roundTripShouldResolveTheAccessLevelChecker() {
+    cache.write(state(), UPDATE_TIME, OPTIONS_KEY);
+    Entity entity = cache.read(UPDATE_TIME, OPTIONS_KEY).model.get(0);
+
+    assertDoesNotThrow(() -> entity.checkAccessLevel("0", "0"));
+    assertThrows(OBSecurityException.class, () -> entity.checkAccessLevel("1", "0"));
+  }
+
+  @Test
+  void mismatchedUpdateTimeShouldBeRejected() {
+    cache.write(state(), UPDATE_TIME, OPTIONS_KEY);
+
+    assertNull(cache.read(UPDATE_TIME + 1, OPTIONS_KEY));
+  }
+
+  @Test
+  void mismatchedOptionsKeyShouldBeRejected() {
+    cache.write(state(), UPDATE_TIME, OPTIONS_KEY);
+
+    assertNull(cache.read(UPDATE_TIME, OPTIONS_KEY + 1));
+  }
+
+  @Test
+  void offlineReadShouldAcceptAnyUpdateTime() {
+    cache.write(state(), UPDATE_TIME, OPTIONS_KEY);
+
+    assertNotNull(cache.read(null, OPTIONS_KEY));
+    assertNull(cache.read(null, OPTIONS_KEY + 1));
+  }
+
+  @Test
+  void missingOrCorruptCacheShouldBeIgnored() throws IOException {
+    assertNull(cache.read(UPDATE_TIME, OPTIONS_KEY));
+
+    File file = tempDir.resolve("corrupt.cache").toFile();
+    Files.write(file.toPath(), new byte[] { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15,
+        16, 17, 18, 19, 20, 21, 22, 23, 24 });
+    assertNull(new RuntimeModelCache(file).read(UPDATE_TIME, OPTIONS_KEY));
+  }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2022-2024  Futit Services SL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.etendorx.gen.generation;
+
+import com.etendoerp.etendorx.model.projection.ETRXEntityField;
+import com.etendoerp.etendorx.model.projection.ETRXProjection;
+import com.etendoerp.etendorx.model.projection.ETRXProjectionEntity;
+import com.etendorx.gen.generation.utils.CodeGenerationUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.openbravo.base.model.Entity;
+import org.openbravo.base.model.ModelProvider;
+import org.openbravo.base.model.Property;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Decides the batch fetch size of the generated entities and their one-to-many lists from the
+ * ETRX projections. Entities reached through an association of a projection field are loaded in
+ * batches, so paging over rows that reference them resolves the lazy proxies with IN queries
+ * instead of one select per row. The same applies to the one-to-many lists read by projections.
+ * Sizes are configured with the following properties:
+ * <ul>
+ *   <li>{@code rx.batchFetch.size}: size used for the tables referenced by projections, 0
+ *   disables batch fetching. Default 50.</li>
+ *   <li>{@code rx.batchFetch.size.<table name>}: size of a single table, referenced or not.</li>
+ *   <li>{@code rx.batchFetch.subselect}: load the one-to-many lists with a subselect instead of
+ *   in batches. Default false.</li>
+ * </ul>
+ */
+public class BatchFetchSizes {
+
+  public static final String SIZE_PROPERTY = "rx.batchFetch.size";
+  public static final String SUBSELECT_PROPERTY = "rx.batchFetch.subselect";
+  private static final String DEFAULT_SIZE = "50";
+
+  private final Properties properties;
+  private final int referencedSize;
+  private final boolean subselect;
+  private final Set<String> referencedTables = new HashSet<>();
+  private final Set<String> referencedCollections = new HashSet<>();
+
+  public BatchFetchSizes(Properties properties, List<ETRXProjection> projections) {
+    this.properties = properties;
+    this.referencedSize = Integer.parseInt(properties.getProperty(SIZE_PROPERTY, DEFAULT_SIZE));
+    this.subselect = Boolean.parseBoolean(properties.getProperty(SUBSELECT_PROPERTY, "false"));
+    for (ETRXProjection projection : projections) {
+      for (ETRXProjectionEntity projectionEntity : projection.getEntities()) {
+        collectReferences(projectionEntity);
+      }
+    }
+  }
+
+  private void collectReferences(ETRXProjectionEntity projectionEntity) {
+    if (projectionEntity.getTable() == null) {
+      return;
+    }
+    Entity modelEntity = ModelProvider.getInstance()
+        .getEntity(projectionEntity.getTable().getName());
+    for (ETRXEntityField field : projectionEntity.getFields()) {
+      if (field.getProperty() == null) {
+        continue;
+      }
+      List<Property> associations = CodeGenerationUtils.getInstance()
+          .getAssociationProperties(modelEntity, field.getProperty());
+      Entity current = modelEntity;
+      for (Property property : associations) {
+        referencedTables.add(property.getTargetEntity().getTableName().toLowerCase());
+        current = property.getTargetEntity();
+      }
+      // A one-to-many list right after the traversed associations
+      String[] segments = field.getProperty().split("\\.");
+      if (segments.length > associations.size()) {
+        Property property = current.getProperty(segments[associations.size()], false);
+        if (property != null && property.isOneToMany()) {
+          referencedCollections.add(getCollectionKey(current, property));
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the batch size of the entity, used when resolving proxies of it.
+   *
+   * @param entity the entity
+   * @return the batch size, 0 if the entity is not batch fetched
+   */
+  public int getEntitySize(Entity entity) {
+    String tableName = entity.getTableName().toLowerCase();
+    String override = properties.getProperty(SIZE_PROPERTY + "." + tableName);
+    if (override != null) {
+      return Integer.parseInt(override);
+    }
+    return referencedTables.contains(tableName) ? referencedSize : 0;
+  }
+
+  /**
+   * Returns the batch size of a one-to-many list of the entity.
+   *
+   * @param entity   the entity owning the list
+   * @param property the one-to-many property
+   * @return the batch size, 0 if the list is not batch fetched
+   */
+  public int getCollectionSize(Entity entity, Property property) {
+    if (!referencedCollections.contains(getCollectionKey(entity, property))) {
+      return 0;
+    }
+    String override = properties.getProperty(
+        SIZE_PROPERTY + "." + entity.getTableName().toLowerCase());
+    return override != null ? Integer.parseInt(override) : referencedSize;
+  }
+
+  public boolean isSubselect() {
+    return subselect;
+  }
+
+  private static String getCollectionKey(Entity entity, Property property) {
+    return StringUtils.lowerCase(entity.getTableName()) + "." + property.getName();
+  }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2022-2024  Futit Services SL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.etendorx.gen.generation;
+
+import com.etendoerp.etendorx.model.EtendoRX;
+import org.openbravo.base.model.Column;
+import org.openbravo.base.model.Entity;
+import org.openbravo.base.model.ModelObject;
+import org.openbravo.base.model.ModelProvider;
+import org.openbravo.base.model.Property;
+import org.openbravo.base.model.Table;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Computes the fingerprint of the inputs used to generate the files of an entity: the templates,
+ * the generator version and options, the runtime model of the entity and the template data. Two
+ * runs with the same fingerprint produce the same files, so the entity can be skipped.
+ */
+public class EntityFingerprint {
+
+  private static final List<String> TEMPLATES = List.of(
+      "/org/openbravo/base/gen/entityRX.ftl",
+      "/org/openbravo/base/gen/entityMetadata.ftl",
+      "/org/openbravo/base/gen/jpaRepoRX.ftl",
+      "/org/openbravo/base/gen/clientRestRX.ftl",
+      "/org/openbravo/base/gen/entityModel.ftl");
+  private static final char SEPARATOR = '|';
+
+  private final String base;
+
+  /**
+   * Creates the fingerprint calculator.
+   *
+   * @param options the generation options that affect every entity
+   */
+  public EntityFingerprint(Object... options) {
+    StringBuilder builder = new StringBuilder();
+    builder.append(EtendoRX.currentVersion());
+    for (Object option : options) {
+      builder.append(SEPARATOR).append(option);
+    }
+    for (String template : TEMPLATES) {
+      builder.append(SEPARATOR).append(template).append('=').append(hashResource(template));
+    }
+    this.base = GenerationManifest.hash(builder.toString().getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Returns the fingerprint of an entity.
+   *
+   * @param entity the entity
+   * @param data   the template data of the entity
+   * @return the fingerprint
+   */
+  public String of(Entity entity, Map<String, Object> data) {
+    StringBuilder builder = new StringBuilder(base);
+    appendEntity(builder, entity);
+    appendData(builder, entity, data);
+    return GenerationManifest.hash(builder.toString().getBytes(StandardCharsets.UTF_8));
+  }
+
+  private void appendEntity(StringBuilder builder, Entity entity) {
+    builder.append('\n').append(entity.getName()).append(SEPARATOR).append(entity.getClassName())
+        .append(SEPARATOR).append(entity.getTableName()).append(SEPARATOR).append(entity.isView())
+        .append(SEPARATOR).append(entity.isTraceable()).append(SEPARATOR)
+        .append(entity.isActiveEnabled()).append(SEPARATOR).append(entity.isMutable())
+        .append(SEPARATOR).append(entity.isDeletable()).append(SEPARATOR)
+        .append(entity.getAccessLevel()).append(SEPARATOR).append(entity.getHelp());
+    Table table = ModelProvider.getInstance().getTableWithoutCheck(entity.getTableName());
+    if (table != null) {
+      builder.append('\n').append(table.getId()).append(SEPARATOR).append(time(table));
+      table.getColumns()
+          .stream()
+          .sorted(Comparator.comparing(Column::getId))
+          .forEach(column -> builder.append('\n')
+              .append(column.getId())
+              .append(SEPARATOR)
+              .append(time(column)));
+    }
+    for (Property property : entity.getProperties()) {
+      builder.append('\n').append(property.getName()).append(SEPARATOR)
+          .append(property.getColumnName()).append(SEPARATOR).append(property.getTypeName())
+          .append(SEPARATOR).append(name(property.getTargetEntity())).append(SEPARATOR)
+          .append(property.getReferencedProperty() == null ? null
+              : property.getReferencedProperty().getName()).append(SEPARATOR)
+          .append(property.isId()).append(property.isMandatory()).append(property.isOneToMany())
+          .append(property.isOneToOne()).append(property.isParent()).append(property.isChild())
+          .append(property.isIdentifier()).append(property.isUuid()).append(property.isUpdatable())
+          .append(property.isTransient()).append(property.isComputedColumn())
+          .append(property.isInactive()).append(property.isAuditInfo()).append(SEPARATOR)
+          .append(property.getFieldLength()).append(SEPARATOR).append(property.getSqlLogic());
+    }
+  }
+
+  private void appendData(StringBuilder builder, Entity entity, Map<String, Object> data) {
+    // Sorted so the fingerprint does not depend on the map order
+    for (var entry : new TreeMap<>(data).entrySet()) {
+      Object value = entry.getValue();
+      builder.append('\n').append(entry.getKey()).append('=');
+      if (value instanceof Entity) {
+        builder.append(name((Entity) value));
+      } else if (value instanceof BatchFetchSizes) {
+        BatchFetchSizes batchFetch = (BatchFetchSizes) value;
+        builder.append(batchFetch.getEntitySize(entity)).append(SEPARATOR)
+            .append(batchFetch.isSubselect());
+        for (Property property : entity.getProperties()) {
+          if (property.isOneToMany()) {
+            builder.append(SEPARATOR).append(batchFetch.getCollectionSize(entity, property));
+          }
+        }
+      } else if (value instanceof SecondLevelCacheTables) {
+        SecondLevelCacheTables cache = (SecondLevelCacheTables) value;
+        builder.append(cache.isCached(entity)).append(SEPARATOR).append(cache.getStrategy());
+      } else {
+        builder.append(value);
+      }
+    }
+  }
+
+  private static String name(Entity entity) {
+    return entity == null ? null : entity.getName();
+  }
+
+  private static Object time(ModelObject modelObject) {
+    return modelObject.getUpdated() == null ? null : modelObject.getUpdated().getTime();
+  }
+
+  private static String hashResource(String resource) {
+    try (InputStream stream = Objects.requireNonNull(
+        EntityFingerprint.class.getResourceAsStream(resource), resource)) {
+      return GenerationManifest.hash(stream.readAllBytes());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -8,7 +8,6 @@ import org.apache.commons.lang3.StringUtils;
 import org.openbravo.base.model.Entity;
 
 import java.io.*;
-import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
 import static com.etendorx.gen.generation.GenerateEntitiesConstants.*;
@@ -37,8 +36,8 @@ public class GenerateClientRest implements ProjectionGenerator {
     data.put("feignClientName", getFeignClientName(data, projection));
     data.put("packageClientRestProjected",
         projection.getModuleLocation().getName() + "." + CLIENTREST_PACKAGE);
-    TemplateUtil.processTemplate(templateClientRestRX, data, new BufferedWriter(
-        new OutputStreamWriter(new FileOutputStream(outFileClientRest), StandardCharsets.UTF_8)));
+    TemplateUtil.processTemplate(templateClientRestRX, data,
+        GenerationManifest.getInstance().getWriter(outFileClientRest));
   }
 
   /**
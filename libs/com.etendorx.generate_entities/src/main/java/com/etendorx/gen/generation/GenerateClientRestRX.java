@@ -5,7 +5,6 @@ import com.etendorx.gen.util.TemplateUtil;
 import org.openbravo.base.model.Entity;
 
 import java.io.*;
-import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
 import static com.etendorx.gen.generation.GenerateEntities.MODULES_GEN;
@@ -35,8 +34,7 @@ public class GenerateClientRestRX implements EntityGenerator {
     var outFileClientRest = new File(fullPathClientRest, repositoryClassClientRest);
     new File(outFileClientRest.getParent()).mkdirs();
 
-    Writer outWriterClientRest = new BufferedWriter(
-        new OutputStreamWriter(new FileOutputStream(outFileClientRest), StandardCharsets.UTF_8));
+    Writer outWriterClientRest = GenerationManifest.getInstance().getWriter(outFileClientRest);
     data.put("packageClientRest", packageClientRest);
     TemplateUtil.processTemplate(templateClientRestRX, data, outWriterClientRest);
 
@@ -36,8 +36,11 @@ import org.openbravo.base.model.ModelProvider;
 import org.openbravo.base.model.Table;
 
 import java.io.*;
-import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 import static com.etendorx.gen.generation.GenerateEntitiesConstants.PROJECTION_DEFAULT;
@@ -46,6 +49,7 @@ public class GenerateEntities {
   public static final String ERROR_GENERATING_FILE = "Error generating file: ";
   public static final String GENERATING_FILE = "Generating file: ";
   public static final String MODULES_GEN = "modules_gen";
+  public static final String MANIFEST_FILE = ".generate-entities.manifest";
   public final static String GENERATED_DIR = "/../build/tmp/generated";
   private static final Logger log = LogManager.getLogger();
   private String basePath;
@@ -83,7 +87,7 @@ public class GenerateEntities {
     final Properties obProperties = OBPropertiesProvider.getInstance().getOpenbravoProperties();
     final boolean checkModuleVersion = Boolean.parseBoolean(
         obProperties.getProperty("rx.checkModuleVersion", "true"));
-    if (checkModuleVersion) {
+    if (checkModuleVersion && !ETRXModelProvider.getInstance().isOffline()) {
       ETRXModelProvider.getInstance().verifyModule();
     }
     log.debug("initializating dal layer, getting properties from {}", getPropertiesFile());
@@ -113,8 +117,23 @@ public class GenerateEntities {
 
     var projections = getProjections(paths, entities);
     var generators = getGenerators(projections);
+    var concurrentGenerators = generators.stream().filter(EntityGenerator::isConcurrent).toList();
+    var sequentialGenerators = generators.stream().filter(g -> !g.isConcurrent()).toList();
     var mappingGenerators = getMappingGenerators();
+    var batchFetchSizes = new BatchFetchSizes(obProperties,
+        ETRXModelProvider.getInstance().getETRXProjection());
+    var secondLevelCacheTables = new SecondLevelCacheTables(obProperties);
+    final int parallelism = Integer.parseInt(obProperties.getProperty("rx.generate.parallelism",
+        String.valueOf(Runtime.getRuntime().availableProcessors())));
+    var generationPool = new ForkJoinPool(Math.max(1, parallelism));
+    var manifest = GenerationManifest.getInstance();
+    manifest.load(new File(pathEtendoRx, MODULES_GEN + File.separator + MANIFEST_FILE),
+        Boolean.parseBoolean(
+            obProperties.getProperty(GenerationManifest.INCREMENTAL_PROPERTY, "true")));
+    var fingerprint = new EntityFingerprint(pathEtendoRx, computedColumns, includeViews,
+        dataRestEnabled);
     try {
+      Map<Entity, Map<String, Object>> entitiesData = new LinkedHashMap<>();
       for (Entity entity : entities) {
         if (entity.isDataSourceBased() || entity.isHQLBased()) {
           continue;
@@ -122,18 +141,33 @@ public class GenerateEntities {
         if (generateRxCode && !entity.isVirtualEntity() && (includeViews || !entity.isView())) {
           var data = TemplateUtil.getModelData(paths, entity, getSearchesMap(entity),
               computedColumns, includeViews);
-          generateEntityCode(data, paths, generators, dataRestEnabled);
-          generateMappingCode(entity, paths, mappingGenerators);
+          data.put("batchFetch", batchFetchSizes);
+          data.put("secondLevelCache", secondLevelCacheTables);
+          for (EntityGenerator generator : generators) {
+            generator.prepareData(data, paths, dataRestEnabled);
+          }
+          entitiesData.put(entity, data);
         }
       }
+      // The runtime model is read only, each entity is generated in its own task
+      generateEntityCode(generationPool, entitiesData, fingerprint, paths, concurrentGenerators,
+          dataRestEnabled);
+      // The ETRX model shares a single session, these generators run in the model order
+      for (var entityData : entitiesData.entrySet()) {
+        generateEntityCode(entityData.getValue(), paths, sequentialGenerators, dataRestEnabled);
+        generateMappingCode(entityData.getKey(), paths, mappingGenerators);
+      }
       generateMappingGroup(paths, new GenerateGroupedOpenApi());
 
       generateGlobalCode(paths, entities);
 
-      generateProtofile(projections, entities, paths, computedColumns, includeViews);
+      generateProtofile(projections, paths, computedColumns, includeViews);
 
+      manifest.save();
     } catch (IOException e) {
       log.error(ERROR_GENERATING_FILE + GENERATED_DIR, e);
+    } finally {
+      generationPool.shutdown();
     }
     log.info("Generated {} entities", entities.size());
   }
@@ -176,6 +210,51 @@ public class GenerateEntities {
     return mappingGenerators;
   }
 
+  /**
+   * Generates the code of the entities concurrently. Every entity has its own data map and every
+   * generator writes its own files, so the output does not depend on the execution order.
+   * Entities whose fingerprint did not change since the previous run are skipped.
+   *
+   * @param pool            the pool running the tasks
+   * @param entitiesData    the template data of each entity
+   * @param fingerprint     the fingerprint of the entity inputs
+   * @param paths           the paths
+   * @param generators      the generators, all of them must be concurrent
+   * @param dataRestEnabled whether data rest is enabled
+   * @throws FileNotFoundException if an output file could not be created
+   */
+  private void generateEntityCode(ForkJoinPool pool, Map<Entity, Map<String, Object>> entitiesData,
+      EntityFingerprint fingerprint, GeneratePaths paths, List<EntityGenerator> generators,
+      boolean dataRestEnabled) throws IOException {
+    List<Callable<Void>> tasks = new ArrayList<>();
+    for (var entityData : entitiesData.entrySet()) {
+      Entity entity = entityData.getKey();
+      Map<String, Object> data = entityData.getValue();
+      tasks.add(() -> {
+        GenerationManifest.getInstance()
+            .generate("entity." + entity.getName(), fingerprint.of(entity, data),
+                () -> generateEntityCode(data, paths, generators, dataRestEnabled));
+        return null;
+      });
+    }
+    for (Future<Void> task : pool.invokeAll(tasks)) {
+      try {
+        task.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException(e);
+      } catch (ExecutionException e) {
+        if (e.getCause() instanceof IOException) {
+          throw (IOException) e.getCause();
+        }
+        if (e.getCause() instanceof RuntimeException) {
+          throw (RuntimeException) e.getCause();
+        }
+        throw new IllegalStateException(e.getCause());
+      }
+    }
+  }
+
   private void generateEntityCode(Map<String, Object> data, GeneratePaths paths,
       List<EntityGenerator> generators, boolean dataRestEnabled) throws FileNotFoundException {
     for (EntityGenerator generator : generators) {
@@ -251,15 +330,13 @@ public class GenerateEntities {
    * Generates the protofile
    *
    * @param projections     the projections
-   * @param entities        the entities
    * @param paths           the paths
    * @param computedColumns the computed columns
    * @param includeViews    the include views
    * @throws FileNotFoundException the file not found exception
    */
-  private void generateProtofile(ArrayList<Projection> projections, List<Entity> entities,
-      GeneratePaths paths, boolean computedColumns, boolean includeViews)
-      throws FileNotFoundException {
+  private void generateProtofile(ArrayList<Projection> projections, GeneratePaths paths,
+      boolean computedColumns, boolean includeViews) throws FileNotFoundException {
     List<Repository> repositories = new ArrayList<>();
     repositories.addAll(getRepositories());
 
@@ -273,7 +350,6 @@ public class GenerateEntities {
     }
     metadataContainer.getMetadataList().add(metadata);
     GenerateProtoFile generateProtoFile = new GenerateProtoFile();
-    generateProtoFile.setEntitiesModel(entities);
     // Generate Proto File
     generateProtoFile.generate(paths.pathEtendoRx, metadata.getRepositoriesMap(), projections,
         metadataContainer, computedColumns, includeViews);
@@ -359,8 +435,7 @@ public class GenerateEntities {
     String ftlFileNameRX = "/org/openbravo/base/gen/entityscan.ftl";
     freemarker.template.Template templateRX = TemplateUtil.createTemplateImplementation(
         ftlFileNameRX);
-    Writer outWriter = new BufferedWriter(
-        new OutputStreamWriter(new FileOutputStream(outFile), StandardCharsets.UTF_8));
+    Writer outWriter = GenerationManifest.getInstance().getWriter(outFile);
     TemplateUtil.processTemplate(templateRX, data, outWriter);
   }
 
@@ -383,8 +458,7 @@ public class GenerateEntities {
     String ftlFileNameRX = "/org/openbravo/base/gen/" + template;
     freemarker.template.Template templateRX = TemplateUtil.createTemplateImplementation(
         ftlFileNameRX);
-    Writer outWriter = new BufferedWriter(
-        new OutputStreamWriter(new FileOutputStream(outFile), StandardCharsets.UTF_8));
+    Writer outWriter = GenerationManifest.getInstance().getWriter(outFile);
     TemplateUtil.processTemplate(templateRX, data, outWriter);
   }
 
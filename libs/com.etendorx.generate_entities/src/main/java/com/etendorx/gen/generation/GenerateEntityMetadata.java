@@ -7,7 +7,6 @@ import org.apache.logging.log4j.Logger;
 import org.openbravo.base.model.Entity;
 
 import java.io.*;
-import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
 public class GenerateEntityMetadata implements EntityGenerator {
@@ -34,8 +33,7 @@ public class GenerateEntityMetadata implements EntityGenerator {
     String ftlFileNameRX = "/org/openbravo/base/gen/entityMetadata.ftl";
     freemarker.template.Template templateRX = TemplateUtil.createTemplateImplementation(
         ftlFileNameRX);
-    Writer outWriter = new BufferedWriter(
-        new OutputStreamWriter(new FileOutputStream(outFile), StandardCharsets.UTF_8));
+    Writer outWriter = GenerationManifest.getInstance().getWriter(outFile);
     TemplateUtil.processTemplate(templateRX, data, outWriter);
   }
 }
@@ -5,10 +5,10 @@ import com.etendorx.gen.util.TemplateUtil;
 import freemarker.template.Template;
 
 import java.io.*;
-import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
 public class GenerateEntityModel implements EntityGenerator {
+  private static final String PACKAGE_ENTITY_MODEL = "com.etendorx.entitiesmodel";
 
   /**
    * Generates the entity model
@@ -26,8 +26,7 @@ public class GenerateEntityModel implements EntityGenerator {
     Template templateEntityModelRX = TemplateUtil.createTemplateImplementation(
         ftlFileNameEntitiesModel);
 
-    final String packageEntityModel = "com.etendorx.entitiesmodel";
-    data.put("packageEntityModel", packageEntityModel);
+    final String packageEntityModel = PACKAGE_ENTITY_MODEL;
     final String fullPathClientRest = path.pathEtendoRx + "/modules_gen/com.etendorx.entitiesModel" + "/src/main/java/" + packageEntityModel.toLowerCase()
         .replace('.', '/');
     final String repositoryClassEntityModel = data.get("repositoryClassEntityModel").toString();
@@ -35,10 +34,14 @@ public class GenerateEntityModel implements EntityGenerator {
     var outFileEntityModel = new File(fullPathClientRest, repositoryClassEntityModel);
     new File(outFileEntityModel.getParent()).mkdirs();
 
-    Writer outWriterEntityModel = new BufferedWriter(
-        new OutputStreamWriter(new FileOutputStream(outFileEntityModel), StandardCharsets.UTF_8));
+    Writer outWriterEntityModel = GenerationManifest.getInstance().getWriter(outFileEntityModel);
     TemplateUtil.processTemplate(templateEntityModelRX, data, outWriterEntityModel);
 
   }
 
+  @Override
+  public void prepareData(Map<String, Object> data, GeneratePaths path,
+      boolean dataRestEnabled) {
+    data.put("packageEntityModel", PACKAGE_ENTITY_MODEL);
+  }
 }
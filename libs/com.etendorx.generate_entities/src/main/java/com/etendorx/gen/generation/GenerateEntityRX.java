@@ -6,7 +6,6 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.io.*;
-import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
 public class GenerateEntityRX implements EntityGenerator {
@@ -33,8 +32,7 @@ public class GenerateEntityRX implements EntityGenerator {
     String ftlFileNameRX = "/org/openbravo/base/gen/entityRX.ftl";
     freemarker.template.Template templateRX = TemplateUtil.createTemplateImplementation(
         ftlFileNameRX);
-    Writer outWriter = new BufferedWriter(
-        new OutputStreamWriter(new FileOutputStream(outFile), StandardCharsets.UTF_8));
+    Writer outWriter = GenerationManifest.getInstance().getWriter(outFile);
     TemplateUtil.processTemplate(templateRX, data, outWriter);
   }
 }
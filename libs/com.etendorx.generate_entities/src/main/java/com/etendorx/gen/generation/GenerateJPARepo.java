@@ -5,7 +5,6 @@ import com.etendorx.gen.util.TemplateUtil;
 import org.openbravo.base.model.Entity;
 
 import java.io.*;
-import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
 public class GenerateJPARepo implements EntityGenerator {
@@ -25,18 +24,25 @@ public class GenerateJPARepo implements EntityGenerator {
     freemarker.template.Template templateJPARepoRX = TemplateUtil.createTemplateImplementation(
         ftlFileNameJPARepo);
 
-    final String packageJPARepo = path.pathEntitiesRx.substring(
-        path.pathEntitiesRx.lastIndexOf('/') + 1) + ".jparepo";
+    final String packageJPARepo = getPackageJPARepo(path);
     final String fullPathJPARepo = path.pathEntitiesRx + "/src/main/jparepo/" + packageJPARepo.replace(
         '.', '/');
     final String repositoryClass = ((Entity) data.get("entity")).getName() + "Repository.java";
     new File(fullPathJPARepo).mkdirs();
     var outFileRepo = new File(fullPathJPARepo, repositoryClass);
 
-    data.put("dataRestEnabled", dataRestEnabled);
-    data.put("packageJPARepo", packageJPARepo);
-    Writer outWriterRepo = new BufferedWriter(
-        new OutputStreamWriter(new FileOutputStream(outFileRepo), StandardCharsets.UTF_8));
+    Writer outWriterRepo = GenerationManifest.getInstance().getWriter(outFileRepo);
     TemplateUtil.processTemplate(templateJPARepoRX, data, outWriterRepo);
   }
+
+  @Override
+  public void prepareData(Map<String, Object> data, GeneratePaths path,
+      boolean dataRestEnabled) {
+    data.put("dataRestEnabled", dataRestEnabled);
+    data.put("packageJPARepo", getPackageJPARepo(path));
+  }
+
+  private String getPackageJPARepo(GeneratePaths path) {
+    return path.pathEntitiesRx.substring(path.pathEntitiesRx.lastIndexOf('/') + 1) + ".jparepo";
+  }
 }
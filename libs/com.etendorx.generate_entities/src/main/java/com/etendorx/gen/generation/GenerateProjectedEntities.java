@@ -9,7 +9,6 @@ import org.apache.commons.lang3.StringUtils;
 import org.openbravo.base.model.Entity;
 
 import java.io.*;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Map;
 
@@ -61,8 +60,8 @@ public class GenerateProjectedEntities implements ProjectionGenerator {
     data.put("projectionName", projectionName);
     data.put("projectionFields",
         projectionEntity != null ? projectionEntity.getFieldsMap() : new ArrayList<String>());
-    TemplateUtil.processTemplate(template, data, new BufferedWriter(
-        new OutputStreamWriter(new FileOutputStream(outFile), StandardCharsets.UTF_8)));
+    TemplateUtil.processTemplate(template, data,
+        GenerationManifest.getInstance().getWriter(outFile));
   }
 
   /**
@@ -109,8 +108,7 @@ public class GenerateProjectedEntities implements ProjectionGenerator {
     var outFileProjection = new File(fullPathProjectionRepo, projectionClass);
     new File(outFileProjection.getParent()).mkdirs();
 
-    Writer outWriterProjection = new BufferedWriter(
-        new OutputStreamWriter(new FileOutputStream(outFileProjection), StandardCharsets.UTF_8));
+    Writer outWriterProjection = GenerationManifest.getInstance().getWriter(outFileProjection);
     data.put("projectionName", projectionName);
     data.put("projectionFields",
         projectionEntity != null ? projectionEntity.getFieldsMap() : new ArrayList<String>());
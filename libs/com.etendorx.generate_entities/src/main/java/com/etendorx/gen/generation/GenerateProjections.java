@@ -45,4 +45,9 @@ public class GenerateProjections implements EntityGenerator {
       }
     }
   }
+
+  @Override
+  public boolean isConcurrent() {
+    return false;
+  }
 }
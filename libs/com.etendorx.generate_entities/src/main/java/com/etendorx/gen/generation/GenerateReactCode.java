@@ -7,11 +7,7 @@ import com.etendorx.gen.generation.interfaces.ProjectionGenerator;
 import com.etendorx.gen.util.TemplateUtil;
 import org.apache.commons.lang3.StringUtils;
 
-import java.io.BufferedWriter;
 import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
-import java.io.OutputStreamWriter;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -60,8 +56,8 @@ public class GenerateReactCode implements ProjectionGenerator {
     data.put("externalName", projectionEntity.getExternalName());
     data.put("projectionFields", getProjectionFields(projectionEntity));
     data.put("projection", projection);
-    TemplateUtil.processTemplate(template, data, new BufferedWriter(
-        new OutputStreamWriter(new FileOutputStream(outFile), StandardCharsets.UTF_8)));
+    TemplateUtil.processTemplate(template, data,
+        GenerationManifest.getInstance().getWriter(outFile));
   }
 
   private List<Map<String, String>> getProjectionFields(ProjectionEntity projectionEntity) {
@@ -0,0 +1,337 @@
+/*
+ * Copyright 2022-2024  Futit Services SL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.etendorx.gen.generation;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps track of the files written by the generator between runs. For every output file the
+ * manifest stores the hash of its content with the size and modification time the file had once
+ * written, and for every generation unit (usually an entity) the fingerprint of its inputs and
+ * the files it produced. With it the generator can:
+ * <ul>
+ *   <li>Skip a whole unit when its inputs did not change and all its files are still on disk as
+ *   they were written, same size and modification time.</li>
+ *   <li>Skip writing a file whose bytes are the same as the ones on disk, so the file keeps its
+ *   timestamp and the modules depending on it are not recompiled.</li>
+ * </ul>
+ * The manifest is a properties file, deleting it forces a full generation.
+ */
+public class GenerationManifest {
+
+  public static final String INCREMENTAL_PROPERTY = "rx.generate.incremental";
+  private static final Logger log = LogManager.getLogger();
+  private static final String OUTPUT_PREFIX = "output.";
+  private static final String UNIT_PREFIX = "unit.";
+  private static final String UNIT_OUTPUTS_SUFFIX = ".outputs";
+  private static final GenerationManifest INSTANCE = new GenerationManifest();
+
+  private final Map<String, OutputStamp> outputs = new ConcurrentHashMap<>();
+  private final Map<String, String> units = new ConcurrentHashMap<>();
+  private final Map<String, Set<String>> unitOutputs = new ConcurrentHashMap<>();
+  private final ThreadLocal<String> currentUnit = new ThreadLocal<>();
+  private final AtomicInteger written = new AtomicInteger();
+  private final AtomicInteger unchanged = new AtomicInteger();
+  private final AtomicInteger skippedUnits = new AtomicInteger();
+  private File manifestFile;
+  private boolean incremental = true;
+
+  private GenerationManifest() {
+  }
+
+  public static GenerationManifest getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Loads the manifest of the previous run.
+   *
+   * @param manifestFile the manifest file, it does not need to exist
+   * @param incremental  whether units with unchanged inputs are skipped
+   */
+  public void load(File manifestFile, boolean incremental) {
+    this.manifestFile = manifestFile;
+    this.incremental = incremental;
+    outputs.clear();
+    units.clear();
+    unitOutputs.clear();
+    written.set(0);
+    unchanged.set(0);
+    skippedUnits.set(0);
+    if (!manifestFile.isFile()) {
+      return;
+    }
+    Properties properties = new Properties();
+    try (Reader in = Files.newBufferedReader(manifestFile.toPath(), StandardCharsets.UTF_8)) {
+      properties.load(in);
+    } catch (IOException e) {
+      log.warn("Generation manifest {} could not be read, generating all files", manifestFile, e);
+      return;
+    }
+    for (String key : properties.stringPropertyNames()) {
+      String value = properties.getProperty(key);
+      if (key.startsWith(OUTPUT_PREFIX)) {
+        outputs.put(key.substring(OUTPUT_PREFIX.length()), OutputStamp.parse(value));
+      } else if (key.startsWith(UNIT_PREFIX) && key.endsWith(UNIT_OUTPUTS_SUFFIX)) {
+        String unit = key.substring(UNIT_PREFIX.length(),
+            key.length() - UNIT_OUTPUTS_SUFFIX.length());
+        Set<String> files = ConcurrentHashMap.newKeySet();
+        if (!value.isEmpty()) {
+          files.addAll(Arrays.asList(value.split(",")));
+        }
+        unitOutputs.put(unit, files);
+      } else if (key.startsWith(UNIT_PREFIX)) {
+        units.put(key.substring(UNIT_PREFIX.length()), value);
+      }
+    }
+  }
+
+  /**
+   * Stores the manifest for the next run.
+   */
+  public void save() {
+    if (manifestFile == null) {
+      return;
+    }
+    Properties properties = new Properties();
+    outputs.forEach((path, stamp) -> properties.setProperty(OUTPUT_PREFIX + path,
+        stamp.toString()));
+    units.forEach((unit, fingerprint) -> properties.setProperty(UNIT_PREFIX + unit, fingerprint));
+    unitOutputs.forEach((unit, files) -> properties.setProperty(
+        UNIT_PREFIX + unit + UNIT_OUTPUTS_SUFFIX, String.join(",", new TreeSet<>(files))));
+    File parent = manifestFile.getParentFile();
+    if (parent != null) {
+      parent.mkdirs();
+    }
+    try {
+      StringWriter content = new StringWriter();
+      properties.store(content,
+          "Generated by generate.entities, delete it to regenerate all files");
+      // Sorted entries keep the manifest stable between runs
+      List<String> lines = new ArrayList<>(Arrays.asList(content.toString().split("\\R")));
+      List<String> header = lines.stream().filter(line -> line.startsWith("#")).toList();
+      lines.removeAll(header);
+      Collections.sort(lines);
+      lines.addAll(0, header);
+      Files.write(manifestFile.toPath(), lines, StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      log.warn("Generation manifest {} could not be written", manifestFile, e);
+    }
+    log.info("Generated files: {} written, {} unchanged, {} units skipped", written.get(),
+        unchanged.get(), skippedUnits.get());
+  }
+
+  /**
+   * Runs the generation of a unit unless its inputs did not change since the previous run and
+   * all the files it produced are unchanged on disk. The files written by the action are
+   * recorded as the outputs of the unit.
+   *
+   * @param unit        the unit name, for example the entity name
+   * @param fingerprint the fingerprint of the inputs of the unit
+   * @param action      the generation of the unit
+   * @throws IOException if the action fails writing a file
+   */
+  public void generate(String unit, String fingerprint, GenerationAction action)
+      throws IOException {
+    if (isUpToDate(unit, fingerprint)) {
+      skippedUnits.incrementAndGet();
+      return;
+    }
+    units.remove(unit);
+    unitOutputs.put(unit, ConcurrentHashMap.newKeySet());
+    currentUnit.set(unit);
+    try {
+      action.run();
+    } finally {
+      currentUnit.remove();
+    }
+    units.put(unit, fingerprint);
+  }
+
+  private boolean isUpToDate(String unit, String fingerprint) {
+    if (!incremental || !fingerprint.equals(units.get(unit))) {
+      return false;
+    }
+    Set<String> files = unitOutputs.get(unit);
+    return files != null && !files.isEmpty() && files.stream()
+        .allMatch(path -> isUnchanged(new File(path), outputs.get(path)));
+  }
+
+  private static boolean isUnchanged(File file, OutputStamp stamp) {
+    return stamp != null && file.isFile() && file.length() == stamp.length()
+        && file.lastModified() == stamp.lastModified();
+  }
+
+  /**
+   * Returns a writer for a generated file. The content is kept in memory and written on flush
+   * only if it differs from the current file.
+   *
+   * @param outFile the generated file
+   * @return the writer of the file
+   */
+  public Writer getWriter(File outFile) {
+    String unit = currentUnit.get();
+    if (unit != null) {
+      unitOutputs.computeIfAbsent(unit, key -> ConcurrentHashMap.newKeySet())
+          .add(outFile.getPath());
+    }
+    return new GeneratedFileWriter(outFile);
+  }
+
+  private void write(File outFile, String content) {
+    byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+    String hash = hash(bytes);
+    String path = outFile.getPath();
+    OutputStamp stamp = outputs.get(path);
+    // The recorded hash only stands for the file while it is as it was written, a file changed
+    // on disk is compared byte by byte
+    if (outFile.isFile() && outFile.length() == bytes.length && ((stamp != null
+        && hash.equals(stamp.hash()) && isUnchanged(outFile, stamp))
+        || hasContent(outFile, bytes))) {
+      outputs.put(path, new OutputStamp(hash, bytes.length, outFile.lastModified()));
+      unchanged.incrementAndGet();
+      return;
+    }
+    try {
+      File parent = outFile.getParentFile();
+      if (parent != null) {
+        parent.mkdirs();
+      }
+      Files.write(outFile.toPath(), bytes);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    outputs.put(path, new OutputStamp(hash, bytes.length, outFile.lastModified()));
+    written.incrementAndGet();
+  }
+
+  private static boolean hasContent(File file, byte[] bytes) {
+    try {
+      return Arrays.equals(Files.readAllBytes(file.toPath()), bytes);
+    } catch (IOException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Returns the SHA-256 hash of the given bytes.
+   *
+   * @param bytes the bytes to hash
+   * @return the hash as an hexadecimal string
+   */
+  public static String hash(byte[] bytes) {
+    try {
+      return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * The hash of a generated file and the size and modification time it had once written. Stored
+   * as {@code hash,length,lastModified}, manifests of previous versions only have the hash and
+   * their files are compared by content.
+   */
+  private record OutputStamp(String hash, long length, long lastModified) {
+
+    static OutputStamp parse(String value) {
+      String[] parts = value.split(",");
+      if (parts.length != 3) {
+        return new OutputStamp(parts[0], -1, -1);
+      }
+      try {
+        return new OutputStamp(parts[0], Long.parseLong(parts[1]), Long.parseLong(parts[2]));
+      } catch (NumberFormatException e) {
+        return new OutputStamp(parts[0], -1, -1);
+      }
+    }
+
+    @Override
+    public String toString() {
+      return hash + "," + length + "," + lastModified;
+    }
+  }
+
+  /**
+   * The generation of a unit.
+   */
+  @FunctionalInterface
+  public interface GenerationAction {
+    void run() throws IOException;
+  }
+
+  /**
+   * Buffers the generated content and hands it to the manifest on flush and close.
+   */
+  private class GeneratedFileWriter extends Writer {
+    private final File outFile;
+    private final StringBuilder content = new StringBuilder();
+    private boolean dirty = true;
+
+    private GeneratedFileWriter(File outFile) {
+      this.outFile = outFile;
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) {
+      content.append(cbuf, off, len);
+      dirty = true;
+    }
+
+    @Override
+    public void write(String str, int off, int len) {
+      content.append(str, off, off + len);
+      dirty = true;
+    }
+
+    @Override
+    public void flush() {
+      if (dirty) {
+        GenerationManifest.this.write(outFile, content.toString());
+        dirty = false;
+      }
+    }
+
+    @Override
+    public void close() {
+      flush();
+    }
+  }
+}
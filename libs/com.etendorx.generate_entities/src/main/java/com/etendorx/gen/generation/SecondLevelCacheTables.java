@@ -0,0 +1,96 @@
+/*
+ * Copyright 2022-2024  Futit Services SL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.etendorx.gen.generation;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openbravo.base.model.AccessLevel;
+import org.openbravo.base.model.Entity;
+
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Tables whose generated entities are marked as cacheable in the Hibernate second level cache.
+ * Only reference tables that are read on almost every request and rarely change should be
+ * listed. The cache itself stays disabled until DAS is started with
+ * {@code das.cache.enabled=true}.
+ * <p>
+ * Entities loaded from the cache skip the client and organization filters that DAS adds to the
+ * SQL of each request, so a cached row read by one client would be served to the others. Only
+ * tables with the {@link AccessLevel#SYSTEM} access level are cached: their rows belong to the
+ * system client and organization and are visible to every client. Listed tables with any other
+ * access level are not cached. The query cache is not used, its key does not include the
+ * filters either. Configured with:
+ * <ul>
+ *   <li>{@code rx.cache.tables}: comma separated table names.</li>
+ *   <li>{@code rx.cache.strategy}: Hibernate concurrency strategy. Default READ_WRITE.</li>
+ * </ul>
+ */
+public class SecondLevelCacheTables {
+
+  public static final String TABLES_PROPERTY = "rx.cache.tables";
+  public static final String STRATEGY_PROPERTY = "rx.cache.strategy";
+  private static final String DEFAULT_TABLES = "ad_table,etrx_constant_value,"
+      + "etrx_instance_connector";
+  private static final String DEFAULT_STRATEGY = "READ_WRITE";
+  private static final Logger log = LogManager.getLogger();
+
+  private final Set<String> tables;
+  private final String strategy;
+  private final Set<String> rejected = ConcurrentHashMap.newKeySet();
+
+  public SecondLevelCacheTables(Properties properties) {
+    this.tables = Arrays.stream(
+            properties.getProperty(TABLES_PROPERTY, DEFAULT_TABLES).split(","))
+        .map(String::trim)
+        .filter(StringUtils::isNotEmpty)
+        .map(String::toLowerCase)
+        .collect(Collectors.toSet());
+    this.strategy = properties.getProperty(STRATEGY_PROPERTY, DEFAULT_STRATEGY);
+  }
+
+  /**
+   * Checks if the entity is cached. Views and tables that are not system level are never cached.
+   *
+   * @param entity the entity
+   * @return true if the entity table is configured as cached and its rows are shared by all
+   * clients
+   */
+  public boolean isCached(Entity entity) {
+    String tableName = entity.getTableName().toLowerCase();
+    if (entity.isView() || !tables.contains(tableName)) {
+      return false;
+    }
+    if (entity.getAccessLevel() != AccessLevel.SYSTEM) {
+      if (rejected.add(tableName)) {
+        log.warn("Table {} is listed in {} but its access level is {}, its rows are filtered by "
+            + "client and organization and it is not cached", tableName, TABLES_PROPERTY,
+            entity.getAccessLevel());
+      }
+      return false;
+    }
+    return true;
+  }
+
+  public String getStrategy() {
+    return strategy;
+  }
+}
@@ -18,4 +18,28 @@ public interface EntityGenerator {
   void generate(Map<String, Object> data, GeneratePaths path, boolean dataRestEnabled)
       throws FileNotFoundException;
 
+  /**
+   * Adds to the template data the values set by this generator that other generators read. It
+   * is called for every entity before any generator runs, so the data is complete even when the
+   * entity is not regenerated.
+   *
+   * @param data
+   * @param path
+   * @param dataRestEnabled
+   */
+  default void prepareData(Map<String, Object> data, GeneratePaths path,
+      boolean dataRestEnabled) {
+  }
+
+  /**
+   * Whether the generator only reads the runtime model, so the entities can be generated
+   * concurrently. Generators that query the ETRX model session must return false, they are run
+   * sequentially once the concurrent generators have finished.
+   *
+   * @return true if the generator can run concurrently with other entities
+   */
+  default boolean isConcurrent() {
+    return true;
+  }
+
 }
@@ -37,6 +37,8 @@ import java.util.Map;
 
 public abstract class MappingGenerationBase implements MappingGenerator {
   private static final Logger log = LogManager.getLogger();
+  private static final TemplateHashModel NAMING_UTIL = getStaticModel(
+      "org.openbravo.base.model.NamingUtil");
   private final String ftlFileNameRX;
 
   protected MappingGenerationBase(String ftlFileNameRX) {
@@ -70,23 +72,33 @@ public abstract class MappingGenerationBase implements MappingGenerator {
 
   private Map<String, Object> getData(String mappingPrefix,
       ETRXProjectionEntity etrxProjectionEntity) {
-    BeansWrapper wrapper = new BeansWrapperBuilder(Configuration.VERSION_2_3_31).build();
-    TemplateHashModel staticModels = wrapper.getStaticModels();
-
     Map<String, Object> data = new HashMap<>();
     data.put("mappingPrefix", mappingPrefix);
     data.put("entity", etrxProjectionEntity);
     data.put("modelProvider", ModelProvider.getInstance());
     data.put("modelProviderRX", ETRXModelProvider.getInstance());
     data.put("genUtils", CodeGenerationUtils.getInstance());
-    try {
-      TemplateHashModel fileStatics = null;
-      fileStatics = (TemplateHashModel) staticModels.get("org.openbravo.base.model.NamingUtil");
-      data.put("NamingUtil", fileStatics);
-    } catch (TemplateModelException ignored) {
-      log.error("Error getting static model", ignored);
+    if (NAMING_UTIL != null) {
+      data.put("NamingUtil", NAMING_UTIL);
     }
     return data;
   }
 
+  /**
+   * Returns the static methods of a class as a template model. The models are built once, they
+   * are the same for every generated file.
+   *
+   * @param className
+   * @return the static model, null if it could not be built
+   */
+  private static TemplateHashModel getStaticModel(String className) {
+    BeansWrapper wrapper = new BeansWrapperBuilder(Configuration.VERSION_2_3_31).build();
+    try {
+      return (TemplateHashModel) wrapper.getStaticModels().get(className);
+    } catch (TemplateModelException e) {
+      log.error("Error getting static model", e);
+      return null;
+    }
+  }
+
 }
@@ -18,19 +18,43 @@ package com.etendorx.gen.generation.utils;
 import com.etendoerp.etendorx.model.projection.ETRXEntityField;
 import com.etendoerp.etendorx.model.projection.ETRXProjectionEntity;
 import com.etendorx.gen.generation.GeneratePaths;
+import com.etendorx.gen.generation.GenerationManifest;
 import org.apache.commons.lang3.StringUtils;
+import org.openbravo.base.model.Entity;
 import org.openbravo.base.model.ModelProvider;
 import org.openbravo.base.model.Property;
 
 import java.io.*;
-import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
 
 /**
  * Utility class for code generation.
  */
 public class CodeGenerationUtils {
 
+  /**
+   * Conversion of the value read by a generated read converter.
+   */
+  public enum ReadConversion {
+    // Returned as it is
+    VALUE,
+    // Formatted with the date format and time zone of the user
+    DATE,
+    // A reference, returned as its identifier
+    IDENTIFIER,
+    // The id of a reference, read without loading the referenced row
+    REFERENCE_ID,
+    // A one-to-many list, returned as the identifiers of its elements
+    IDENTIFIER_LIST,
+    // Unknown type, resolved at runtime by MappingUtils.handleBaseObject
+    OBJECT
+  }
+
   /**
    * Private constructor to prevent instantiation.
    */
@@ -49,6 +73,11 @@ public class CodeGenerationUtils {
   public static final List<String> NUMERIC_CLASSES = List.of("java.math.Integer", "java.math.BigDecimal", "java.lang.Double",
       "java.lang.Float", "java.lang.Long");
 
+  /**
+   * Maximum depth of nested projection entities followed when computing the fetch paths.
+   */
+  private static final int MAX_FETCH_DEPTH = 2;
+
   public static String getNull() {
     return null;
   }
@@ -85,8 +114,7 @@ public class CodeGenerationUtils {
     new File(fullPathJPARepo).mkdirs();
     var outFileRepo = new File(fullPathJPARepo, repositoryClass);
 
-    return new BufferedWriter(
-        new OutputStreamWriter(new FileOutputStream(outFileRepo), StandardCharsets.UTF_8));
+    return GenerationManifest.getInstance().getWriter(outFileRepo);
   }
 
   /**
@@ -96,14 +124,9 @@ public class CodeGenerationUtils {
    * @return the Property for the given ETRXEntityField
    */
   private Property getProperty(ETRXEntityField field) {
-    for (Property p : ModelProvider.getInstance()
+    return ModelProvider.getInstance()
         .getEntity(field.getEntity().getTable().getName())
-        .getProperties()) {
-      if (p.getName().equals(field.getProperty())) {
-        return p;
-      }
-    }
-    return null;
+        .getProperty(field.getProperty(), false);
   }
 
   /**
@@ -344,4 +367,144 @@ public class CodeGenerationUtils {
   public String getFullQualifiedType(ETRXProjectionEntity entity, ETRXEntityField field) {
     return ModelProvider.getInstance().getColumnTypeFullQualified(entity.getTable(), entity.getTable().getName() +"." + firstProperty(field.getProperty()));
   }
+
+  /**
+   * Returns the association paths read by the generated read converter of the given
+   * ETRXProjectionEntity. Direct and entity mapped fields contribute the to-one associations of
+   * their property path, and entity mapped fields also contribute the paths of the related
+   * projection entity, prefixed by the field property. One-to-many and computed properties are
+   * not included, fetching them would multiply the rows of the query.
+   *
+   * @param entity the ETRXProjectionEntity to get the fetch paths for
+   * @return the sorted association paths, empty if the projection reads no associations
+   */
+  public List<String> getFetchPaths(ETRXProjectionEntity entity) {
+    Set<String> paths = new TreeSet<>();
+    collectFetchPaths(entity, "", paths, 0);
+    return new ArrayList<>(paths);
+  }
+
+  private void collectFetchPaths(ETRXProjectionEntity entity, String prefix, Set<String> paths,
+      int depth) {
+    Entity modelEntity = ModelProvider.getInstance().getEntity(entity.getTable().getName());
+    for (ETRXEntityField field : entity.getFields()) {
+      boolean entityMapping = StringUtils.equals(field.getFieldMapping(), "EM");
+      if (field.getProperty() == null
+          || !(entityMapping || StringUtils.equals(field.getFieldMapping(), "DM"))) {
+        continue;
+      }
+      String property = field.getProperty();
+      if (!entityMapping && isReferenceId(entity, field)) {
+        // The id is read from the reference, only the associations before it are needed
+        int idSegment = property.lastIndexOf('.');
+        int referenceSegment = property.lastIndexOf('.', idSegment - 1);
+        if (referenceSegment < 0) {
+          continue;
+        }
+        property = property.substring(0, referenceSegment);
+      }
+      List<Property> associations = getAssociationProperties(modelEntity, property);
+      if (associations.isEmpty()) {
+        continue;
+      }
+      String path = getAssociationPath(associations);
+      paths.add(prefix + path);
+      boolean wholePath = associations.size() == StringUtils.countMatches(property, '.') + 1;
+      if (entityMapping && field.getEtrxProjectionEntityRelated() != null && wholePath
+          && depth < MAX_FETCH_DEPTH) {
+        collectFetchPaths(field.getEtrxProjectionEntityRelated(), prefix + path + ".", paths,
+            depth + 1);
+      }
+    }
+  }
+
+  /**
+   * Returns the attribute path of the given associations. The generated entities name their
+   * attributes after the java name of the property, which differs from the property name for
+   * reserved words.
+   *
+   * @param associations the traversed association properties, in path order
+   * @return the association path, segments separated by "."
+   */
+  private String getAssociationPath(List<Property> associations) {
+    return associations.stream().map(Property::getJavaName).collect(Collectors.joining("."));
+  }
+
+  /**
+   * Returns the conversion applied by the generated read converter to a direct mapped field, from
+   * the static type of the last property of the field path. The generated code then calls the
+   * specific conversion instead of resolving the type at runtime.
+   *
+   * @param entity the ETRXProjectionEntity the field belongs to
+   * @param field the direct mapped field
+   * @return the name of the {@link ReadConversion}
+   */
+  public String getReadConversion(ETRXProjectionEntity entity, ETRXEntityField field) {
+    if (field.getProperty() == null) {
+      return ReadConversion.OBJECT.name();
+    }
+    Entity current = ModelProvider.getInstance().getEntity(entity.getTable().getName());
+    String[] segments = field.getProperty().split("\\.");
+    Property property = null;
+    for (int i = 0; i < segments.length; i++) {
+      property = current.getProperty(segments[i], false);
+      if (property == null || property.isComputedColumn()) {
+        return ReadConversion.OBJECT.name();
+      }
+      if (i < segments.length - 1) {
+        if (property.isPrimitive() || property.isOneToMany()
+            || property.getTargetEntity() == null) {
+          return ReadConversion.OBJECT.name();
+        }
+        current = property.getTargetEntity();
+      }
+    }
+    if (segments.length > 1 && property.isId()) {
+      return ReadConversion.REFERENCE_ID.name();
+    }
+    return getReadConversion(property).name();
+  }
+
+  private boolean isReferenceId(ETRXProjectionEntity entity, ETRXEntityField field) {
+    return StringUtils.equals(getReadConversion(entity, field),
+        ReadConversion.REFERENCE_ID.name());
+  }
+
+  private ReadConversion getReadConversion(Property property) {
+    if (property.isPrimitive()) {
+      Class<?> type = property.getPrimitiveObjectType();
+      if (type == null) {
+        return ReadConversion.OBJECT;
+      }
+      return Date.class.isAssignableFrom(type) ? ReadConversion.DATE : ReadConversion.VALUE;
+    }
+    Entity target = property.getTargetEntity();
+    if (target == null || property.isId() || target.getClassName().endsWith("_ComputedColumns")) {
+      return ReadConversion.OBJECT;
+    }
+    return property.isOneToMany() ? ReadConversion.IDENTIFIER_LIST : ReadConversion.IDENTIFIER;
+  }
+
+  /**
+   * Returns the to-one association properties traversed by the property path, stopping at the
+   * first primitive, one-to-many or computed property.
+   *
+   * @param modelEntity the entity the property path starts from
+   * @param property the property path, segments separated by "."
+   * @return the traversed association properties, in path order
+   */
+  public List<Property> getAssociationProperties(Entity modelEntity, String property) {
+    List<Property> associations = new ArrayList<>();
+    Entity current = modelEntity;
+    for (String segment : property.split("\\.")) {
+      Property p = current.getProperty(segment, false);
+      if (p == null || p.isPrimitive() || p.isOneToMany() || p.isComputedColumn()
+          || p.getTargetEntity() == null) {
+        break;
+      }
+      associations.add(p);
+      current = p.getTargetEntity();
+    }
+    return associations;
+  }
 }
@@ -19,6 +19,9 @@ package com.etendorx.gen.process;
 import com.etendorx.gen.beans.Metadata;
 import com.etendorx.gen.beans.Projection;
 import com.etendorx.gen.beans.ProjectionEntity;
+import com.etendorx.gen.beans.ProjectionEntityField;
+import com.etendorx.gen.beans.Repository;
+import com.etendorx.gen.generation.GenerationManifest;
 import com.etendorx.gen.metadata.MetadataContainer;
 import com.etendorx.gen.metadata.MetadataUtil;
 import com.etendorx.gen.util.CodeGenerationException;
@@ -26,52 +29,21 @@ import com.etendorx.gen.util.TemplateUtil;
 import freemarker.template.Template;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.openbravo.base.model.Entity;
+import org.etendorx.base.session.OBPropertiesProvider;
 
 import java.io.*;
-import java.nio.charset.StandardCharsets;
 import java.util.*;
-import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
-import static com.etendorx.gen.metadata.MetadataProjectionsAnalyzer.getProjectionEntity;
-import static com.etendorx.gen.metadata.MetadataProjectionsAnalyzer.getProjectionEntityField;
-
 public class GenerateProtoFile {
+  public static final String EMBED_RELATED_PROPERTY = "rx.grpc.embedRelated";
   private static final Logger log = LogManager.getLogger();
+  private static final String GRPC_COMMON_DIR = "/modules_gen/com.etendorx.grpc.common";
+  private static final String PROTO_DIR = GRPC_COMMON_DIR + "/src/main/proto";
 
-  private List<Entity> entitiesModel = new ArrayList<>();
-  private Map<String, Entity> entitiesModelMap = new HashMap<>();
-
-  /**
-   * Generates a unique projection from a module metadata.
-   * The projections contain a merge from multiple projections with the same entity.
-   * The entity will contain all the declared fields.
-   *
-   * @param moduleMetadata   The module from where the projection will be obtained
-   * @param projectionFilter A lambda function used to filter the module projections
-   * @return A Projection.
-   */
-  public static Projection generateProjectionMix(Metadata moduleMetadata,
-      Predicate<Projection> projectionFilter) {
-    Projection projectionMix = new Projection("mix");
-
-    moduleMetadata.getProjections()
-        .values()
-        .stream()
-        .filter(projectionFilter)
-        .flatMap(p -> p.getEntities().values().stream())
-        .forEach(entity -> {
-          ProjectionEntity projectionEntityMix = getProjectionEntity(projectionMix,
-              entity.getName(), entity.getName(), false);
-          entity.getFields()
-              .values()
-              .forEach(field -> getProjectionEntityField(projectionEntityMix, field.getName(),
-                  field.getValue(), field.getType()));
-        });
-
-    return projectionMix;
-  }
+  private final boolean embedRelated = Boolean.parseBoolean(OBPropertiesProvider.getInstance()
+      .getOpenbravoProperties()
+      .getProperty(EMBED_RELATED_PROPERTY, "false"));
 
   /**
    * Generates the proto files for the given projections.
@@ -88,11 +60,10 @@ public class GenerateProtoFile {
       Collection<Projection> projections, MetadataContainer metadataContainer,
       boolean computedColumns, boolean includeViews) throws FileNotFoundException {
 
-    this.generate(pathEtendoRx, metadataContainer, computedColumns, includeViews);
+    this.generate(pathEtendoRx, metadataContainer);
 
     var filteredProjections = projections.stream()
-        .filter(
-            projection -> projection.getName().compareTo("default") != 0 && projection.getGrpc())
+        .filter(GenerateProtoFile::isGrpcProjection)
         .collect(Collectors.toList());
 
     for (Projection projection : filteredProjections) {
@@ -116,77 +87,150 @@ public class GenerateProtoFile {
   }
 
   /**
-   * Generates the proto files for the given projections.
+   * Generates one proto file per gRPC projection. Field numbers are kept in a registry next to the
+   * proto sources, so the files of unchanged projections keep their bytes and protoc only sees
+   * changes for the projections that actually changed. Proto files of projections that no longer
+   * exist are removed.
    *
    * @param pathEtendoRx
    * @param metadataContainer
-   * @param computedColumns
-   * @param includeViews
-   * @throws FileNotFoundException
    */
-  private void generate(String pathEtendoRx, MetadataContainer metadataContainer,
-      boolean computedColumns, boolean includeViews) throws FileNotFoundException {
-
-    // Filter the metadata modules which contains a projection with the 'grpc' set to true.
-    List<Metadata> grpcModulesMetadata = metadataContainer.getMetadataList()
-        .stream()
-        .filter(
-            metadata -> metadata.getProjections().values().stream().anyMatch(Projection::getGrpc))
-        .collect(Collectors.toList());
-
-    for (Metadata moduleMetadata : grpcModulesMetadata) {
-      generateProtoFile(pathEtendoRx, moduleMetadata, computedColumns, includeViews);
+  private void generate(String pathEtendoRx, MetadataContainer metadataContainer) {
+    var outFileDir = new File(pathEtendoRx + PROTO_DIR);
+    outFileDir.mkdirs();
+    var registryFile = new File(pathEtendoRx + GRPC_COMMON_DIR, ProtoFieldRegistry.FILE_NAME);
+    var registry = ProtoFieldRegistry.load(registryFile);
+    if (!registryFile.isFile()) {
+      int seeded = registry.seed(outFileDir);
+      if (seeded > 0) {
+        log.warn("The proto field registry {} does not exist, the field numbers of {} messages "
+            + "are taken from the existing proto files. Keep the registry under version "
+            + "control.", registryFile, seeded);
+      } else {
+        log.warn("The proto field registry {} does not exist and there are no proto files to "
+            + "seed it from. New field numbers are assigned, clients built from proto files "
+            + "generated elsewhere must be regenerated.", registryFile);
+      }
+    }
+    Set<File> generated = new HashSet<>();
+    // The shared messages and their conversions are sources of the grpc.common module
+    generated.add(new File(outFileDir, ProtoSchemaWriter.COMMON_PROTO));
+
+    for (Metadata moduleMetadata : metadataContainer.getMetadataList()) {
+      var grpcProjections = moduleMetadata.getProjections()
+          .values()
+          .stream()
+          .filter(GenerateProtoFile::isGrpcProjection)
+          .sorted(Comparator.comparing(Projection::getName))
+          .toList();
+      for (Projection projection : grpcProjections) {
+        var outFile = new File(outFileDir, projection.getName() + ".proto");
+        generated.add(outFile);
+        generateProtoFile(outFile, projection, moduleMetadata, registry);
+      }
     }
+    removeStaleProtoFiles(outFileDir, generated);
+    registry.save();
   }
 
   /**
-   * Generates the proto file for the given module metadata.
+   * Generates the proto file of a projection, with the messages of its entities and the services
+   * of their repositories.
    *
-   * @param pathEtendoRx
+   * @param outFile
+   * @param projection
    * @param moduleMetadata
-   * @param computedColumns
-   * @param includeViews
-   * @throws FileNotFoundException
+   * @param registry
    */
-  private void generateProtoFile(String pathEtendoRx, Metadata moduleMetadata,
-      boolean computedColumns, boolean includeViews) throws FileNotFoundException {
-
-    var outFileDir = pathEtendoRx + "/modules_gen/com.etendorx.grpc.common/src/main/proto";
-    new File(outFileDir).mkdirs();
+  private void generateProtoFile(File outFile, Projection projection, Metadata moduleMetadata,
+      ProtoFieldRegistry registry) {
+    log.info("* Generating proto file for: {}", projection.getName());
+    Set<String> entityNames = projection.getEntities()
+        .values()
+        .stream()
+        .map(ProjectionEntity::getName)
+        .collect(Collectors.toSet());
+    var repositories = moduleMetadata.getRepositories()
+        .values()
+        .stream()
+        .filter(repository -> entityNames.contains(repository.getEntityName()))
+        .toList();
+
+    Set<String> embeddedEntities = embedRelated
+        ? repositories.stream().map(Repository::getEntityName).collect(Collectors.toSet())
+        : Set.of();
+
+    try (Writer writer = GenerationManifest.getInstance().getWriter(outFile)) {
+      new ProtoSchemaWriter(writer, registry, embeddedEntities).write(
+          getProtoPackage(projection), projection, repositories);
+    } catch (IOException e) {
+      throw new CodeGenerationException("Cannot create file " + outFile.getAbsolutePath());
+    }
+    for (String change : registry.drainChanges()) {
+      log.info("  {}: {}", outFile.getName(), change);
+    }
+  }
 
-    String modulePackageName = moduleMetadata.getLocationModule().getName();
-    log.info("* Generating proto file for: {}", modulePackageName);
-    var outFile = new File(outFileDir, modulePackageName + ".proto");
+  /**
+   * The entities embedded in the messages of the given projection entity: the referenced
+   * projection entities with a gRPC service, whose conversion to a message is reused by the
+   * services that embed them. References are resolved to the entity implemented by their class.
+   *
+   * @param projection
+   * @param repositories
+   * @param projectionEntity
+   * @return the names of the embedded entities by the class name of the fields referencing them
+   */
+  private Map<String, String> getEmbeddedEntities(Projection projection,
+      List<HashMap<String, Object>> repositories, ProjectionEntity projectionEntity) {
+    if (!embedRelated) {
+      return Map.of();
+    }
+    Set<String> entityNames = projection.getEntities()
+        .values()
+        .stream()
+        .map(ProjectionEntity::getName)
+        .collect(Collectors.toSet());
+    Set<String> serviceNames = repositories.stream()
+        .map(repository -> repository.get("name").toString())
+        .filter(entityNames::contains)
+        .collect(Collectors.toSet());
+    Map<String, String> embedded = new HashMap<>();
+    for (ProjectionEntityField field : projectionEntity.getFields().values()) {
+      if (ProtoSchemaWriter.isObject(field.getType())) {
+        String entityName = ProtoSchemaWriter.entityName(field.getType());
+        if (entityName != null && serviceNames.contains(entityName)) {
+          embedded.put(field.getType(), entityName);
+        }
+      }
+    }
+    return embedded;
+  }
 
-    String ftlFile = "/org/openbravo/base/process/proto.ftl";
-    Template template = TemplateUtil.createTemplateImplementation(ftlFile);
+  private void removeStaleProtoFiles(File outFileDir, Set<File> generated) {
+    File[] protoFiles = outFileDir.listFiles((dir, name) -> name.endsWith(".proto"));
+    if (protoFiles == null) {
+      return;
+    }
+    for (File protoFile : protoFiles) {
+      if (!generated.contains(protoFile) && protoFile.delete()) {
+        log.info("* Removed stale proto file: {}", protoFile.getName());
+      }
+    }
+  }
 
-    // Projection mix containing the same entity with multiple 'fields' obtained from other 'grpc' projections entities.
-    Projection projectionMix = generateProjectionMix(moduleMetadata, Projection::getGrpc);
+  private static boolean isGrpcProjection(Projection projection) {
+    return projection.getName().compareTo("default") != 0 && projection.getGrpc();
+  }
 
-    // If the 'repositories' uses an entity not registered in the projections. Add the default one with all the fields.
-    moduleMetadata.getRepositories().forEach((entityName, repository) -> {
-      if (!projectionMix.getEntities().containsKey(entityName)) {
-        Entity entity = this.entitiesModelMap.get(entityName);
-        if (entity == null) {
-          throw new RuntimeException(
-              "Error generating proto file for '" + modulePackageName + "'. The entity '" + entityName + "' is not defined.");
-        }
-        ProjectionEntity projectionEntity = MetadataUtil.generateProjectionEntity(entity);
-        projectionMix.getEntities().put(entityName, projectionEntity);
-      }
-    });
-
-    var globalData = new HashMap<String, Object>();
-    globalData.put("entities", projectionMix.getEntitiesMap());
-    globalData.put("repositories", moduleMetadata.getRepositoriesMap());
-    globalData.put("computedColums", computedColumns);
-    globalData.put("includeViews", includeViews);
-    globalData.put("javaPackage", modulePackageName);
-
-    Writer outWriterProjection = new BufferedWriter(
-        new OutputStreamWriter(new FileOutputStream(outFile), StandardCharsets.UTF_8));
-    TemplateUtil.processTemplate(template, globalData, outWriterProjection);
+  /**
+   * The package of the messages of a projection, where the gRPC services look them up.
+   *
+   * @param projection
+   * @return the proto package
+   */
+  static String getProtoPackage(Projection projection) {
+    return "com.etendorx." + projection.getName() + ".grpc";
   }
 
   /**
@@ -261,10 +305,11 @@ public class GenerateProtoFile {
             repository.put("packageName", pgkName.toString());
             repository.put("className", projectionEntity.getClassName());
             repository.put("projectionName", projection.getName());
-            Writer outWriterProjection = new BufferedWriter(
-                new OutputStreamWriter(new FileOutputStream(outFile), StandardCharsets.UTF_8));
+            repository.put("embedEntities",
+                getEmbeddedEntities(projection, repositories, projectionEntity));
+            Writer outWriterProjection = GenerationManifest.getInstance().getWriter(outFile);
             TemplateUtil.processTemplate(template, repository, outWriterProjection);
-          } catch (IOException e) {
+          } catch (UncheckedIOException e) {
             throw new CodeGenerationException("Cannot create file " + outFile.getAbsolutePath());
           }
         }));
@@ -402,13 +447,4 @@ public class GenerateProtoFile {
 
   }
 
-  public void setEntitiesModel(List<Entity> entitiesModel) {
-    this.entitiesModel = entitiesModel;
-    this.setEntitiesModelMap(MetadataUtil.generateEntitiesMap(entitiesModel));
-  }
-
-  public void setEntitiesModelMap(Map<String, Entity> entitiesModelMap) {
-    this.entitiesModelMap = entitiesModelMap;
-  }
-
 }
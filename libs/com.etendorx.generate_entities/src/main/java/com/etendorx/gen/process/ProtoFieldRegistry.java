@@ -0,0 +1,303 @@
+/*
+ * Copyright 2022-2024  Futit Services SL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.etendorx.gen.process;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the numbers assigned to the fields of the generated protobuf messages between runs.
+ * <p>
+ * Once a field gets a number it keeps it, so regenerating a message whose fields did not change
+ * produces the same bytes, and the wire format stays compatible when fields are added. Numbers of
+ * removed fields, or of fields whose type changed, are retired: they are never reused and are
+ * emitted as {@code reserved}. The differences with the previous schema are recorded, so they can
+ * be reported per proto file.
+ * <p>
+ * The registry is a plain text file with one {@code message.field=number type} line per field and
+ * one {@code message.#retired=numbers} line per message with retired numbers. It is meant to be
+ * kept under version control together with the module. When it is missing, it can be seeded from
+ * the proto files generated before, so the fields of those files keep their numbers.
+ */
+public class ProtoFieldRegistry {
+  public static final String FILE_NAME = "proto-field-numbers.properties";
+  private static final Logger log = LogManager.getLogger();
+  private static final String RETIRED = "#retired";
+  private static final Pattern PACKAGE = Pattern.compile("package\\s+([\\w.]+)\\s*;");
+  private static final Pattern MESSAGE = Pattern.compile("message\\s+(\\w+)\\s*\\{");
+  private static final Pattern FIELD = Pattern.compile(
+      "(?:repeated\\s+)?([\\w.]+)\\s+(\\w+)\\s*=\\s*(\\d+)\\s*;");
+  private static final Pattern RESERVED = Pattern.compile("reserved\\s+([\\d,\\s]+);");
+
+  private final File file;
+  private final Map<String, Map<String, FieldNumber>> messages = new TreeMap<>();
+  private final Map<String, TreeSet<Integer>> retired = new TreeMap<>();
+  private final List<String> changes = new ArrayList<>();
+  private final Map<String, Map<String, FieldNumber>> seeds = new HashMap<>();
+  private final Map<String, TreeSet<Integer>> seededRetired = new HashMap<>();
+  private boolean modified;
+
+  private ProtoFieldRegistry(File file) {
+    this.file = file;
+  }
+
+  /**
+   * Loads the registry from a file. A missing file is an empty registry.
+   *
+   * @param file the registry file
+   * @return the registry
+   */
+  public static ProtoFieldRegistry load(File file) {
+    var registry = new ProtoFieldRegistry(file);
+    if (!file.isFile()) {
+      return registry;
+    }
+    try {
+      for (String line : Files.readAllLines(file.toPath(), StandardCharsets.UTF_8)) {
+        registry.parse(line.trim());
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot read the proto field registry " + file, e);
+    }
+    return registry;
+  }
+
+  private void parse(String line) {
+    int separator = line.indexOf('=');
+    if (line.isEmpty() || line.startsWith("#") || separator < 0) {
+      return;
+    }
+    String key = line.substring(0, separator);
+    String value = line.substring(separator + 1);
+    int dot = key.lastIndexOf('.');
+    String message = key.substring(0, dot);
+    String field = key.substring(dot + 1);
+    if (RETIRED.equals(field)) {
+      var numbers = retired.computeIfAbsent(message, k -> new TreeSet<>());
+      for (String number : value.split(",")) {
+        numbers.add(Integer.parseInt(number.trim()));
+      }
+    } else {
+      String[] parts = value.split(" ", 2);
+      var number = new FieldNumber(Integer.parseInt(parts[0]), parts.length > 1 ? parts[1] : "");
+      messages.computeIfAbsent(message, k -> new TreeMap<>()).put(field, number);
+    }
+  }
+
+  /**
+   * Seeds the numbers of the messages that are not registered yet from the proto files of a
+   * directory, typically the ones generated before the registry existed. A message is matched by
+   * its qualified name first and by its simple name otherwise, since the earlier files may use
+   * another package. Seeded numbers are only registered once the message is assigned.
+   *
+   * @param protoDir the directory with the proto files
+   * @return the number of messages found in the proto files
+   */
+  public synchronized int seed(File protoDir) {
+    File[] files = protoDir.listFiles((dir, name) -> name.endsWith(".proto"));
+    if (files == null) {
+      return 0;
+    }
+    Arrays.sort(files);
+    int found = 0;
+    for (File protoFile : files) {
+      try {
+        found += seed(Files.readAllLines(protoFile.toPath(), StandardCharsets.UTF_8));
+      } catch (IOException e) {
+        throw new UncheckedIOException("Cannot read the proto file " + protoFile, e);
+      }
+    }
+    return found;
+  }
+
+  private int seed(List<String> lines) {
+    String protoPackage = null;
+    String message = null;
+    Map<String, FieldNumber> fields = null;
+    TreeSet<Integer> reserved = null;
+    int found = 0;
+    for (String rawLine : lines) {
+      String line = rawLine.trim();
+      Matcher matcher;
+      if (message == null) {
+        if ((matcher = PACKAGE.matcher(line)).matches()) {
+          protoPackage = matcher.group(1);
+        } else if ((matcher = MESSAGE.matcher(line)).matches()) {
+          message = matcher.group(1);
+          fields = new TreeMap<>();
+          reserved = new TreeSet<>();
+        }
+      } else if (line.startsWith("}")) {
+        String qualified = protoPackage != null ? protoPackage + "." + message : message;
+        for (String key : List.of(qualified, message)) {
+          if (seeds.putIfAbsent(key, fields) == null) {
+            seededRetired.put(key, reserved);
+          }
+        }
+        found++;
+        message = null;
+      } else if ((matcher = FIELD.matcher(line)).matches()) {
+        fields.put(matcher.group(2),
+            new FieldNumber(Integer.parseInt(matcher.group(3)), matcher.group(1)));
+      } else if ((matcher = RESERVED.matcher(line)).matches()) {
+        for (String number : matcher.group(1).split(",")) {
+          reserved.add(Integer.parseInt(number.trim()));
+        }
+      }
+    }
+    return found;
+  }
+
+  /**
+   * Assigns the numbers of the fields of a message. Fields already registered with the same type
+   * keep their number, the rest get numbers that were never used by the message, in the order of
+   * the given fields.
+   *
+   * @param message the fully qualified message name
+   * @param fields  the fields of the message, name to proto type
+   * @return the numbered fields, sorted by number, and the reserved numbers
+   */
+  public synchronized Message assign(String message, Map<String, String> fields) {
+    if (!messages.containsKey(message)) {
+      seedMessage(message);
+    }
+    var registered = messages.computeIfAbsent(message, k -> new TreeMap<>());
+    var retiredNumbers = retired.computeIfAbsent(message, k -> new TreeSet<>());
+    int next = registered.values().stream().mapToInt(FieldNumber::number).max().orElse(0);
+    if (!retiredNumbers.isEmpty()) {
+      next = Math.max(next, retiredNumbers.last());
+    }
+    var removed = registered.keySet()
+        .stream()
+        .filter(name -> !fields.containsKey(name))
+        .toList();
+    for (String name : removed) {
+      retiredNumbers.add(registered.remove(name).number());
+      change(message, "-" + name);
+    }
+    var result = new ArrayList<Field>();
+    for (var entry : fields.entrySet()) {
+      String name = entry.getKey();
+      String type = entry.getValue();
+      FieldNumber current = registered.get(name);
+      if (current != null && !current.type().equals(type)) {
+        retiredNumbers.add(current.number());
+        change(message, "~" + name + " " + current.type() + " -> " + type);
+        current = null;
+      } else if (current == null) {
+        change(message, "+" + name);
+      }
+      if (current == null) {
+        current = new FieldNumber(++next, type);
+        registered.put(name, current);
+      }
+      result.add(new Field(name, type, current.number()));
+    }
+    result.sort(Comparator.comparingInt(Field::number));
+    return new Message(result, List.copyOf(retiredNumbers));
+  }
+
+  private void seedMessage(String message) {
+    String simpleName = message.substring(message.lastIndexOf('.') + 1);
+    String key = seeds.containsKey(message) ? message : simpleName;
+    var seeded = seeds.get(key);
+    if (seeded == null) {
+      return;
+    }
+    messages.put(message, new TreeMap<>(seeded));
+    retired.put(message, new TreeSet<>(seededRetired.get(key)));
+    change(message, "seeded " + seeded.size() + " fields from the existing proto files");
+  }
+
+  /**
+   * Returns and clears the changes recorded since the last call.
+   *
+   * @return the schema changes, one per line
+   */
+  public synchronized List<String> drainChanges() {
+    var result = List.copyOf(changes);
+    changes.clear();
+    return result;
+  }
+
+  /**
+   * Writes the registry if any number was assigned or retired in this run.
+   */
+  public synchronized void save() {
+    if (!modified) {
+      return;
+    }
+    var lines = new ArrayList<String>();
+    lines.add("# Field numbers of the generated protobuf messages, do not edit");
+    messages.forEach((message, fields) -> {
+      fields.forEach((name, number) -> lines.add(
+          message + "." + name + "=" + number.number() + " " + number.type()));
+      var numbers = retired.get(message);
+      if (numbers != null && !numbers.isEmpty()) {
+        lines.add(message + "." + RETIRED + "=" + String.join(",",
+            numbers.stream().map(String::valueOf).toList()));
+      }
+    });
+    try {
+      if (file.getParentFile() != null) {
+        file.getParentFile().mkdirs();
+      }
+      Files.write(file.toPath(), lines, StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot write the proto field registry " + file, e);
+    }
+    modified = false;
+  }
+
+  private void change(String message, String change) {
+    modified = true;
+    changes.add(message + ": " + change);
+  }
+
+  /**
+   * A registered field number and the proto type it was registered with.
+   */
+  private record FieldNumber(int number, String type) {
+  }
+
+  /**
+   * A numbered field of a message.
+   */
+  public record Field(String name, String type, int number) {
+  }
+
+  /**
+   * The numbered fields of a message and the numbers it must not use.
+   */
+  public record Message(List<Field> fields, List<Integer> reserved) {
+  }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2022-2024  Futit Services SL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.etendorx.gen.process;
+
+import com.etendorx.gen.beans.Projection;
+import com.etendorx.gen.beans.ProjectionEntity;
+import com.etendorx.gen.beans.ProjectionEntityField;
+import com.etendorx.gen.beans.Repository;
+import com.etendorx.gen.beans.RepositorySearch;
+import com.etendorx.gen.beans.RepositorySearchParam;
+import org.openbravo.base.model.Entity;
+import org.openbravo.base.model.ModelProvider;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes the proto file of a projection. The schema is written straight to the output while the
+ * projection is traversed, and the field numbers come from the {@link ProtoFieldRegistry}, so the
+ * output only changes when the projection does.
+ * <p>
+ * Decimals are encoded with the exact {@code Decimal} message of the common proto file, a source
+ * of the grpc.common module. A reference to one of the embedded entities is written both as its id
+ * and as the message of that entity, so clients do not need another call to read it.
+ */
+public class ProtoSchemaWriter {
+  public static final String COMMON_PROTO = "etendorx_common.proto";
+  static final String DECIMAL_TYPE = "com.etendorx.grpc.common.Decimal";
+  private static final Set<String> PRIMITIVE_TYPES = Set.of("java.lang.String", "String",
+      "java.math.BigDecimal", "java.lang.Long", "java.util.Date", "java.lang.Boolean",
+      "java.sql.Timestamp");
+
+  private final Writer writer;
+  private final ProtoFieldRegistry registry;
+  private final Set<String> embeddedEntities;
+
+  /**
+   * Constructor for the ProtoSchemaWriter class.
+   *
+   * @param writer           the output
+   * @param registry         the registry of the field numbers
+   * @param embeddedEntities the entities embedded in the messages that reference them
+   */
+  public ProtoSchemaWriter(Writer writer, ProtoFieldRegistry registry,
+      Set<String> embeddedEntities) {
+    this.writer = writer;
+    this.registry = registry;
+    this.embeddedEntities = embeddedEntities;
+  }
+
+  /**
+   * Writes the messages of the projection entities and the services of their repositories.
+   *
+   * @param protoPackage the package of the proto file
+   * @param projection   the projection
+   * @param repositories the repositories of the projection entities
+   * @throws IOException if the output cannot be written
+   */
+  public void write(String protoPackage, Projection projection,
+      Collection<Repository> repositories) throws IOException {
+    writer.write("syntax = \"proto3\";\n");
+    writer.write("import \"google/protobuf/timestamp.proto\";\n");
+    writer.write("import \"" + COMMON_PROTO + "\";\n\n");
+    writer.write("option java_multiple_files = true;\n");
+    writer.write("package " + protoPackage + ";\n\n");
+
+    var entities = projection.getEntities()
+        .values()
+        .stream()
+        .sorted(Comparator.comparing(ProjectionEntity::getName))
+        .toList();
+    for (ProjectionEntity entity : entities) {
+      writeEntity(protoPackage, entity);
+    }
+    var sortedRepositories = repositories.stream()
+        .sorted(Comparator.comparing(Repository::getEntityName))
+        .toList();
+    for (Repository repository : sortedRepositories) {
+      writeRepository(protoPackage, repository);
+    }
+  }
+
+  private void writeEntity(String protoPackage, ProjectionEntity entity) throws IOException {
+    var fields = new LinkedHashMap<String, String>();
+    for (ProjectionEntityField field : entity.getFields().values()) {
+      if (isObject(field.getType())) {
+        fields.put(field.getName() + "Id", "string");
+        String related = entityName(field.getType());
+        if (related != null && embeddedEntities.contains(related)) {
+          fields.put(field.getName(), related);
+        }
+      } else {
+        fields.put(field.getName(), protoType(field.getType()));
+      }
+    }
+    writeMessage(protoPackage, entity.getName(), fields);
+
+    String name = entity.getName();
+    writer.write("message " + name + "List {\n");
+    writer.write("int32 size = 1;\n");
+    writer.write("repeated " + name + " " + name.toLowerCase() + " = 2;\n");
+    writer.write("}\n\n");
+  }
+
+  private void writeRepository(String protoPackage, Repository repository) throws IOException {
+    String name = repository.getEntityName();
+    writer.write("/*\n * " + name + " Repository\n */\n");
+    var searches = repository.getSearches()
+        .values()
+        .stream()
+        .sorted(Comparator.comparing(RepositorySearch::getMethod))
+        .toList();
+    for (RepositorySearch search : searches) {
+      var fields = new LinkedHashMap<String, String>();
+      for (RepositorySearchParam param : search.getSearchParams().values()) {
+        fields.put(param.getName(), protoType(param.getType()));
+      }
+      fields.put("projection", "string");
+      writeMessage(protoPackage, name + "_" + search.getMethod() + "Search", fields);
+    }
+    writeMessage(protoPackage, name + "_findAllParam", Map.of());
+    if (repository.getTransactional()) {
+      writer.write("message " + name + "_saveParam {\n");
+      writer.write(name + " entity = 1;\n");
+      writer.write("}\n\n");
+      writer.write("message " + name + "_saveAllResult {\n");
+      writer.write("int32 size = 1;\n");
+      writer.write("repeated string id = 2;\n");
+      writer.write("}\n\n");
+    }
+    writer.write("service " + name + "GrpcRepository {\n");
+    for (RepositorySearch search : searches) {
+      String searchMessage = name + "_" + search.getMethod() + "Search";
+      writer.write("rpc " + search.getMethod() + "(" + searchMessage + ") returns (" + name
+          + "List);\n");
+      writer.write("rpc " + search.getMethod() + "Stream(" + searchMessage + ") returns (stream "
+          + name + ");\n");
+    }
+    writer.write("rpc findAll(" + name + "_findAllParam) returns (stream " + name + ");\n");
+    if (repository.getTransactional()) {
+      writer.write("rpc save(" + name + "_saveParam) returns (" + name + ");\n");
+      writer.write("rpc saveAll(stream " + name + "_saveParam) returns (" + name
+          + "_saveAllResult);\n");
+    }
+    writer.write("}\n\n");
+  }
+
+  private void writeMessage(String protoPackage, String name, Map<String, String> fields)
+      throws IOException {
+    var message = registry.assign(protoPackage + "." + name, fields);
+    writer.write("message " + name + " {\n");
+    if (!message.reserved().isEmpty()) {
+      writer.write("reserved " + String.join(", ",
+          message.reserved().stream().map(String::valueOf).toList()) + ";\n");
+    }
+    for (ProtoFieldRegistry.Field field : message.fields()) {
+      writer.write(field.type() + " " + field.name() + " = " + field.number() + ";\n");
+    }
+    writer.write("}\n\n");
+  }
+
+  static boolean isObject(String type) {
+    return !PRIMITIVE_TYPES.contains(type);
+  }
+
+  /**
+   * Returns the name of the entity implemented by the given class. Entity names may differ from
+   * the class name, and classes in different packages may share the same simple name.
+   *
+   * @param type the fully qualified name of the referenced class
+   * @return the entity name, or null if the class does not implement an entity
+   */
+  static String entityName(String type) {
+    Entity entity = ModelProvider.getInstance().getEntityByClassName(type);
+    return entity != null ? entity.getName() : null;
+  }
+
+  static String protoType(String type) {
+    switch (type) {
+      case "java.lang.String":
+      case "String":
+        return "string";
+      case "java.math.BigDecimal":
+        return DECIMAL_TYPE;
+      case "java.lang.Long":
+        return "int64";
+      case "java.util.Date":
+      case "java.sql.Timestamp":
+        return "google.protobuf.Timestamp";
+      case "java.lang.Boolean":
+        return "bool";
+      default:
+        return type;
+    }
+  }
+}
@@ -29,9 +29,14 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class TemplateUtil {
   private static final Logger log = LogManager.getLogger();
+  // Parsed templates are immutable and can be processed concurrently
+  private static final Configuration CONFIGURATION = getNewConfiguration();
+  private static final Map<String, freemarker.template.Template> TEMPLATES =
+      new ConcurrentHashMap<>();
 
   /**
    * Process a template with the given data and write the result to the given output
@@ -50,15 +55,20 @@ public class TemplateUtil {
   }
 
   /**
-   * Create a template implementation from the given file
+   * Returns the template implementation of the given file. Templates are parsed once and shared
+   * by all the generators.
    *
    * @param file
    */
   public static freemarker.template.Template createTemplateImplementation(String file) {
+    return TEMPLATES.computeIfAbsent(file, TemplateUtil::parseTemplate);
+  }
+
+  private static freemarker.template.Template parseTemplate(String file) {
     log.debug("createTemplateImplementation: template {}", file);
     try (var stream = new BufferedReader(new InputStreamReader(
         Objects.requireNonNull(TemplateUtil.class.getResourceAsStream(file))))) {
-      return new freemarker.template.Template("template", stream, getNewConfiguration());
+      return new freemarker.template.Template("template", stream, CONFIGURATION);
     } catch (IOException e) {
       throw new IllegalStateException(e);
     }
@@ -68,8 +78,8 @@ public class TemplateUtil {
    * Create a configuration for the template engine
    */
   private static Configuration getNewConfiguration() {
-    final Configuration cfg = new Configuration();
-    cfg.setObjectWrapper(new DefaultObjectWrapper());
+    final Configuration cfg = new Configuration(Configuration.VERSION_2_3_0);
+    cfg.setObjectWrapper(new DefaultObjectWrapper(Configuration.VERSION_2_3_0));
     return cfg;
   }
 
@@ -18,6 +18,8 @@ package com.etendorx.entities.entities;
 
 import com.etendorx.entities.mapper.lib.*;
 import com.etendorx.eventhandler.transaction.RestCallTransactionHandler;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import jakarta.transaction.Transactional;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validator;
@@ -27,6 +29,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.ArrayList;
@@ -50,6 +53,8 @@ public class BaseDTORepositoryDefault<T extends BaseSerializableObject, E extend
   @Value("${"$"}{post-upsert:true}")
   private boolean postUpsert;
   PostSyncService postSyncService;
+  @PersistenceContext
+  private EntityManager entityManager;
 
   public BaseDTORepositoryDefault(RestCallTransactionHandler transactionHandler,
       BaseDASRepository<T> repository, DTOConverter<T, E, F> converter,
@@ -76,6 +81,7 @@ public class BaseDTORepositoryDefault<T extends BaseSerializableObject, E extend
   @Transactional
   public Page<E> findAll(Pageable pageable) {
     Page<T> entities = repository.findAll(pageable);
+    fetch(entities);
     return entities.map(converter::convert);
   }
 
@@ -88,9 +94,34 @@ public class BaseDTORepositoryDefault<T extends BaseSerializableObject, E extend
   @Transactional
   public E findById(String id) {
     var entity = retriever.get(id);
+    if (entity != null) {
+      fetch(List.of(entity));
+    }
     return converter.convert(entity);
   }
 
+  /**
+   * Returns the associations read by the converter. Generated repositories return the paths of
+   * the projection fields, so they are loaded with one query instead of one per row.
+   *
+   * @return FetchPlan<T> The fetch plan, null if the projection reads no associations.
+   */
+  protected FetchPlan<T> getFetchPlan() {
+    return null;
+  }
+
+  /**
+   * Loads the associations of the fetch plan for the given entities
+   *
+   * @param entities
+   */
+  protected void fetch(Iterable<T> entities) {
+    FetchPlan<T> fetchPlan = getFetchPlan();
+    if (entityManager != null && fetchPlan != null) {
+      fetchPlan.load(entityManager, entities);
+    }
+  }
+
   /**
    * Save entity
    *
@@ -99,7 +130,18 @@ public class BaseDTORepositoryDefault<T extends BaseSerializableObject, E extend
    */
   @Override
   public E save(F dtoEntity) {
-    return performSaveOrUpdate(dtoEntity, true);
+    return converter.convert(performSaveOrUpdate(dtoEntity, true));
+  }
+
+  /**
+   * Save entity without converting the response
+   *
+   * @param dtoEntity
+   * @return the id of the saved entity
+   */
+  @Override
+  public String saveMinimal(F dtoEntity) {
+    return getId(performSaveOrUpdate(dtoEntity, true));
   }
 
   /**
@@ -110,19 +152,31 @@ public class BaseDTORepositoryDefault<T extends BaseSerializableObject, E extend
    */
   @Override
   public E update(F dtoEntity) {
-    return performSaveOrUpdate(dtoEntity, false);
+    return converter.convert(performSaveOrUpdate(dtoEntity, false));
+  }
+
+  /**
+   * Update entity without converting the response
+   *
+   * @param dtoEntity
+   * @return the id of the updated entity
+   */
+  @Override
+  public String updateMinimal(F dtoEntity) {
+    return getId(performSaveOrUpdate(dtoEntity, false));
   }
 
   /**
    * Perform save or update depending on isNew. This method is transactional and will rollback if
    * any exception is thrown. It will also check for duplicates if the entity has an id.
+   * The returned instance is the persisted entity, so the response is built from it instead of
+   * reading it again.
    *
    * @param dtoEntity
    * @param isNew
-   * @return
+   * @return the saved entity
    */
-  private E performSaveOrUpdate(F dtoEntity, boolean isNew) {
-    String newId;
+  private T performSaveOrUpdate(F dtoEntity, boolean isNew) {
     try {
       transactionHandler.begin();
       T existingEntity = null;
@@ -158,18 +212,24 @@ public class BaseDTORepositoryDefault<T extends BaseSerializableObject, E extend
         }
       }
       entity = repository.save(entity);
-      newId = converter.convert(entity).getId();
       externalIdService.add(entity.getTableId(), dtoEntity.getId(), entity);
       externalIdService.flush();
 
       entity = converter.convertList(dtoEntity, entity);
-      entity = repository.save(entity);
+      // Inside a transaction the managed entity and its cascaded lists are flushed on commit
+      if (!isManaged(entity)) {
+        entity = repository.save(entity);
+      }
       postSyncService.flush();
       externalIdService.flush();
+      if (isManaged(entity)) {
+        // Constraint and trigger errors must be raised here, on commit they escape this catch
+        entityManager.flush();
+      }
       transactionHandler.commit();
 
       triggerEventHandlers(entity, isNew);
-      return converter.convert(retriever.get(newId));
+      return entity;
     } catch (ResponseStatusException e) {
       throw e;
     } catch (Exception e) {
@@ -178,6 +238,22 @@ public class BaseDTORepositoryDefault<T extends BaseSerializableObject, E extend
     }
   }
 
+  private boolean isManaged(T entity) {
+    return entity != null && entityManager != null
+        && TransactionSynchronizationManager.isActualTransactionActive()
+        && entityManager.contains(entity);
+  }
+
+  private String getId(T entity) {
+    if (entityManager != null) {
+      Object id = entityManager.getEntityManagerFactory()
+          .getPersistenceUnitUtil()
+          .getIdentifier(entity);
+      return id != null ? id.toString() : null;
+    }
+    return converter.convert(entity).getId();
+  }
+
   private void triggerEventHandlers(T entity, boolean isNew) {
     if(defaultValuesHandler != null) {
       defaultValuesHandler.ifPresent(
@@ -15,6 +15,9 @@ import jakarta.persistence.Convert;
 import jakarta.validation.constraints.NotNull;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 import org.hibernate.annotations.Formula;
 import org.hibernate.type.YesNoConverter;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
@@ -33,7 +36,13 @@ import java.util.Date;
 @Setter
 @jakarta.persistence.Entity(name = "${entity.name}")
 @jakarta.persistence.Table(name = "${entity.tableName?lower_case}")
+<#if secondLevelCache?? && secondLevelCache.isCached(entity)>
 @jakarta.persistence.Cacheable
+@org.hibernate.annotations.Cache(usage = org.hibernate.annotations.CacheConcurrencyStrategy.${secondLevelCache.strategy}, region = "${entity.name}")
+</#if>
+<#if batchFetch?? && (batchFetch.getEntitySize(entity) > 0)>
+@BatchSize(size = ${batchFetch.getEntitySize(entity)?c})
+</#if>
 @EntityScan
 public class ${entity.simpleClassName} <#if noAuditTables?seq_contains(entity.tableName?lower_case)>implements BaseSerializableObject<#else>extends BaseRXObject</#if> {
 
@@ -112,6 +121,13 @@ public class ${entity.simpleClassName} <#if noAuditTables?seq_contains(entity.ta
         <#else>
             <#if p.oneToMany && p.targetEntity?? && !p.isId() && !p.targetEntity.className?ends_with("_ComputedColumns")>
     @jakarta.persistence.OneToMany(mappedBy = "${p.referencedProperty.name}", cascade = jakarta.persistence.CascadeType.ALL)
+              <#if batchFetch?? && (batchFetch.getCollectionSize(entity, p) > 0)>
+                <#if batchFetch.isSubselect()>
+    @Fetch(FetchMode.SUBSELECT)
+                <#else>
+    @BatchSize(size = ${batchFetch.getCollectionSize(entity, p)?c})
+                </#if>
+              </#if>
     @JsonIgnoreProperties("${p.referencedProperty.name}")
     java.util.List<${p.targetEntity.className}> ${p.name};
 
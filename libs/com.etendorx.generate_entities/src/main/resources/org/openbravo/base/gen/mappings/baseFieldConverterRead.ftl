@@ -16,10 +16,16 @@
     ${finalResultList?join("")}
   </#compress>
 </#macro>
-<#macro convertToGetMethod name path mappingType>
+<#macro convertToGetMethod name path mappingType conversion>
   <#assign result="entity">
   <#assign nullCheck="  if (entity != null && ">
-  <#list path?split(".") as part>
+  <#assign parts = path?split(".")>
+  <#if conversion == "REFERENCE_ID">
+    <#-- The id is read from the reference, which is not loaded -->
+    <#assign idPart = parts?last>
+    <#assign parts = parts[0..parts?size - 2]>
+  </#if>
+  <#list parts as part>
     <#if part?index != 0>
       <#assign nullCheck = nullCheck + " && ">
     </#if>
@@ -33,10 +39,24 @@
   <#if mappingType == "EM">
     <#assign result = name + ".convert(" + result + ")">
   </#if>
+  <#if conversion == "REFERENCE_ID">
+    <#assign result = "ReferenceIds.getId(" + result + ", reference -> reference.get" + idPart?cap_first + "())">
+  </#if>
   <#if name == "id">
   <#assign nullCheck = nullCheck + ") {\n      return " + result + ".toString();\n    } else {\n      return null;\n    }">
   <#else>
-  <#assign nullCheck = nullCheck + ") {\n      try {\n        return mappingUtils.handleBaseObject(" + result + ");\n      } catch (EntityNotFoundException e) {\n        return null;\n      }\n    }\n    return null;">
+  <#if conversion == "VALUE" || conversion == "REFERENCE_ID">
+    <#assign value = result>
+  <#elseif conversion == "DATE">
+    <#assign value = "mappingUtils.handleDate(" + result + ")">
+  <#elseif conversion == "IDENTIFIER">
+    <#assign value = result + ".get_identifier()">
+  <#elseif conversion == "IDENTIFIER_LIST">
+    <#assign value = "mappingUtils.handleIdentifiers(" + result + ")">
+  <#else>
+    <#assign value = "mappingUtils.handleBaseObject(" + result + ")">
+  </#if>
+  <#assign nullCheck = nullCheck + ") {\n      try {\n        return " + value + ";\n      } catch (EntityNotFoundException e) {\n        return null;\n      }\n    }\n    return null;">
   </#if>
   ${nullCheck}
 </#macro>
@@ -78,6 +98,7 @@ package com.etendorx.entities.mappings;
 
 import com.etendorx.entities.entities.mappings.MappingUtils;
 import com.etendorx.entities.mapper.lib.DTOReadMapping;
+import com.etendorx.entities.mapper.lib.ReferenceIds;
 import ${entity.table.thePackage.javaPackage}.${entity.table.className};
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -129,7 +150,12 @@ public class ${mappingPrefix}${entity.externalName}FieldConverterRead {
   <#if (field.fieldMapping == "DM" || field.fieldMapping == "EM") && field.entity.mappingType == "R">
   public <#if field.name == "id">String<#else>Object</#if> get<@toCamelCase field.name/>(${entity.table.className} entity) {
     // ${field.property}
-    <@convertToGetMethod field.name field.property field.fieldMapping/>
+    <#if field.fieldMapping == "EM">
+      <#assign conversion = "VALUE">
+    <#else>
+      <#assign conversion = genUtils.getReadConversion(entity, field)>
+    </#if>
+    <@convertToGetMethod field.name field.property field.fieldMapping conversion/>
   }
   </#if>
 
@@ -5,6 +5,7 @@ import com.etendorx.entities.entities.BaseDTORepositoryDefault;
 import com.etendorx.entities.jparepo.${entity.table.name}Repository;
 import com.etendorx.entities.mapper.lib.DefaultValuesHandler;
 import com.etendorx.entities.mapper.lib.ExternalIdService;
+import com.etendorx.entities.mapper.lib.FetchPlan;
 import com.etendorx.entities.mapper.lib.PostSyncService;
 import com.etendorx.eventhandler.transaction.RestCallTransactionHandler;
 import jakarta.validation.Validator;
@@ -19,6 +20,10 @@ import java.util.Optional;
 @Component("${mappingPrefix}${entity.externalName}DASRepository")
 public class ${mappingPrefix}${entity.externalName}DTORepositoryDefault extends BaseDTORepositoryDefault<${entity.table.className}, ${mappingPrefix}${entity.externalName}DTORead, ${mappingPrefix}${entity.externalName}DTOWrite> {
 
+  // Associations read by ${mappingPrefix}${entity.externalName}FieldConverterRead
+  private static final FetchPlan<${entity.table.className}> FETCH_PLAN = FetchPlan.of(${entity.table.className}.class<#list genUtils.getFetchPaths(entity) as path>,
+      "${path}"</#list>);
+
   public ${mappingPrefix}${entity.externalName}DTORepositoryDefault(
       RestCallTransactionHandler restCallTransactionHandler,
       ${entity.table.name}Repository repository,
@@ -33,9 +38,15 @@ public class ${mappingPrefix}${entity.externalName}DTORepositoryDefault extends
     super(restCallTransactionHandler, repository, converter, retriever, auditService, validator, externalIdService, defaultValuesHandler, postSyncService);
   }
 
+  @Override
+  protected FetchPlan<${entity.table.className}> getFetchPlan() {
+    return FETCH_PLAN;
+  }
+
   <#list modelProviderRX.getUniqueSearches(entity) as search>
   Page<${mappingPrefix}${entity.externalName}DTORead> ${search.method}(<#list search.params as param>${param.type} ${param.name}, </#list>Pageable page) {
       var repository = ((${entity.table.name}Repository) getRepository()).${search.method}(<#list search.params as param>${param.name}, </#list>page);
+      fetch(repository);
       return getConverter().convert(repository);
   }
   </#list>
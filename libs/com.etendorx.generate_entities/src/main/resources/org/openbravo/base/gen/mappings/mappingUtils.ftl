@@ -15,15 +15,21 @@
  */
 package com.etendorx.entities.entities.mappings;
 
+import com.etendorx.entities.entities.BaseSerializableObject;
 import org.springframework.stereotype.Component;
 
 import java.text.ParseException;
 import java.util.Date;
+import java.util.List;
 
 @Component
 public interface MappingUtils {
   Object handleBaseObject(Object obj);
 
+  Object handleDate(Date date);
+
+  List<String> handleIdentifiers(List<? extends BaseSerializableObject> objects);
+
   Date parseDate(String date);
 
   String constantValue(String id);
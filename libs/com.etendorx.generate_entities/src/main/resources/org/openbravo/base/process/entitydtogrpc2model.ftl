@@ -20,12 +20,10 @@
 
 package com.etendorx.integration.mobilesync.dto;
 
-import com.etendorx.das.grpc.common.${name};
+import com.etendorx.${projectionName}.grpc.${name};
+import com.etendorx.grpc.common.GrpcValues;
 import ${packageName}.${name}${projectionName?cap_first}Model;
 
-import java.math.BigDecimal;
-import java.util.Date;
-
 public class ${name}DTOGrpc2${projectionName?cap_first} {
     public static ${name}${projectionName?cap_first}Model apply(${name} u) {
         var p = new ${name}${projectionName?cap_first}Model();
@@ -33,13 +31,17 @@ public class ${name}DTOGrpc2${projectionName?cap_first} {
         <#if is_object(field.type)>
         p.set${field.name?cap_first}Id(u.get${field.name?cap_first}Id());
         <#elseif field.type == "java.util.Date">
-        p.set${field.name?cap_first}(new Date(u.get${field.name?cap_first}().getSeconds() * 1000));
+        if (u.has${field.name?cap_first}()) {
+            p.set${field.name?cap_first}(GrpcValues.toDate(u.get${field.name?cap_first}()));
+        }
         <#elseif field.type == "java.sql.Timestamp">
-        p.set${field.name?cap_first}(
-        new java.sql.Timestamp(u.get${field.name?cap_first}().getSeconds() * 1000)
-        );
+        if (u.has${field.name?cap_first}()) {
+            p.set${field.name?cap_first}(GrpcValues.toSqlTimestamp(u.get${field.name?cap_first}()));
+        }
         <#elseif field.type == "java.math.BigDecimal">
-        p.set${field.name?cap_first}(BigDecimal.valueOf(u.get${field.name?cap_first}()));
+        if (u.has${field.name?cap_first}()) {
+            p.set${field.name?cap_first}(GrpcValues.toBigDecimal(u.get${field.name?cap_first}()));
+        }
         <#else>
         p.set${field.name?cap_first}(u.get${field.name?cap_first}());
         </#if>
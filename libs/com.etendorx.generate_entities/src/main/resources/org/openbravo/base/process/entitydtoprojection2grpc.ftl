@@ -19,13 +19,10 @@
 
 package com.etendorx.integration.mobilesync.dto;
 
-import com.etendorx.das.grpc.common.${name};
+import com.etendorx.${projectionName}.grpc.${name};
+import com.etendorx.grpc.common.GrpcValues;
 import ${packageName}.${name}${projectionName?cap_first}Model;
 
-import java.math.BigDecimal;
-
-import static com.etendorx.integration.mobilesync.service.GEtendoSync.getTime;
-
 public class ${name}DTO${projectionName?cap_first}2Grpc {
   public static ${name} apply(${name}${projectionName?cap_first}Model u) {
     var p = ${name}.newBuilder();
@@ -36,17 +33,15 @@ public class ${name}DTO${projectionName?cap_first}2Grpc {
     }
     <#elseif field.type == "java.util.Date">
     if (u.get${field.name?cap_first}() != null) {
-      p.set${field.name?cap_first}(getTime(u.get${field.name?cap_first}()));
+      p.set${field.name?cap_first}(GrpcValues.toTimestamp(u.get${field.name?cap_first}()));
     }
     <#elseif field.type == "java.sql.Timestamp">
     if(u.get${field.name?cap_first}() != null) {
-      p.set${field.name?cap_first}(
-        com.google.protobuf.Timestamp.newBuilder().setSeconds(u.get${field.name?cap_first}().getTime()).build()
-      );
+      p.set${field.name?cap_first}(GrpcValues.toTimestamp(u.get${field.name?cap_first}()));
     }
     <#elseif field.type == "java.math.BigDecimal">
     if (u.get${field.name?cap_first}() != null) {
-      p.set${field.name?cap_first}(u.get${field.name?cap_first}().doubleValue());
+      p.set${field.name?cap_first}(GrpcValues.toDecimal(u.get${field.name?cap_first}()));
     }
     <#else>
     if (u.get${field.name?cap_first}() != null) {
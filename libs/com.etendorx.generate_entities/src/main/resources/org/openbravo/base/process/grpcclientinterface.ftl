@@ -25,9 +25,9 @@
 package com.etendorx.integration.mobilesync.service;
 
 import com.etendorx.clientrest.base.RequestModel;
-import com.etendorx.das.grpc.common.${name}GrpcRepositoryGrpc;
+import com.etendorx.${projectionName}.grpc.${name}GrpcRepositoryGrpc;
 <#list searches as search>
-import com.etendorx.das.grpc.common.${name}_${search.method}Search;
+import com.etendorx.${projectionName}.grpc.${name}_${search.method}Search;
 </#list>
 import com.etendorx.integration.mobilesync.dto.${name}DTOGrpc2${projectionName?cap_first};
 import io.grpc.ManagedChannel;
@@ -39,6 +39,7 @@ import org.springframework.stereotype.Component;
 import java.util.Date;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static com.etendorx.integration.mobilesync.service.GEtendoSync.getTime;
 
@@ -49,6 +50,14 @@ public interface ${name}${projectionName?cap_first}DasService {
         <#list search.params as p><#if p.type?? && p.type == "java.util.Date">Date ${p.name}<#else>${p.type} ${p.name}</#if><#if p?has_next>, </#if></#list>
     );
 
+    /**
+     * Streams the rows of the search as the server sends them. The stream must be closed to release
+     * the channel.
+     */
+    public Stream<${packageName}.${name}${projectionName?cap_first}Model> ${search.method}Stream(
+        <#list search.params as p><#if p.type?? && p.type == "java.util.Date">Date ${p.name}<#else>${p.type} ${p.name}</#if><#if p?has_next>, </#if></#list>
+    );
+
 </#list>
 <#if transactional>
     ${packageName}.${name}${projectionName?cap_first}Model save(
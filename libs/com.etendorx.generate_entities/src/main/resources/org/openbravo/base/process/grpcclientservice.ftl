@@ -24,10 +24,11 @@
 package com.etendorx.integration.mobilesync.service;
 
 import com.etendorx.clientrest.base.RequestModel;
-import com.etendorx.das.grpc.common.${name}GrpcRepositoryGrpc;
+import com.etendorx.${projectionName}.grpc.${name}GrpcRepositoryGrpc;
 <#list searches as search>
-import com.etendorx.das.grpc.common.${name}_${search.method}Search;
+import com.etendorx.${projectionName}.grpc.${name}_${search.method}Search;
 </#list>
+import com.etendorx.grpc.common.GrpcValues;
 import com.etendorx.integration.mobilesync.dto.${name}DTOGrpc2${projectionName?cap_first};
 import io.grpc.ManagedChannel;
 import io.grpc.ManagedChannelBuilder;
@@ -37,9 +38,11 @@ import org.springframework.stereotype.Component;
 
 import java.util.Date;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.stream.Collectors;
-
-import static com.etendorx.integration.mobilesync.service.GEtendoSync.getTime;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 @Component("${name}Grpc")
 public class ${name}${projectionName?cap_first}DasServiceGrpcImpl implements ${name}${projectionName?cap_first}DasService  {
@@ -66,7 +69,7 @@ public class ${name}${projectionName?cap_first}DasServiceGrpcImpl implements ${n
 
     var searchCreated = ${name}_${search.method}Search.newBuilder();
     <#list search.params as p>
-    searchCreated.set${p.name?cap_first}(<#if p.type?? && p.type == "java.util.Date">getTime(${p.name})<#else>${p.name}</#if>);
+    searchCreated.set${p.name?cap_first}(<#if p.type?? && p.type == "java.util.Date">GrpcValues.toTimestamp(${p.name})<#elseif p.type?? && p.type == "java.math.BigDecimal">GrpcValues.toDecimal(${p.name})<#else>${p.name}</#if>);
     </#list>
 
     var list = service.${search.method}(searchCreated.build());
@@ -75,6 +78,27 @@ public class ${name}${projectionName?cap_first}DasServiceGrpcImpl implements ${n
     return list.get${name?lower_case?cap_first}List().stream().map(${name}DTOGrpc2${projectionName?cap_first}::apply).collect(Collectors.toList());
   }
 
+  @Override
+  public Stream<${packageName}.${name}${projectionName?cap_first}Model> ${search.method}Stream(
+    <#list search.params as p><#if p.type?? && p.type == "java.util.Date">Date ${p.name}<#else>${p.type} ${p.name}</#if><#if p?has_next>, </#if></#list>
+  ) {
+    ManagedChannel channel = ManagedChannelBuilder.forAddress(getDasUrl(), getDasPort())
+      .usePlaintext()
+      .build();
+
+    ${name}GrpcRepositoryGrpc.${name}GrpcRepositoryBlockingStub service = ${name}GrpcRepositoryGrpc.newBlockingStub(channel);
+
+    var searchCreated = ${name}_${search.method}Search.newBuilder();
+    <#list search.params as p>
+    searchCreated.set${p.name?cap_first}(<#if p.type?? && p.type == "java.util.Date">GrpcValues.toTimestamp(${p.name})<#elseif p.type?? && p.type == "java.math.BigDecimal">GrpcValues.toDecimal(${p.name})<#else>${p.name}</#if>);
+    </#list>
+
+    var rows = service.${search.method}Stream(searchCreated.build());
+    return StreamSupport.stream(Spliterators.spliteratorUnknownSize(rows, Spliterator.ORDERED), false)
+      .map(${name}DTOGrpc2${projectionName?cap_first}::apply)
+      .onClose(channel::shutdown);
+  }
+
 </#list>
 <#if transactional>
   @Override
@@ -84,7 +108,7 @@ public class ${name}${projectionName?cap_first}DasServiceGrpcImpl implements ${n
       .build();
 
     ${name}GrpcRepositoryGrpc.${name}GrpcRepositoryBlockingStub service = ${name}GrpcRepositoryGrpc.newBlockingStub(channel);
-    var saveParam = com.etendorx.das.grpc.common.${name}_saveParam.newBuilder();
+    var saveParam = com.etendorx.${projectionName}.grpc.${name}_saveParam.newBuilder();
     saveParam.setEntity( com.etendorx.integration.mobilesync.dto.${name}DTO${projectionName?cap_first}2Grpc.apply(location) );
 
     var savedEntity = service.save(saveParam.build());
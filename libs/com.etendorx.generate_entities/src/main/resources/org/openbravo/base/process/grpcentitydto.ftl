@@ -19,10 +19,10 @@
 
 package com.etendorx.integration.mobilesync.dto;
 
-import com.etendorx.das.grpc.common.${name};
+import com.etendorx.${projectionName}.grpc.${name};
+import com.etendorx.grpc.common.GrpcValues;
 
 import java.util.HashMap;
-import java.util.Date;
 
 public class ${name}DTO {
     public static HashMap<String, Object> apply(${name} u) {
@@ -31,9 +31,11 @@ public class ${name}DTO {
     <#if is_object(field.type)>
         p.put("${field.name?lower_case}_id", u.get${field.name?cap_first}Id());
     <#elseif field.type == "java.util.Date">
-        p.put("${field.name?lower_case}", new Date(u.get${field.name?cap_first}().getSeconds()));
+        p.put("${field.name?lower_case}", GrpcValues.toDate(u.get${field.name?cap_first}()));
     <#elseif field.type == "java.sql.Timestamp">
-        p.put("${field.name?lower_case}", u.get${field.name?cap_first}());
+        p.put("${field.name?lower_case}", GrpcValues.toSqlTimestamp(u.get${field.name?cap_first}()));
+    <#elseif field.type == "java.math.BigDecimal">
+        p.put("${field.name?lower_case}", GrpcValues.toBigDecimal(u.get${field.name?cap_first}()));
     <#else>
         p.put("${field.name?lower_case}", u.get${field.name?cap_first}());
     </#if>
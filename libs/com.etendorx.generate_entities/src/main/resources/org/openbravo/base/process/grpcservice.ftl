@@ -1,6 +1,8 @@
 <#function is_object string>
     <#if string == "java.lang.String" || string == "String" || string == "java.math.BigDecimal" || string == "java.lang.Long" || string == "java.util.Date" || string == "java.lang.Boolean" || string == "java.sql.Timestamp"><#return false><#else><#return true></#if>
 </#function>
+<#macro to_proto type><#if type == "java.math.BigDecimal">GrpcValues.toDecimal(<#nested>)<#elseif type == "java.util.Date" || type == "java.sql.Timestamp">GrpcValues.toTimestamp(<#nested>)<#else><#nested></#if></#macro>
+<#macro from_proto type><#if type == "java.math.BigDecimal">GrpcValues.toBigDecimal(<#nested>)<#elseif type == "java.util.Date">GrpcValues.toDate(<#nested>)<#elseif type == "java.sql.Timestamp">GrpcValues.toSqlTimestamp(<#nested>)<#else><#nested></#if></#macro>
 <#function cast_par p>
     -- ${p.type} --
     <#if p.type == "java.util.Date">new Date(request.get${p.name?cap_first}().getSeconds())<#else>request.get${p.name?cap_first}()</#if>
@@ -25,11 +27,12 @@ package com.etendorx.das.grpcrepo;
 
 import com.etendorx.entities.jparepo.${name}Repository;
 import com.etendorx.${projectionName}.grpc.*;
-import com.google.protobuf.util.Timestamps;
+import com.etendorx.grpc.common.GrpcValues;
 import io.grpc.stub.StreamObserver;
 import lombok.extern.slf4j.Slf4j;
 import net.devh.boot.grpc.server.service.GrpcService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
 
 import java.math.BigDecimal;
 import java.util.Date;
@@ -40,52 +43,44 @@ public class ${name}GrpcService extends ${name}GrpcRepositoryGrpc.${name}GrpcRep
     @Autowired
     ${name}Repository repository;
 
-    private ${name} DTO(${name}.Builder modelBuilder, ${className} p) {
-        modelBuilder.clear();
+    @Autowired
+    GrpcStreamSupport streams;
+
+    private ${name} DTO(${className} p) {
+        return toMessage(p, true);
+    }
+
+    public static ${name} toMessage(${className} p, boolean embed) {
+        ${name}.Builder modelBuilder = ${name}.newBuilder();
     <#list fields as field>
         <#if field.projectedEntity??>
         <#if field.projectedEntity == "target">
         if(p.get${field.projectedField?cap_first}() != null)
-        <#if field.type == "java.math.BigDecimal">
-            modelBuilder.set${field.name?cap_first}(p.get${field.projectedField?cap_first}().doubleValue());
-        <#elseif field.type == "java.util.Date">
-            modelBuilder.set${field.name?cap_first}(Timestamps.fromMillis(p.get${field.name?cap_first}().getTime()));
-        <#else>
-            modelBuilder.set${field.name?cap_first}(p.get${field.projectedField?cap_first}());
-        </#if>
+            modelBuilder.set${field.name?cap_first}(<@to_proto field.type>p.get${field.projectedField?cap_first}()</@to_proto>);
         <#else>
         if(p.get${field.projectedEntity?cap_first}() != null && p.get${field.projectedEntity?cap_first}().get${field.projectedField?cap_first}() != null)
-        <#if field.type == "java.math.BigDecimal">
-            modelBuilder.set${field.name?cap_first}(p.get${field.projectedEntity?cap_first}().get${field.projectedField?cap_first}().doubleValue());
-        <#elseif field.type == "java.util.Date">
-            modelBuilder.set${field.name?cap_first}(Timestamps.fromMillis(p.get${field.projectedEntity?cap_first}().get${field.projectedField?cap_first}().getTime()));
-        <#else>
-            modelBuilder.set${field.name?cap_first}(p.get${field.projectedEntity?cap_first}().get${field.projectedField?cap_first}());
-        </#if>
+            modelBuilder.set${field.name?cap_first}(<@to_proto field.type>p.get${field.projectedEntity?cap_first}().get${field.projectedField?cap_first}()</@to_proto>);
         </#if>
         <#elseif is_object(field.type)>
-        if(p.get${field.name?cap_first}() != null)
+        if(p.get${field.name?cap_first}() != null) {
             modelBuilder.set${field.name?cap_first}Id(p.get${field.name?cap_first}().getId());
+            <#if embedEntities[field.type]??>
+            if(embed)
+                modelBuilder.set${field.name?cap_first}(${embedEntities[field.type]}GrpcService.toMessage(p.get${field.name?cap_first}(), false));
+            </#if>
+        }
         <#else>
         // field.value: <#if field.value??>${field.value}<#else>null</#if>
         <#if field.notNullValue??>
         if(${field.notNullValue?replace('#TARGET#', 'p')})
-        <#if field.type == "java.math.BigDecimal">
-            modelBuilder.set${field.name?cap_first}(p.get${field.value?cap_first}().doubleValue());
-        <#elseif field.type == "java.util.Date">
-            modelBuilder.set${field.name?cap_first}(Timestamps.fromMillis(p.get${field.value?cap_first}().getTime()));
+        <#if field.type == "java.math.BigDecimal" || field.type == "java.util.Date" || field.type == "java.sql.Timestamp">
+            modelBuilder.set${field.name?cap_first}(<@to_proto field.type>p.get${field.value?cap_first}()</@to_proto>);
         <#else>
             modelBuilder.set${field.name?cap_first}(p${field.value});
         </#if>
         <#else>
         if(p.get<#if field.value??>${field.value?cap_first}<#else>${field.name?cap_first}</#if>() != null)
-        <#if field.type == "java.math.BigDecimal">
-            modelBuilder.set${field.name?cap_first}(p.get<#if field.value??>${field.value?cap_first}<#else>${field.name?cap_first}</#if>().doubleValue());
-        <#elseif field.type == "java.util.Date">
-            modelBuilder.set${field.name?cap_first}(Timestamps.fromMillis(p.get<#if field.value??>${field.value?cap_first?cap_first}<#else>${field.name?cap_first}</#if>().getTime()));
-        <#else>
-            modelBuilder.set${field.name?cap_first}(p.get<#if field.value??>${field.value?cap_first}<#else>${field.name?cap_first}</#if>());
-        </#if>
+            modelBuilder.set${field.name?cap_first}(<@to_proto field.type>p.get<#if field.value??>${field.value?cap_first}<#else>${field.name?cap_first}</#if>()</@to_proto>);
         </#if>
         </#if>
     </#list>
@@ -109,17 +104,22 @@ public class ${name}GrpcService extends ${name}GrpcRepositoryGrpc.${name}GrpcRep
             }
             */
         <#else>
-            <#if field.type == "java.math.BigDecimal">
-                entity.set${field.name?cap_first}(new BigDecimal(entityModel.get${field.name?cap_first}()));
-            <#elseif field.type == "java.util.Date">
-                entity.set${field.name?cap_first}(new Date(entityModel.get${field.name?cap_first}().getSeconds()));
-            <#else>
-                entity.set${field.name?cap_first}(entityModel.get${field.name?cap_first}());
-            </#if>
+            entity.set${field.name?cap_first}(<@from_proto field.type>entityModel.get${field.name?cap_first}()</@from_proto>);
         </#if>
     </#list>
     return entity;
     }
+
+    private ${packageName}.${name} toEntity(${name} entityModel) {
+        ${packageName}.${name} entity = null;
+        if(!entityModel.getId().isEmpty()) {
+            entity = repository.findById(entityModel.getId()).orElse(null);
+        }
+        if(entity == null) {
+            entity = new ${packageName}.${name}();
+        }
+        return DTO(entity, entityModel);
+    }
 </#if>
 
 <#list searches as search>
@@ -128,37 +128,49 @@ public class ${name}GrpcService extends ${name}GrpcRepositoryGrpc.${name}GrpcRep
     <${name}List> responseObserver) {
         log.debug("Request " + request);
         ${name}List.Builder listBuilder = ${name}List.newBuilder();
-        ${name}.Builder modelBuilder = ${name}.newBuilder();
         repository.${search.method}(
-            <#list search.params as p><#if p.type?? && p.type == "java.util.Date">new Date(request.get${p.name?cap_first}().getSeconds())<#else>request.get${p.name?cap_first}()</#if>, </#list>
+            <#list search.params as p><@from_proto p.type!"">request.get${p.name?cap_first}()</@from_proto>, </#list>
             null
-        ).map( p -> DTO(modelBuilder, p))
+        ).map(this::DTO)
         .forEach(listBuilder::add${name?lower_case?cap_first});
         listBuilder.setSize(listBuilder.get${name?lower_case?cap_first}Count());
         responseObserver.onNext(listBuilder.build());
         responseObserver.onCompleted();
     }
 
+    @Override
+    public void ${search.method}Stream(${name}_${search.method}Search request, StreamObserver<${name}> responseObserver) {
+        log.debug("Request " + request);
+        streams.stream(pageable -> repository.${search.method}(
+            <#list search.params as p><@from_proto p.type!"">request.get${p.name?cap_first}()</@from_proto>, </#list>
+            pageable
+        ), Sort.by("id"), this::DTO, responseObserver);
+    }
+
     </#list>
+    @Override
+    public void findAll(${name}_findAllParam request, StreamObserver<${name}> responseObserver) {
+        streams.stream(pageable -> repository.findAll(pageable), Sort.by("id"), this::DTO, responseObserver);
+    }
+
 
     <#if transactional>
         @Override
         public void save(${name}_saveParam request, StreamObserver<${name}> responseObserver) {
-        ${packageName}.${name} entity = null;
-        if(request.getEntity().getId().compareTo("") == 0) {
-        var entityOpt = repository.findById(request.getEntity().getId());
-        if(entityOpt.isPresent()) {
-        entity = entityOpt.get();
-        }
-        }
-        if(entity == null) {
-        entity = new ${packageName}.${name}();
-        }
-        var savedEntity = repository.save( DTO(entity, request.getEntity()) );
-        responseObserver.onNext(DTO(${name}.newBuilder(), savedEntity));
+        var savedEntity = repository.save(toEntity(request.getEntity()));
+        responseObserver.onNext(DTO(savedEntity));
         responseObserver.onCompleted();
     }
 
+    @Override
+    public StreamObserver<${name}_saveParam> saveAll(StreamObserver<${name}_saveAllResult> responseObserver) {
+        var result = ${name}_saveAllResult.newBuilder();
+        return streams.batch(request -> toEntity(request.getEntity()),
+            entities -> repository.saveAll(entities),
+            saved -> result.addId(saved.getId()),
+            () -> result.setSize(result.getIdCount()).build(), responseObserver);
+    }
+
     </#if>
 
 }
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2022-2024  Futit Services SL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.etendoerp.etendorx.model;
+
+import com.etendoerp.etendorx.model.projection.ETRXEntityField;
+import com.etendoerp.etendorx.model.projection.ETRXProjection;
+import com.etendoerp.etendorx.model.projection.ETRXProjectionEntity;
+import com.etendoerp.etendorx.model.repository.ETRXEntitySearch;
+import com.etendoerp.etendorx.model.repository.ETRXRepository;
+import com.etendoerp.etendorx.model.repository.ETRXSearchParam;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openbravo.base.model.ModelObject;
+import org.openbravo.base.model.ModelProvider;
+import org.openbravo.base.model.Table;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ETRXMetadataSnapshotTest {
+
+  @TempDir
+  File tempDir;
+
+  @AfterEach
+  void tearDown() {
+    ModelProvider.setInstance(null);
+  }
+
+  private static List<String> ids(Collection<? extends ModelObject> values) {
+    return values.stream().map(ModelObject::getId).toList();
+  }
+
+  @Test
+  void readShouldKeepTheOrderOfFieldsAndSearchParams() {
+    Table table = mock(Table.class);
+    when(table.getId()).thenReturn("T1");
+    ModelProvider modelProvider = mock(ModelProvider.class);
+    when(modelProvider.getTables()).thenReturn(List.of(table));
+    ModelProvider.setInstance(modelProvider);
+
+    ETRXProjection projection = new ETRXProjection();
+    projection.setId("P1");
+    projection.setEntities(new LinkedHashSet<>());
+    ETRXProjectionEntity entity = new ETRXProjectionEntity();
+    entity.setId("E1");
+    entity.setTable(table);
+    entity.setProjection(projection);
+    entity.setFields(new LinkedHashSet<>());
+    projection.getEntities().add(entity);
+    // Mapped order is line desc, which is not the id order
+    for (String[] values : new String[][] { { "B", "30" }, { "C", "20" }, { "A", "10" } }) {
+      ETRXEntityField field = new ETRXEntityField();
+      field.setId(values[0]);
+      field.setLine(new BigDecimal(values[1]));
+      field.setEntity(entity);
+      entity.getFields().add(field);
+    }
+
+    ETRXRepository repository = new ETRXRepository();
+    repository.setId("R1");
+    repository.setTable(table);
+    repository.setSearches(new LinkedHashSet<>());
+    ETRXEntitySearch search = new ETRXEntitySearch();
+    search.setId("S1");
+    search.setMethod("findByNameAndCode");
+    search.setRepository(repository);
+    search.setParams(new LinkedHashSet<>());
+    repository.getSearches().add(search);
+    // Mapped order is line, which is not the id order
+    for (String[] values : new String[][] { { "Z", "10" }, { "Y", "20" } }) {
+      ETRXSearchParam param = new ETRXSearchParam();
+      param.setId(values[0]);
+      param.setLine(Long.valueOf(values[1]));
+      param.setEntitySearch(search);
+      search.getParams().add(param);
+    }
+
+    File file = new File(tempDir, "metadata.snapshot");
+    new ETRXMetadataSnapshot(List.of(projection), List.of(entity), List.of(repository)).write(file);
+    ETRXMetadataSnapshot snapshot = ETRXMetadataSnapshot.read(file);
+
+    ETRXProjectionEntity readEntity = snapshot.getProjectionEntitiesByTable("T1").get(0);
+    assertEquals(List.of("B", "C", "A"), ids(readEntity.getFields()));
+    ETRXEntitySearch readSearch = snapshot.getUniqueSearches("T1").get(0);
+    assertEquals(List.of("Z", "Y"), ids(readSearch.getParams()));
+  }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2022-2024  Futit Services SL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.etendorx.gen.generation;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openbravo.base.model.Entity;
+import org.openbravo.base.model.ModelProvider;
+import org.openbravo.base.model.Property;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EntityFingerprintTest {
+
+  private Entity entity;
+  private Property name;
+
+  @BeforeEach
+  void setUp() {
+    ModelProvider.setInstance(mock(ModelProvider.class));
+    name = mock(Property.class);
+    when(name.getName()).thenReturn("name");
+    when(name.getColumnName()).thenReturn("Name");
+    when(name.getTypeName()).thenReturn("java.lang.String");
+    when(name.getFieldLength()).thenReturn(60);
+    entity = mock(Entity.class);
+    when(entity.getName()).thenReturn("Product");
+    when(entity.getTableName()).thenReturn("M_Product");
+    when(entity.getClassName()).thenReturn("org.openbravo.model.common.plm.Product");
+    when(entity.getProperties()).thenReturn(List.of(name));
+  }
+
+  private static Map<String, Object> data(Object... keyValues) {
+    Map<String, Object> data = new LinkedHashMap<>();
+    for (int i = 0; i < keyValues.length; i += 2) {
+      data.put((String) keyValues[i], keyValues[i + 1]);
+    }
+    return data;
+  }
+
+  @Test
+  void unchangedInputsShouldKeepTheFingerprint() {
+    var first = new EntityFingerprint("path", true).of(entity,
+        data("packageName", "org.openbravo", "newClassName", "Product"));
+    var second = new EntityFingerprint("path", true).of(entity,
+        data("newClassName", "Product", "packageName", "org.openbravo"));
+
+    assertEquals(first, second);
+  }
+
+  @Test
+  void changedOptionsShouldChangeTheFingerprint() {
+    var data = data("packageName", "org.openbravo");
+
+    assertNotEquals(new EntityFingerprint("path", true).of(entity, data),
+        new EntityFingerprint("path", false).of(entity, data));
+  }
+
+  @Test
+  void changedDataShouldChangeTheFingerprint() {
+    var fingerprint = new EntityFingerprint("path", true);
+
+    assertNotEquals(fingerprint.of(entity, data("packageName", "org.openbravo")),
+        fingerprint.of(entity, data("packageName", "org.etendo")));
+  }
+
+  @Test
+  void changedPropertyShouldChangeTheFingerprint() {
+    var fingerprint = new EntityFingerprint("path", true);
+    var data = data("packageName", "org.openbravo");
+    var before = fingerprint.of(entity, data);
+
+    when(name.getFieldLength()).thenReturn(120);
+
+    assertNotEquals(before, fingerprint.of(entity, data));
+  }
+
+  @Test
+  void referencedEntitiesShouldBeFingerprintedByName() {
+    var fingerprint = new EntityFingerprint("path", true);
+    Entity other = mock(Entity.class);
+    when(other.getName()).thenReturn("Product");
+
+    assertEquals(fingerprint.of(entity, data("entity", entity)),
+        fingerprint.of(entity, data("entity", other)));
+  }
+}
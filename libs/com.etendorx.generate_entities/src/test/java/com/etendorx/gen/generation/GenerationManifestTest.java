@@ -0,0 +1,157 @@
+/*
+ * Copyright 2022-2024  Futit Services SL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.etendorx.gen.generation;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GenerationManifestTest {
+
+  private static final String CONTENT = "class A {}";
+
+  @TempDir
+  Path tempDir;
+
+  private final GenerationManifest manifest = GenerationManifest.getInstance();
+  private final AtomicInteger runs = new AtomicInteger();
+  private File manifestFile;
+  private File output;
+
+  @BeforeEach
+  void setUp() {
+    manifestFile = tempDir.resolve("manifest.properties").toFile();
+    output = tempDir.resolve("src/A.java").toFile();
+  }
+
+  private void run(String fingerprint, String content) throws IOException {
+    manifest.load(manifestFile, true);
+    manifest.generate("A", fingerprint, () -> {
+      runs.incrementAndGet();
+      try (Writer writer = manifest.getWriter(output)) {
+        writer.write(content);
+      }
+    });
+    manifest.save();
+  }
+
+  private String read() throws IOException {
+    return Files.readString(output.toPath(), StandardCharsets.UTF_8);
+  }
+
+  @Test
+  void unchangedUnitShouldBeSkipped() throws IOException {
+    run("f1", CONTENT);
+    run("f1", CONTENT);
+
+    assertEquals(1, runs.get());
+    assertEquals(CONTENT, read());
+  }
+
+  @Test
+  void changedFingerprintShouldRegenerate() throws IOException {
+    run("f1", CONTENT);
+    run("f2", "class A { int b; }");
+
+    assertEquals(2, runs.get());
+    assertEquals("class A { int b; }", read());
+  }
+
+  @Test
+  void modifiedOutputShouldRegenerate() throws IOException {
+    run("f1", CONTENT);
+    Files.writeString(output.toPath(), "class A { /* edited */ }");
+
+    run("f1", CONTENT);
+
+    assertEquals(2, runs.get());
+    assertEquals(CONTENT, read());
+  }
+
+  @Test
+  void deletedOutputShouldRegenerate() throws IOException {
+    run("f1", CONTENT);
+    Files.delete(output.toPath());
+
+    run("f1", CONTENT);
+
+    assertEquals(2, runs.get());
+    assertEquals(CONTENT, read());
+  }
+
+  @Test
+  void outputModifiedWithTheSameLengthShouldBeRewritten() throws IOException {
+    run("f1", CONTENT);
+    long written = output.lastModified();
+    Files.writeString(output.toPath(), "class B {}");
+    output.setLastModified(written - 10_000);
+
+    // The new fingerprint produces the same content, whose hash is the recorded one
+    run("f2", CONTENT);
+
+    assertEquals(2, runs.get());
+    assertEquals(CONTENT, read());
+  }
+
+  @Test
+  void unchangedContentShouldKeepTheFileTimestamp() throws IOException {
+    run("f1", CONTENT);
+    long timestamp = output.lastModified() - 10_000;
+    output.setLastModified(timestamp);
+
+    run("f2", CONTENT);
+
+    assertEquals(2, runs.get());
+    assertEquals(timestamp, output.lastModified());
+  }
+
+  @Test
+  void manifestWithoutStampsShouldRegenerate() throws IOException {
+    Files.createDirectories(output.toPath().getParent());
+    Files.writeString(output.toPath(), CONTENT);
+    String path = output.getPath().replace("\\", "\\\\");
+    Files.write(manifestFile.toPath(), List.of(
+        "output." + path + "=" + GenerationManifest.hash(CONTENT.getBytes(StandardCharsets.UTF_8)),
+        "unit.A=f1", "unit.A.outputs=" + path), StandardCharsets.UTF_8);
+
+    run("f1", CONTENT);
+    run("f1", CONTENT);
+
+    assertEquals(1, runs.get());
+    assertEquals(CONTENT, read());
+  }
+
+  @Test
+  void nonIncrementalRunShouldRegenerate() throws IOException {
+    run("f1", CONTENT);
+    manifest.load(manifestFile, false);
+    manifest.generate("A", "f1", runs::incrementAndGet);
+
+    assertEquals(2, runs.get());
+  }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2022-2024  Futit Services SL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.etendorx.gen.generation;
+
+import org.junit.jupiter.api.Test;
+import org.openbravo.base.model.AccessLevel;
+import org.openbravo.base.model.Entity;
+
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SecondLevelCacheTablesTest {
+
+  private static Entity entity(String tableName, AccessLevel accessLevel) {
+    Entity entity = new Entity();
+    entity.setTableName(tableName);
+    entity.setAccessLevel(accessLevel);
+    return entity;
+  }
+
+  private static SecondLevelCacheTables cache(String tables) {
+    Properties properties = new Properties();
+    properties.setProperty(SecondLevelCacheTables.TABLES_PROPERTY, tables);
+    return new SecondLevelCacheTables(properties);
+  }
+
+  @Test
+  void tablesWithRowsOfTwoClientsShouldNotBeCached() {
+    // AD_User holds the rows of client A and client B, the DAS filters select the rows of the
+    // client of the request and a cached row would be served to the other client
+    var cache = cache("ad_user,ad_client,ad_org");
+
+    assertFalse(cache.isCached(entity("AD_User", AccessLevel.CLIENT_ORGANIZATION)));
+    assertFalse(cache.isCached(entity("AD_Client", AccessLevel.SYSTEM_CLIENT)));
+    assertFalse(cache.isCached(entity("AD_Org", AccessLevel.ALL)));
+  }
+
+  @Test
+  void systemTablesShouldBeCachedForAllClients() {
+    var cache = cache("ad_table");
+
+    assertTrue(cache.isCached(entity("AD_Table", AccessLevel.SYSTEM)));
+    assertFalse(cache.isCached(entity("AD_Column", AccessLevel.SYSTEM)));
+  }
+
+  @Test
+  void viewsShouldNotBeCached() {
+    var view = entity("AD_Table_V", AccessLevel.SYSTEM);
+    view.setView(true);
+
+    assertFalse(cache("ad_table_v").isCached(view));
+  }
+
+  @Test
+  void defaultTablesShouldNotIncludeClientTables() {
+    var cache = new SecondLevelCacheTables(new Properties());
+
+    assertTrue(cache.isCached(entity("AD_Table", AccessLevel.SYSTEM)));
+    assertFalse(cache.isCached(entity("AD_User", AccessLevel.SYSTEM)));
+    assertFalse(cache.isCached(entity("AD_Client", AccessLevel.SYSTEM)));
+  }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2022-2024  Futit Services SL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.etendorx.gen.generation.utils;
+
+import com.etendoerp.etendorx.model.projection.ETRXEntityField;
+import com.etendoerp.etendorx.model.projection.ETRXProjectionEntity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openbravo.base.model.Entity;
+import org.openbravo.base.model.ModelProvider;
+import org.openbravo.base.model.Property;
+import org.openbravo.base.model.Table;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CodeGenerationUtilsTest {
+
+  private ETRXProjectionEntity projectionEntity;
+
+  @BeforeEach
+  void setUp() {
+    Entity order = mock(Entity.class);
+    Entity shipmentPackage = mock(Entity.class);
+    Entity businessPartner = mock(Entity.class);
+    Property packageProperty = association("package", shipmentPackage);
+    Property businessPartnerProperty = association("businessPartner", businessPartner);
+    when(order.getProperty("package", false)).thenReturn(packageProperty);
+    when(shipmentPackage.getProperty("businessPartner", false)).thenReturn(
+        businessPartnerProperty);
+
+    ModelProvider modelProvider = mock(ModelProvider.class);
+    when(modelProvider.getEntity("Order")).thenReturn(order);
+    ModelProvider.setInstance(modelProvider);
+
+    Table table = mock(Table.class);
+    when(table.getName()).thenReturn("Order");
+    ETRXEntityField field = mock(ETRXEntityField.class);
+    when(field.getFieldMapping()).thenReturn("EM");
+    when(field.getProperty()).thenReturn("package.businessPartner");
+    projectionEntity = mock(ETRXProjectionEntity.class);
+    when(projectionEntity.getTable()).thenReturn(table);
+    when(projectionEntity.getFields()).thenReturn(Set.of(field));
+  }
+
+  @AfterEach
+  void tearDown() {
+    ModelProvider.setInstance(null);
+  }
+
+  private static Property association(String name, Entity target) {
+    Property property = new Property();
+    property.setName(name);
+    property.setTargetEntity(target);
+    return property;
+  }
+
+  @Test
+  void getFetchPathsShouldUseTheJavaNameOfReservedWords() {
+    List<String> paths = CodeGenerationUtils.getInstance().getFetchPaths(projectionEntity);
+
+    assertEquals(List.of("pkg.businessPartner"), paths);
+  }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2022-2024  Futit Services SL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.etendorx.gen.process;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProtoFieldRegistryTest {
+
+  private static final String MESSAGE = "com.etendorx.test.grpc.Product";
+
+  @TempDir
+  Path tempDir;
+
+  private ProtoFieldRegistry newRegistry() {
+    return ProtoFieldRegistry.load(tempDir.resolve(ProtoFieldRegistry.FILE_NAME).toFile());
+  }
+
+  private static Map<String, String> fields(String... nameAndType) {
+    var fields = new LinkedHashMap<String, String>();
+    for (int i = 0; i < nameAndType.length; i += 2) {
+      fields.put(nameAndType[i], nameAndType[i + 1]);
+    }
+    return fields;
+  }
+
+  private static List<String> numbered(ProtoFieldRegistry.Message message) {
+    return message.fields()
+        .stream()
+        .map(field -> field.type() + " " + field.name() + " = " + field.number())
+        .toList();
+  }
+
+  @Test
+  void newFieldsAreNumberedInTheGivenOrder() {
+    var registry = newRegistry();
+
+    var message = registry.assign(MESSAGE,
+        fields("name", "string", "id", "string", "projection", "string"));
+
+    assertEquals(List.of("string name = 1", "string id = 2", "string projection = 3"),
+        numbered(message));
+    assertEquals(List.of(), message.reserved());
+  }
+
+  @Test
+  void addedFieldKeepsTheNumbersOfTheOtherFields() {
+    var registry = newRegistry();
+    registry.assign(MESSAGE, fields("name", "string", "id", "string"));
+
+    var message = registry.assign(MESSAGE,
+        fields("active", "bool", "name", "string", "id", "string"));
+
+    assertEquals(List.of("string name = 1", "string id = 2", "bool active = 3"),
+        numbered(message));
+    assertEquals(List.of(MESSAGE + ": +name", MESSAGE + ": +id", MESSAGE + ": +active"),
+        registry.drainChanges());
+  }
+
+  @Test
+  void removedFieldIsRetiredAndReserved() {
+    var registry = newRegistry();
+    registry.assign(MESSAGE, fields("name", "string", "id", "string", "active", "bool"));
+
+    var message = registry.assign(MESSAGE, fields("name", "string", "active", "bool"));
+    assertEquals(List.of("string name = 1", "bool active = 3"), numbered(message));
+    assertEquals(List.of(2), message.reserved());
+
+    message = registry.assign(MESSAGE, fields("name", "string", "active", "bool", "id", "string"));
+    assertEquals(List.of("string name = 1", "bool active = 3", "string id = 4"),
+        numbered(message));
+    assertEquals(List.of(2), message.reserved());
+  }
+
+  @Test
+  void retypedFieldGetsANewNumber() {
+    var registry = newRegistry();
+    registry.assign(MESSAGE, fields("name", "string", "price", "double"));
+    registry.drainChanges();
+
+    var message = registry.assign(MESSAGE,
+        fields("name", "string", "price", ProtoSchemaWriter.DECIMAL_TYPE));
+
+    assertEquals(List.of("string name = 1", ProtoSchemaWriter.DECIMAL_TYPE + " price = 3"),
+        numbered(message));
+    assertEquals(List.of(2), message.reserved());
+    assertEquals(
+        List.of(MESSAGE + ": ~price double -> " + ProtoSchemaWriter.DECIMAL_TYPE),
+        registry.drainChanges());
+  }
+
+  @Test
+  void savedRegistryIsLoadedBack() throws IOException {
+    var registry = newRegistry();
+    registry.assign(MESSAGE, fields("name", "string", "id", "string", "active", "bool"));
+    registry.assign(MESSAGE, fields("name", "string", "active", "bool"));
+    registry.save();
+    File file = tempDir.resolve(ProtoFieldRegistry.FILE_NAME).toFile();
+    String saved = Files.readString(file.toPath(), StandardCharsets.UTF_8);
+
+    var loaded = ProtoFieldRegistry.load(file);
+    var message = loaded.assign(MESSAGE, fields("name", "string", "active", "bool"));
+
+    assertEquals(List.of("string name = 1", "bool active = 3"), numbered(message));
+    assertEquals(List.of(2), message.reserved());
+    assertEquals(List.of(), loaded.drainChanges());
+    loaded.save();
+    assertEquals(saved, Files.readString(file.toPath(), StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void unchangedRegistryIsNotWritten() {
+    var registry = newRegistry();
+    registry.assign(MESSAGE, Map.of());
+    registry.save();
+
+    assertFalse(tempDir.resolve(ProtoFieldRegistry.FILE_NAME).toFile().exists());
+  }
+
+  @Test
+  void numbersAreSeededFromExistingProtoFiles() throws IOException {
+    Files.writeString(tempDir.resolve("com.etendorx.test.proto"), String.join("\n",
+        "syntax = \"proto3\";",
+        "package com.etendorx.test.old;",
+        "message Product {",
+        "string id = 2;",
+        "string name = 1;",
+        "double price = 3;",
+        "}",
+        "message ProductList {",
+        "int32 size = 1;",
+        "repeated Product product = 2;",
+        "}",
+        ""), StandardCharsets.UTF_8);
+    var registry = newRegistry();
+
+    assertEquals(2, registry.seed(tempDir.toFile()));
+    var message = registry.assign(MESSAGE, fields("name", "string", "id", "string", "price",
+        ProtoSchemaWriter.DECIMAL_TYPE, "active", "bool"));
+
+    assertEquals(List.of("string name = 1", "string id = 2",
+        ProtoSchemaWriter.DECIMAL_TYPE + " price = 4", "bool active = 5"), numbered(message));
+    assertEquals(List.of(3), message.reserved());
+    registry.save();
+    assertTrue(tempDir.resolve(ProtoFieldRegistry.FILE_NAME).toFile().isFile());
+  }
+
+  @Test
+  void seededReservedNumbersAreNotReused() throws IOException {
+    Files.writeString(tempDir.resolve("test.proto"), String.join("\n",
+        "package com.etendorx.test.grpc;",
+        "message Product {",
+        "reserved 2, 3;",
+        "string name = 1;",
+        "}",
+        "message Other {",
+        "string name = 7;",
+        "}",
+        ""), StandardCharsets.UTF_8);
+    var registry = newRegistry();
+    registry.seed(tempDir.toFile());
+
+    var message = registry.assign(MESSAGE, fields("name", "string", "id", "string"));
+
+    assertEquals(List.of("string name = 1", "string id = 4"), numbered(message));
+    assertEquals(List.of(2, 3), message.reserved());
+  }
+}
@@ -17,12 +17,15 @@
 package com.etendorx.lib.kafka;
 
 import com.etendorx.lib.kafka.model.AsyncProcessExecution;
+import com.etendorx.lib.kafka.model.AsyncProcessMessage;
 import com.etendorx.lib.kafka.model.AsyncProcessState;
+import com.etendorx.lib.kafka.model.PayloadEncoding;
 import com.etendorx.lib.kafka.topology.AsyncProcessTopology;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.util.Date;
@@ -35,9 +38,24 @@ import static com.etendorx.lib.kafka.model.JsonSerde.OBJECT_MAPPER;
 public class KafkaMessageUtil {
 
   private final KafkaProducer<String, String> producer;
+  private final PayloadEncoding payloadEncoding;
 
-  public KafkaMessageUtil(KafkaProducer<String, String> producer) {
+  public KafkaMessageUtil(KafkaProducer<String, String> producer,
+      @Value("${asyncprocess.message.encoding:JSON}") PayloadEncoding payloadEncoding) {
     this.producer = producer;
+    this.payloadEncoding = payloadEncoding;
+  }
+
+  /**
+   * Creates a message for a process, encoding the payload with the configured encoding.
+   *
+   * @param runId       The id of the process run.
+   * @param processName The destination process.
+   * @param body        The payload of the message.
+   * @return AsyncProcessMessage The encoded message.
+   */
+  public AsyncProcessMessage createMessage(String runId, String processName, Object body) {
+    return AsyncProcessMessage.of(runId, processName, body, payloadEncoding);
   }
 
   private void save(AsyncProcessExecution asyncProcessExecution) {
@@ -55,16 +73,48 @@ public class KafkaMessageUtil {
   }
 
   @SneakyThrows
-  private static String toJson(AsyncProcessExecution asyncProcessExecution) {
-    return OBJECT_MAPPER.writeValueAsString(asyncProcessExecution);
+  private static String toJson(Object value) {
+    return OBJECT_MAPPER.writeValueAsString(value);
   }
 
+  /**
+   * Saves the execution of a process storing the string form of the body as params.
+   *
+   * @param bodyChanges The body of the execution.
+   * @param mid         The id of the process run.
+   * @param description The description of the execution.
+   * @param state       The state of the process.
+   * @deprecated The params grow with the size of the body, use
+   * {@link #saveProcessExecution(AsyncProcessMessage, String, AsyncProcessState)} to store the
+   * payload reference instead.
+   */
+  @Deprecated
   public void saveProcessExecution(Object bodyChanges, String mid, String description,
       AsyncProcessState state) {
+    saveExecution(bodyChanges != null ? bodyChanges.toString() : "", mid, description, state);
+  }
+
+  /**
+   * Saves the execution of a message. The execution only keeps the payload reference, the
+   * message is stored once per payload in the payload topic, where the reference is resolved.
+   *
+   * @param message     The message sent to the process.
+   * @param description The description of the execution.
+   * @param state       The state of the process.
+   */
+  public void saveProcessExecution(AsyncProcessMessage message, String description,
+      AsyncProcessState state) {
+    send(producer, new ProducerRecord<>(AsyncProcessTopology.ASYNC_PROCESS_PAYLOAD,
+        message.getPayloadReference(), toJson(message)));
+    saveExecution(message.getPayloadReference(), message.getRunId(), description, state);
+  }
+
+  private void saveExecution(String paramsReference, String mid, String description,
+      AsyncProcessState state) {
     AsyncProcessExecution process = AsyncProcessExecution.builder()
         .asyncProcessId(mid)
         .description(description)
-        .params(bodyChanges != null ? bodyChanges.toString() : "")
+        .params(paramsReference)
         .time(new Date())
         .state(state)
         .build();
@@ -38,6 +38,8 @@ public class AsyncProcessExecution implements Comparable<AsyncProcessExecution>
   private String asyncProcessId;
   private String log;
   private String description;
+  // Reference to the message payload (sha256 of the encoded bytes), not the payload itself,
+  // resolved through the async-process-payload topic
   private String params;
   @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "dd-MM-yyyy HH:mm:ss:SSS")
   private Date time;
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2022-2024  Futit Services SL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.etendorx.lib.kafka.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.SneakyThrows;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Objects;
+
+/**
+ * Typed envelope of a message sent to an async process.
+ * The payload is encoded only once, the same bytes are sent to the process topic and used to
+ * compute the payload reference stored in the executions, so the execution records do not
+ * grow with the size of the payload. The envelope travels to the process as the message
+ * headers, see {@link #toMessage()}, and is kept in the payload topic so the reference can be
+ * resolved back to the payload.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public final class AsyncProcessMessage {
+
+  public static final String REFERENCE_PREFIX = "sha256:";
+  public static final String RUN_ID_HEADER = "etendorx_runId";
+  public static final String PROCESS_NAME_HEADER = "etendorx_processName";
+  public static final String PAYLOAD_REFERENCE_HEADER = "etendorx_payloadReference";
+
+  @Getter
+  private final String runId;
+  @Getter
+  private final String processName;
+  @Getter
+  private final PayloadEncoding encoding;
+  private final byte[] payload;
+  @Getter
+  private final String payloadReference;
+
+  private AsyncProcessMessage(String runId, String processName, PayloadEncoding encoding,
+      byte[] payload) {
+    this.runId = runId;
+    this.processName = processName;
+    this.encoding = encoding;
+    this.payload = payload;
+    this.payloadReference = REFERENCE_PREFIX + sha256(payload);
+  }
+
+  /**
+   * Creates the message encoding the payload with the given encoding.
+   *
+   * @param runId       The id of the process run, used as message key.
+   * @param processName The destination process.
+   * @param body        The payload of the message.
+   * @param encoding    The wire encoding of the payload.
+   * @return AsyncProcessMessage The encoded message.
+   */
+  public static AsyncProcessMessage of(String runId, String processName, Object body,
+      PayloadEncoding encoding) {
+    return new AsyncProcessMessage(runId, processName, encoding, encoding.encode(body));
+  }
+
+  /**
+   * Creates the message from its serialized form, the payload reference is computed again from
+   * the payload bytes.
+   *
+   * @param runId       The id of the process run.
+   * @param processName The destination process.
+   * @param encoding    The wire encoding of the payload.
+   * @param payload     The encoded payload.
+   * @return AsyncProcessMessage The message.
+   */
+  @JsonCreator
+  public static AsyncProcessMessage fromPayload(@JsonProperty("runId") String runId,
+      @JsonProperty("processName") String processName,
+      @JsonProperty("encoding") PayloadEncoding encoding,
+      @JsonProperty("payload") byte[] payload) {
+    Objects.requireNonNull(payload, "payload");
+    return new AsyncProcessMessage(runId, processName,
+        encoding == null ? PayloadEncoding.JSON : encoding, payload.clone());
+  }
+
+  /**
+   * Reads the envelope of a message received by a process.
+   *
+   * @param message The message built by {@link #toMessage()}.
+   * @return AsyncProcessMessage The envelope of the message.
+   * @throws IllegalArgumentException if the payload does not match the payload reference header.
+   */
+  public static AsyncProcessMessage fromMessage(Message<byte[]> message) {
+    MessageHeaders headers = message.getHeaders();
+    Object contentType = headers.get(MessageHeaders.CONTENT_TYPE);
+    AsyncProcessMessage asyncMessage = fromPayload(header(headers, RUN_ID_HEADER),
+        header(headers, PROCESS_NAME_HEADER),
+        PayloadEncoding.fromContentType(contentType == null ? null : contentType.toString()),
+        message.getPayload());
+    String reference = header(headers, PAYLOAD_REFERENCE_HEADER);
+    if (reference != null && !reference.equals(asyncMessage.getPayloadReference())) {
+      throw new IllegalArgumentException(
+          "Payload does not match the reference " + reference + " of run " + asyncMessage.runId);
+    }
+    return asyncMessage;
+  }
+
+  private static String header(MessageHeaders headers, String name) {
+    Object value = headers.get(name);
+    if (value instanceof byte[] bytes) {
+      return new String(bytes, StandardCharsets.UTF_8);
+    }
+    return value == null ? null : value.toString();
+  }
+
+  /**
+   * Builds the message sent to the process: the encoded payload with the envelope as headers.
+   *
+   * @return Message<byte[]> The message to send.
+   */
+  public Message<byte[]> toMessage() {
+    return MessageBuilder.withPayload(getPayload())
+        .setHeader(MessageHeaders.CONTENT_TYPE, getContentType())
+        .setHeader(RUN_ID_HEADER, runId)
+        .setHeader(PROCESS_NAME_HEADER, processName)
+        .setHeader(PAYLOAD_REFERENCE_HEADER, payloadReference)
+        .build();
+  }
+
+  /**
+   * Returns a copy of the encoded payload, the message keeps its own bytes so the payload
+   * reference always matches them.
+   *
+   * @return byte[] The encoded payload.
+   */
+  public byte[] getPayload() {
+    return payload.clone();
+  }
+
+  @JsonIgnore
+  public String getContentType() {
+    return encoding.getContentType();
+  }
+
+  public <T> T getBody(Class<T> type) {
+    return encoding.decode(payload, type);
+  }
+
+  @SneakyThrows
+  private static String sha256(byte[] bytes) {
+    return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+  }
+}
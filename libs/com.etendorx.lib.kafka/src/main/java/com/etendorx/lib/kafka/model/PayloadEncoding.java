@@ -0,0 +1,69 @@
+/*
+ * Copyright 2022-2024  Futit Services SL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.etendorx.lib.kafka.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import lombok.SneakyThrows;
+
+/**
+ * Wire encodings supported for the async process message payloads.
+ * JSON keeps the format expected by the existing process consumers, SMILE is the binary
+ * equivalent of JSON and produces smaller messages that are faster to parse.
+ */
+public enum PayloadEncoding {
+
+  JSON("application/json", JsonSerde.OBJECT_MAPPER),
+  SMILE("application/x-jackson-smile", new ObjectMapper(new SmileFactory()));
+
+  private final String contentType;
+  private final ObjectMapper objectMapper;
+
+  PayloadEncoding(String contentType, ObjectMapper objectMapper) {
+    this.contentType = contentType;
+    this.objectMapper = objectMapper;
+  }
+
+  public String getContentType() {
+    return contentType;
+  }
+
+  @SneakyThrows
+  public byte[] encode(Object payload) {
+    return objectMapper.writeValueAsBytes(payload);
+  }
+
+  @SneakyThrows
+  public <T> T decode(byte[] bytes, Class<T> type) {
+    return objectMapper.readValue(bytes, type);
+  }
+
+  /**
+   * Returns the encoding of a content type, defaults to JSON when it is unknown.
+   *
+   * @param contentType The content type of the message.
+   * @return PayloadEncoding The matching encoding.
+   */
+  public static PayloadEncoding fromContentType(String contentType) {
+    for (PayloadEncoding encoding : values()) {
+      if (encoding.contentType.equals(contentType)) {
+        return encoding;
+      }
+    }
+    return JSON;
+  }
+}
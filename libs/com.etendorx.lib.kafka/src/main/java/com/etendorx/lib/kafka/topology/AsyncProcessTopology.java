@@ -18,6 +18,7 @@ package com.etendorx.lib.kafka.topology;
 
 import com.etendorx.lib.kafka.model.AsyncProcess;
 import com.etendorx.lib.kafka.model.AsyncProcessExecution;
+import com.etendorx.lib.kafka.model.AsyncProcessMessage;
 import com.etendorx.lib.kafka.model.AsyncProcessState;
 import com.etendorx.lib.kafka.model.JsonSerde;
 import org.apache.kafka.common.serialization.Serde;
@@ -37,6 +38,12 @@ public class AsyncProcessTopology {
   public static final String ASYNC_PROCESS = "async-process";
   public static final String REJECTED_PROCESS = "rejected-process";
   public static final String ASYNC_PROCESS_STORE = "async-process-store";
+  /**
+   * Compacted topic with the messages sent to the processes keyed by payload reference, the
+   * execution params point to its records.
+   */
+  public static final String ASYNC_PROCESS_PAYLOAD = "async-process-payload";
+  public static final String ASYNC_PROCESS_PAYLOAD_STORE = "async-process-payload-store";
 
   public static void buildTopology(StreamsBuilder streamsBuilder) {
     Serde<AsyncProcessExecution> asyncProcessExecutionSerdes = new JsonSerde<>(
@@ -59,5 +66,10 @@ public class AsyncProcessTopology {
         .filter((key, value) -> value.getState() == AsyncProcessState.REJECTED)
         .to(REJECTED_PROCESS, Produced.with(Serdes.String(), asyncProcessExecutionSerdes));
 
+    streamsBuilder.table(ASYNC_PROCESS_PAYLOAD,
+        Materialized.<String, AsyncProcessMessage, KeyValueStore<Bytes, byte[]>>as(
+                ASYNC_PROCESS_PAYLOAD_STORE)
+            .withKeySerde(Serdes.String())
+            .withValueSerde(new JsonSerde<>(AsyncProcessMessage.class)));
   }
 }
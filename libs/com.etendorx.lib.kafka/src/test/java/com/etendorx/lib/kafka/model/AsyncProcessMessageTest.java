@@ -0,0 +1,111 @@
+/*
+ * Copyright 2022-2024  Futit Services SL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.etendorx.lib.kafka.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AsyncProcessMessageTest {
+
+  private static final Map<String, Object> BODY = Map.of("id", "A1", "amount", 10);
+
+  @ParameterizedTest
+  @EnumSource(PayloadEncoding.class)
+  void bodyShouldRoundTrip(PayloadEncoding encoding) {
+    var message = AsyncProcessMessage.of("run", "process", BODY, encoding);
+
+    assertEquals(BODY, message.getBody(Map.class));
+    assertEquals(encoding.getContentType(), message.getContentType());
+    assertArrayEquals(encoding.encode(BODY), message.getPayload());
+  }
+
+  @Test
+  void payloadReferenceShouldDependOnThePayload() {
+    var message = AsyncProcessMessage.of("run", "process", BODY, PayloadEncoding.JSON);
+    var same = AsyncProcessMessage.of("other", "process", BODY, PayloadEncoding.JSON);
+    var different = AsyncProcessMessage.of("run", "process", Map.of("id", "A2"),
+        PayloadEncoding.JSON);
+
+    assertTrue(message.getPayloadReference().startsWith(AsyncProcessMessage.REFERENCE_PREFIX));
+    assertEquals(message.getPayloadReference(), same.getPayloadReference());
+    assertNotEquals(message.getPayloadReference(), different.getPayloadReference());
+  }
+
+  @Test
+  void getPayloadShouldReturnACopy() {
+    var message = AsyncProcessMessage.of("run", "process", BODY, PayloadEncoding.JSON);
+
+    message.getPayload()[0] = 0;
+
+    assertEquals(BODY, message.getBody(Map.class));
+    assertArrayEquals(PayloadEncoding.JSON.encode(BODY), message.getPayload());
+  }
+
+  @ParameterizedTest
+  @EnumSource(PayloadEncoding.class)
+  void messageShouldCarryTheEnvelope(PayloadEncoding encoding) {
+    var message = AsyncProcessMessage.of("run", "process", BODY, encoding);
+
+    var wire = message.toMessage();
+    var received = AsyncProcessMessage.fromMessage(wire);
+
+    assertEquals(encoding.getContentType(), wire.getHeaders().get(MessageHeaders.CONTENT_TYPE));
+    assertEquals("run", received.getRunId());
+    assertEquals("process", received.getProcessName());
+    assertEquals(encoding, received.getEncoding());
+    assertEquals(message.getPayloadReference(), received.getPayloadReference());
+    assertEquals(BODY, received.getBody(Map.class));
+  }
+
+  @Test
+  void fromMessageShouldRejectAPayloadNotMatchingTheReference() {
+    var message = AsyncProcessMessage.of("run", "process", BODY, PayloadEncoding.JSON);
+    var tampered = MessageBuilder.fromMessage(message.toMessage())
+        .setHeader(AsyncProcessMessage.PAYLOAD_REFERENCE_HEADER,
+            AsyncProcessMessage.REFERENCE_PREFIX + "0")
+        .build();
+
+    assertThrows(IllegalArgumentException.class, () -> AsyncProcessMessage.fromMessage(tampered));
+  }
+
+  @ParameterizedTest
+  @EnumSource(PayloadEncoding.class)
+  void jsonShouldRoundTrip(PayloadEncoding encoding) {
+    var message = AsyncProcessMessage.of("run", "process", BODY, encoding);
+    var serde = new JsonSerde<>(AsyncProcessMessage.class);
+
+    var stored = serde.deserializer().deserialize("topic",
+        serde.serializer().serialize("topic", message));
+
+    assertEquals(message.getRunId(), stored.getRunId());
+    assertEquals(message.getProcessName(), stored.getProcessName());
+    assertEquals(encoding, stored.getEncoding());
+    assertEquals(message.getPayloadReference(), stored.getPayloadReference());
+    assertArrayEquals(message.getPayload(), stored.getPayload());
+  }
+}
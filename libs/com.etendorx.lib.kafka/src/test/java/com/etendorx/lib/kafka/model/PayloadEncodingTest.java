@@ -0,0 +1,50 @@
+/*
+ * Copyright 2022-2024  Futit Services SL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.etendorx.lib.kafka.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PayloadEncodingTest {
+
+  @ParameterizedTest
+  @EnumSource(PayloadEncoding.class)
+  void encodeAndDecodeShouldRoundTrip(PayloadEncoding encoding) {
+    Map<String, Object> body = Map.of("name", "Order", "lines", 3, "paid", true);
+
+    byte[] bytes = encoding.encode(body);
+
+    assertEquals(body, encoding.decode(bytes, Map.class));
+  }
+
+  @ParameterizedTest
+  @EnumSource(PayloadEncoding.class)
+  void fromContentTypeShouldReturnTheEncoding(PayloadEncoding encoding) {
+    assertEquals(encoding, PayloadEncoding.fromContentType(encoding.getContentType()));
+  }
+
+  @Test
+  void fromContentTypeShouldDefaultToJson() {
+    assertEquals(PayloadEncoding.JSON, PayloadEncoding.fromContentType("text/plain"));
+    assertEquals(PayloadEncoding.JSON, PayloadEncoding.fromContentType(null));
+  }
+}
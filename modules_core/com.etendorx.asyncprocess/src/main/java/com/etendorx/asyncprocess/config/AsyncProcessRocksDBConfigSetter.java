@@ -0,0 +1,80 @@
+/*
+ * Copyright 2022-2024  Futit Services SL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.etendorx.asyncprocess.config;
+
+import org.apache.kafka.streams.state.RocksDBConfigSetter;
+import org.rocksdb.BlockBasedTableConfig;
+import org.rocksdb.Cache;
+import org.rocksdb.LRUCache;
+import org.rocksdb.Options;
+
+import java.util.Map;
+
+/**
+ * RocksDB configuration for the async process state stores.
+ * All the stores of the application share a single block cache, so the memory used by RocksDB
+ * is bounded by the configured cache size instead of growing with the number of stores.
+ * The values are read from the Kafka Streams configuration, see {@link StreamConfiguration}.
+ */
+public class AsyncProcessRocksDBConfigSetter implements RocksDBConfigSetter {
+
+  public static final String BLOCK_CACHE_SIZE_CONFIG = "rocksdb.block.cache.size";
+  public static final String WRITE_BUFFER_SIZE_CONFIG = "rocksdb.write.buffer.size";
+  public static final String MAX_WRITE_BUFFERS_CONFIG = "rocksdb.max.write.buffers";
+
+  public static final long DEFAULT_BLOCK_CACHE_SIZE = 32L * 1024L * 1024L;
+  public static final long DEFAULT_WRITE_BUFFER_SIZE = 8L * 1024L * 1024L;
+  public static final int DEFAULT_MAX_WRITE_BUFFERS = 3;
+
+  private static Cache blockCache;
+
+  @Override
+  public void setConfig(String storeName, Options options, Map<String, Object> configs) {
+    long blockCacheSize = getLong(configs, BLOCK_CACHE_SIZE_CONFIG, DEFAULT_BLOCK_CACHE_SIZE);
+    long writeBufferSize = getLong(configs, WRITE_BUFFER_SIZE_CONFIG, DEFAULT_WRITE_BUFFER_SIZE);
+    int maxWriteBuffers = (int) getLong(configs, MAX_WRITE_BUFFERS_CONFIG,
+        DEFAULT_MAX_WRITE_BUFFERS);
+
+    BlockBasedTableConfig tableConfig = (BlockBasedTableConfig) options.tableFormatConfig();
+    tableConfig.setBlockCache(getBlockCache(blockCacheSize));
+    tableConfig.setCacheIndexAndFilterBlocks(true);
+    options.setTableFormatConfig(tableConfig);
+    options.setWriteBufferSize(writeBufferSize);
+    options.setMaxWriteBufferNumber(maxWriteBuffers);
+  }
+
+  @Override
+  public void close(String storeName, Options options) {
+    // The block cache is shared among all the stores and lives as long as the application
+  }
+
+  private static synchronized Cache getBlockCache(long size) {
+    if (blockCache == null) {
+      blockCache = new LRUCache(size);
+    }
+    return blockCache;
+  }
+
+  private static long getLong(Map<String, Object> configs, String key, long defaultValue) {
+    Object value = configs.get(key);
+    if (value == null) {
+      return defaultValue;
+    }
+    return value instanceof Number ? ((Number) value).longValue() : Long.parseLong(
+        value.toString().trim());
+  }
+}
@@ -69,8 +69,38 @@ public class StreamConfiguration {
   @Value("${bootstrap_server:kafka:9092}")
   private String bootstrapServer;
 
+  // The tuning profile, LATENCY or THROUGHPUT.
+  @Value("${kafka.streams.profile:LATENCY}")
+  private StreamsTuningProfile tuningProfile;
+
+  // Overrides of the tuning profile values, a negative value keeps the profile default.
+  @Value("${kafka.streams.cache.max.bytes:-1}")
+  private long cacheMaxBytes;
+
+  @Value("${kafka.streams.commit.interval.ms:-1}")
+  private long commitIntervalMs;
+
+  @Value("${kafka.streams.num.threads:-1}")
+  private int numStreamThreads;
+
+  // RocksDB memory settings shared by all the state stores.
+  @Value("${kafka.streams.rocksdb.block.cache.size:33554432}")
+  private long rocksDbBlockCacheSize;
+
+  @Value("${kafka.streams.rocksdb.write.buffer.size:8388608}")
+  private long rocksDbWriteBufferSize;
+
+  @Value("${kafka.streams.rocksdb.max.write.buffers:3}")
+  private int rocksDbMaxWriteBuffers;
+
+  // Wipes the local state on startup, forcing a full restore from the changelog topics.
+  @Value("${kafka.streams.state.cleanup:false}")
+  private boolean cleanUpState;
+
   /**
    * This method is used to set up the Kafka Streams configuration.
+   * The record cache, commit interval and thread count come from the selected
+   * {@link StreamsTuningProfile} unless they are explicitly configured.
    *
    * @return Properties The Kafka Streams configuration.
    */
@@ -83,7 +113,19 @@ public class StreamConfiguration {
     properties.put(StreamsConfig.DEFAULT_VALUE_SERDE_CLASS_CONFIG, Serdes.String().getClass());
     properties.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
     properties.put(ConsumerConfig.ALLOW_AUTO_CREATE_TOPICS_CONFIG, "true");
-    properties.put(StreamsConfig.CACHE_MAX_BYTES_BUFFERING_CONFIG, "0");
+    properties.put(StreamsConfig.STATESTORE_CACHE_MAX_BYTES_CONFIG,
+        cacheMaxBytes >= 0 ? cacheMaxBytes : tuningProfile.getCacheMaxBytes());
+    properties.put(StreamsConfig.COMMIT_INTERVAL_MS_CONFIG,
+        commitIntervalMs >= 0 ? commitIntervalMs : tuningProfile.getCommitIntervalMs());
+    properties.put(StreamsConfig.NUM_STREAM_THREADS_CONFIG,
+        numStreamThreads > 0 ? numStreamThreads : tuningProfile.getNumStreamThreads());
+    properties.put(StreamsConfig.ROCKSDB_CONFIG_SETTER_CLASS_CONFIG,
+        AsyncProcessRocksDBConfigSetter.class);
+    properties.put(AsyncProcessRocksDBConfigSetter.BLOCK_CACHE_SIZE_CONFIG, rocksDbBlockCacheSize);
+    properties.put(AsyncProcessRocksDBConfigSetter.WRITE_BUFFER_SIZE_CONFIG,
+        rocksDbWriteBufferSize);
+    properties.put(AsyncProcessRocksDBConfigSetter.MAX_WRITE_BUFFERS_CONFIG,
+        rocksDbMaxWriteBuffers);
     properties.put(StreamsConfig.APPLICATION_SERVER_CONFIG, kafkaStreamsHostInfo);
     properties.put(StreamsConfig.STATE_DIR_CONFIG, kafkaStreamsStateDir);
     return properties;
@@ -91,6 +133,8 @@ public class StreamConfiguration {
 
   /**
    * This method is used to create and start the Kafka Streams instance.
+   * The local state is kept between restarts, so only the changelog records written since the
+   * last checkpoint are restored. Set kafka.streams.state.cleanup to force a full rebuild.
    *
    * @param streamConfiguration The Kafka Streams configuration.
    * @return KafkaStreams The Kafka Streams instance.
@@ -104,7 +148,9 @@ public class StreamConfiguration {
     var topology = streamsBuilder.build();
     var kafkaStreams = new KafkaStreams(topology, streamConfiguration);
 
-    kafkaStreams.cleanUp();
+    if (cleanUpState) {
+      kafkaStreams.cleanUp();
+    }
     kafkaStreams.start();
 
     Runtime.getRuntime().addShutdownHook(new Thread(kafkaStreams::close));
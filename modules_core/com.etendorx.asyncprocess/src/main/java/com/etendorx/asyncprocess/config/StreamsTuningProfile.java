@@ -0,0 +1,52 @@
+/*
+ * Copyright 2022-2024  Futit Services SL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.etendorx.asyncprocess.config;
+
+/**
+ * Named Kafka Streams tuning profiles for the async process application.
+ * Each profile defines the record cache size, the commit interval and the number of stream
+ * threads. Any of these values can still be overridden individually by configuration.
+ */
+public enum StreamsTuningProfile {
+
+  // Small cache and short commit interval, updates reach the SSE clients almost immediately.
+  LATENCY(1024L * 1024L, 100L, 1),
+  // Large cache and long commit interval, consecutive updates of a process are compacted.
+  THROUGHPUT(64L * 1024L * 1024L, 10_000L, Runtime.getRuntime().availableProcessors());
+
+  private final long cacheMaxBytes;
+  private final long commitIntervalMs;
+  private final int numStreamThreads;
+
+  StreamsTuningProfile(long cacheMaxBytes, long commitIntervalMs, int numStreamThreads) {
+    this.cacheMaxBytes = cacheMaxBytes;
+    this.commitIntervalMs = commitIntervalMs;
+    this.numStreamThreads = numStreamThreads;
+  }
+
+  public long getCacheMaxBytes() {
+    return cacheMaxBytes;
+  }
+
+  public long getCommitIntervalMs() {
+    return commitIntervalMs;
+  }
+
+  public int getNumStreamThreads() {
+    return numStreamThreads;
+  }
+}
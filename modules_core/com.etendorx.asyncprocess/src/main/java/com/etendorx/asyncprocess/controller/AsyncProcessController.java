@@ -16,16 +16,17 @@
 
 package com.etendorx.asyncprocess.controller;
 
+import com.etendorx.asyncprocess.service.AsyncProcessEventHub;
 import com.etendorx.asyncprocess.service.AsyncProcessService;
 import com.etendorx.lib.kafka.KafkaMessageUtil;
 import com.etendorx.lib.kafka.model.AsyncProcess;
 import com.etendorx.lib.kafka.model.AsyncProcessExecution;
+import com.etendorx.lib.kafka.model.AsyncProcessMessage;
 import com.etendorx.lib.kafka.model.AsyncProcessState;
 import com.etendorx.utils.auth.key.context.UserContext;
 import io.micrometer.common.util.StringUtils;
 import io.netty.util.internal.StringUtil;
 import io.swagger.v3.oas.annotations.Operation;
-import jakarta.annotation.PostConstruct;
 import jakarta.annotation.Resource;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cloud.stream.function.StreamBridge;
@@ -39,9 +40,7 @@ import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.messaging.handler.annotation.SendTo;
 import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.web.bind.annotation.*;
-import reactor.core.publisher.ConnectableFlux;
 import reactor.core.publisher.Flux;
-import reactor.kafka.receiver.KafkaReceiver;
 
 import java.nio.charset.StandardCharsets;
 import java.util.*;
@@ -57,20 +56,18 @@ public class AsyncProcessController {
   private final AsyncProcessService asyncProcessService;
   private final KafkaMessageUtil kafkaMessageUtil;
   private final StreamBridge streamBridge;
-  private final KafkaReceiver<String, AsyncProcess> kafkaReceiver;
-  private ConnectableFlux<ServerSentEvent<AsyncProcess>> eventPublisher;
+  private final AsyncProcessEventHub eventHub;
 
   @Resource(name = "userContextBean")
   private UserContext currentUser;
 
   public AsyncProcessController(AsyncProcessService asyncProcessService,
       KafkaMessageUtil kafkaMessageUtil, StreamBridge streamBridge,
-      KafkaReceiver<String, AsyncProcess> kafkaReceiver) {
+      AsyncProcessEventHub eventHub) {
     this.asyncProcessService = asyncProcessService;
     this.kafkaMessageUtil = kafkaMessageUtil;
     this.streamBridge = streamBridge;
-
-    this.kafkaReceiver = kafkaReceiver;
+    this.eventHub = eventHub;
   }
 
   @Operation(summary = "Get current status of execution")
@@ -90,6 +87,19 @@ public class AsyncProcessController {
     return ResponseEntity.ok(asyncProcessService.getLatestAsyncProcesses());
   }
 
+  @Operation(summary = "Get the payload of an execution from its params reference")
+  @GetMapping(value = "/payload/{payloadReference}")
+  public ResponseEntity<byte[]> getPayload(
+      @PathVariable("payloadReference") String payloadReference) {
+    AsyncProcessMessage message = asyncProcessService.getPayload(payloadReference);
+    if (message == null) {
+      return ResponseEntity.notFound().build();
+    }
+    return ResponseEntity.ok()
+        .contentType(MediaType.parseMediaType(message.getContentType()))
+        .body(message.getPayload());
+  }
+
   @SendTo("/topic/message")
   public AsyncProcess broadcastMessage(@Payload AsyncProcess textMessageDTO) {
     return textMessageDTO;
@@ -151,11 +161,13 @@ public class AsyncProcessController {
       session.put("run_id", uuid);
     }
 
-    kafkaMessageUtil.saveProcessExecution(bodyChanges, uuid,
+    AsyncProcessMessage asyncMessage = kafkaMessageUtil.createMessage(uuid, processName,
+        bodyChanges);
+    kafkaMessageUtil.saveProcessExecution(asyncMessage,
         messageDescription == null ? "Sync message received" : messageDescription,
         AsyncProcessState.ACCEPTED);
 
-    Message<Object> message = MessageBuilder.withPayload(bodyChanges)
+    Message<byte[]> message = MessageBuilder.fromMessage(asyncMessage.toMessage())
         .setHeader(KafkaHeaders.KEY, uuid.getBytes(StandardCharsets.UTF_8))
         .build();
     if (!streamBridge.send(processName, message)) {
@@ -165,27 +177,12 @@ public class AsyncProcessController {
     return uuid;
   }
 
-  @PostConstruct
-  public void init() {
-    eventPublisher = kafkaReceiver.receive()
-        .map(consumerRecord -> ServerSentEvent.builder(consumerRecord.value()).build())
-        .publish();
-    eventPublisher.connect();
-  }
-
   @GetMapping(value = "/sse/{processId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
   Flux<ServerSentEvent<AsyncProcess>> getEventsFlux(@PathVariable String processId) {
-    return eventPublisher.filter(
-            asyncProcessServerSentEvent -> asyncProcessServerSentEvent.data().getId().equals(processId))
-        .map(ServerSentEvent::data)
-        .map(this::clientEventToServerSentEvent)
+    return eventHub.subscribe(processId)
         .doOnSubscribe(subscription -> log.info("[ON_SUBSCRIBE]"))
         .doOnCancel(() -> log.info("[ON_CANCEL]"))
         .doOnError(e -> log.error("[ON_ERROR= {}]", e.getMessage()))
         .doFinally(signalType -> log.info("[FINALLY] [SIGNAL_TYPE= {}]", signalType.name()));
   }
-
-  private ServerSentEvent<AsyncProcess> clientEventToServerSentEvent(AsyncProcess event) {
-    return ServerSentEvent.<AsyncProcess>builder().data(event).build();
-  }
 }
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2022-2024  Futit Services SL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.etendorx.asyncprocess.service;
+
+import com.etendorx.lib.kafka.model.AsyncProcess;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.kafka.receiver.KafkaReceiver;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This service fans out the async process records received from Kafka to the server sent event
+ * subscribers. Subscribers are registered by process id, so every record is only delivered to the
+ * clients that are listening to that process. Each subscriber has its own bounded buffer, and
+ * the configured {@link OverflowPolicy} decides what happens when a slow client fills it.
+ */
+@Service
+@Slf4j
+public class AsyncProcessEventHub {
+
+  // Comment sent on the heartbeat frames to keep idle connections open.
+  public static final String HEARTBEAT = "heartbeat";
+
+  /**
+   * Policy applied when the buffer of a subscriber is full.
+   */
+  public enum OverflowPolicy {
+    // Discards the oldest buffered event to make room for the new one.
+    DROP_OLDEST,
+    // Discards the new event and keeps the buffered ones.
+    DROP_LATEST,
+    // Completes the subscriber stream, the client is expected to reconnect.
+    DISCONNECT
+  }
+
+  private final KafkaReceiver<String, AsyncProcess> kafkaReceiver;
+  private final Map<String, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+  private final AtomicInteger activeSubscribers = new AtomicInteger();
+  private final Counter deliveredEvents;
+  private final Counter droppedEvents;
+  private final int bufferSize;
+  private final Duration heartbeatInterval;
+  private final OverflowPolicy overflowPolicy;
+  private Disposable receiverSubscription;
+
+  /**
+   * Constructor for the AsyncProcessEventHub class.
+   *
+   * @param kafkaReceiver     The receiver of the async process topic.
+   * @param meterRegistry     The registry where the hub metrics are published.
+   * @param bufferSize        The maximum number of pending events per subscriber.
+   * @param heartbeatInterval The interval between heartbeat frames.
+   * @param overflowPolicy    The policy applied when a subscriber buffer is full.
+   */
+  public AsyncProcessEventHub(KafkaReceiver<String, AsyncProcess> kafkaReceiver,
+      MeterRegistry meterRegistry,
+      @Value("${asyncprocess.sse.buffer-size:256}") int bufferSize,
+      @Value("${asyncprocess.sse.heartbeat-interval:15s}") Duration heartbeatInterval,
+      @Value("${asyncprocess.sse.overflow-policy:DROP_OLDEST}") OverflowPolicy overflowPolicy) {
+    this.kafkaReceiver = kafkaReceiver;
+    this.bufferSize = bufferSize;
+    this.heartbeatInterval = heartbeatInterval;
+    this.overflowPolicy = overflowPolicy;
+    Gauge.builder("asyncprocess.sse.subscribers", activeSubscribers, AtomicInteger::get)
+        .description("Active server sent event subscribers")
+        .register(meterRegistry);
+    Gauge.builder("asyncprocess.sse.processes", subscribers, Map::size)
+        .description("Processes with at least one active subscriber")
+        .register(meterRegistry);
+    this.deliveredEvents = Counter.builder("asyncprocess.sse.events.delivered")
+        .description("Events queued to server sent event subscribers")
+        .register(meterRegistry);
+    this.droppedEvents = Counter.builder("asyncprocess.sse.events.dropped")
+        .description("Events discarded because a subscriber buffer was full")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Starts consuming the async process topic. Records are dispatched from the receiver thread,
+   * so emissions to the subscriber sinks are always serialized.
+   */
+  @PostConstruct
+  public void init() {
+    receiverSubscription = kafkaReceiver.receive()
+        .subscribe(consumerRecord -> dispatch(consumerRecord.value()),
+            e -> log.error("[RECEIVER_ERROR= {}]", e.getMessage(), e));
+  }
+
+  @PreDestroy
+  public void destroy() {
+    if (receiverSubscription != null) {
+      receiverSubscription.dispose();
+    }
+  }
+
+  /**
+   * Returns the stream of events of a process. The stream includes a heartbeat frame every
+   * configured interval and unregisters itself when the client cancels.
+   *
+   * @param processId The id of the process to listen to.
+   * @return Flux<ServerSentEvent<AsyncProcess>> The events of the process.
+   */
+  public Flux<ServerSentEvent<AsyncProcess>> subscribe(String processId) {
+    return Flux.defer(() -> {
+      var subscriber = new Subscriber(processId, bufferSize);
+      register(subscriber);
+      Flux<ServerSentEvent<AsyncProcess>> heartbeats = Flux.interval(heartbeatInterval)
+          .map(tick -> ServerSentEvent.<AsyncProcess>builder().comment(HEARTBEAT).build());
+      return subscriber.sink.asFlux()
+          .map(event -> ServerSentEvent.<AsyncProcess>builder().data(event).build())
+          .publish(events -> Flux.merge(events, heartbeats.takeUntilOther(events.then())))
+          .doFinally(signalType -> unregister(subscriber));
+    });
+  }
+
+  /**
+   * Delivers a record to the subscribers of its process.
+   *
+   * @param asyncProcess The received record.
+   */
+  void dispatch(AsyncProcess asyncProcess) {
+    if (asyncProcess == null || asyncProcess.getId() == null) {
+      return;
+    }
+    Set<Subscriber> targets = subscribers.get(asyncProcess.getId());
+    if (targets == null) {
+      return;
+    }
+    for (Subscriber subscriber : targets) {
+      offer(subscriber, asyncProcess);
+    }
+  }
+
+  private void offer(Subscriber subscriber, AsyncProcess asyncProcess) {
+    Sinks.EmitResult result = subscriber.sink.tryEmitNext(asyncProcess);
+    if (result == Sinks.EmitResult.FAIL_OVERFLOW) {
+      droppedEvents.increment();
+      switch (overflowPolicy) {
+        case DROP_OLDEST -> {
+          subscriber.buffer.poll();
+          result = subscriber.sink.tryEmitNext(asyncProcess);
+        }
+        case DISCONNECT -> {
+          log.warn("[SLOW_SUBSCRIBER] [PROCESS_ID= {}]", subscriber.processId);
+          subscriber.sink.tryEmitComplete();
+        }
+        default -> {
+          // DROP_LATEST, the new event is discarded
+        }
+      }
+    }
+    if (result.isSuccess()) {
+      deliveredEvents.increment();
+    }
+  }
+
+  private void register(Subscriber subscriber) {
+    subscribers.compute(subscriber.processId, (key, current) -> {
+      Set<Subscriber> set = current == null ? ConcurrentHashMap.newKeySet() : current;
+      set.add(subscriber);
+      return set;
+    });
+    activeSubscribers.incrementAndGet();
+  }
+
+  private void unregister(Subscriber subscriber) {
+    subscribers.computeIfPresent(subscriber.processId, (key, current) -> {
+      current.remove(subscriber);
+      return current.isEmpty() ? null : current;
+    });
+    activeSubscribers.decrementAndGet();
+  }
+
+  /**
+   * A subscriber of a process, backed by a unicast sink over a bounded buffer.
+   */
+  private static final class Subscriber {
+    private final String processId;
+    private final ArrayBlockingQueue<AsyncProcess> buffer;
+    private final Sinks.Many<AsyncProcess> sink;
+
+    private Subscriber(String processId, int bufferSize) {
+      this.processId = processId;
+      this.buffer = new ArrayBlockingQueue<>(bufferSize);
+      this.sink = Sinks.many().unicast().onBackpressureBuffer(buffer);
+    }
+  }
+}
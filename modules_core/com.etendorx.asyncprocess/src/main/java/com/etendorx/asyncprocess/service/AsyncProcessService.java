@@ -17,6 +17,7 @@
 package com.etendorx.asyncprocess.service;
 
 import com.etendorx.lib.kafka.model.AsyncProcess;
+import com.etendorx.lib.kafka.model.AsyncProcessMessage;
 import com.etendorx.lib.kafka.topology.AsyncProcessTopology;
 import org.apache.kafka.streams.KafkaStreams;
 import org.apache.kafka.streams.StoreQueryParameters;
@@ -79,6 +80,20 @@ public class AsyncProcessService {
             QueryableStoreTypes.keyValueStore()));
   }
 
+  /**
+   * Resolves the payload reference stored in the params of an execution to the message sent to
+   * the process.
+   *
+   * @param payloadReference The payload reference of the execution.
+   * @return AsyncProcessMessage The message, or null if the reference is unknown.
+   */
+  public AsyncProcessMessage getPayload(String payloadReference) {
+    ReadOnlyKeyValueStore<String, AsyncProcessMessage> store = kafkaStreams.store(
+        StoreQueryParameters.fromNameAndType(AsyncProcessTopology.ASYNC_PROCESS_PAYLOAD_STORE,
+            QueryableStoreTypes.keyValueStore()));
+    return store.get(payloadReference);
+  }
+
   /**
    * Retrieves a list of the latest AsyncProcess objects from the Kafka store.
    *
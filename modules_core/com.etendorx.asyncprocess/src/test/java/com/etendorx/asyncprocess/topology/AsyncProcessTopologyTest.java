@@ -19,8 +19,10 @@ package com.etendorx.asyncprocess.topology;
 import com.etendorx.asyncprocess.config.LatestLogsConfiguration;
 import com.etendorx.lib.kafka.model.AsyncProcess;
 import com.etendorx.lib.kafka.model.AsyncProcessExecution;
+import com.etendorx.lib.kafka.model.AsyncProcessMessage;
 import com.etendorx.lib.kafka.model.AsyncProcessState;
 import com.etendorx.lib.kafka.model.JsonSerde;
+import com.etendorx.lib.kafka.model.PayloadEncoding;
 import com.etendorx.lib.kafka.topology.AsyncProcessTopology;
 import org.apache.kafka.common.serialization.Serdes;
 import org.apache.kafka.streams.*;
@@ -30,6 +32,7 @@ import org.junit.jupiter.api.Test;
 
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.UUID;
 
@@ -42,6 +45,7 @@ class AsyncProcessTopologyTest {
   private TestInputTopic<String, AsyncProcessExecution> asyncProcessExecutionTopic;
   private TestOutputTopic<String, AsyncProcess> asyncProcessTopic;
   private TestOutputTopic<String, AsyncProcessExecution> rejectedProcessTopic;
+  private TestInputTopic<String, AsyncProcessMessage> asyncProcessPayloadTopic;
 
   @BeforeEach
   void setup() {
@@ -65,6 +69,9 @@ class AsyncProcessTopologyTest {
         Serdes.String().deserializer(), asyncProcessJsonSerde.deserializer());
     rejectedProcessTopic = testDriver.createOutputTopic(AsyncProcessTopology.REJECTED_PROCESS,
         Serdes.String().deserializer(), asyncProcessExecutionJsonSerde.deserializer());
+    asyncProcessPayloadTopic = testDriver.createInputTopic(
+        AsyncProcessTopology.ASYNC_PROCESS_PAYLOAD, Serdes.String().serializer(),
+        new JsonSerde<>(AsyncProcessMessage.class).serializer());
   }
 
   @AfterEach
@@ -95,6 +102,19 @@ class AsyncProcessTopologyTest {
     assertTrue(rejectedProcessTopic.isEmpty());
   }
 
+  @Test
+  void testPayloadReferenceIsResolved() {
+    var message = AsyncProcessMessage.of("1", "process", Map.of("id", "A1"),
+        PayloadEncoding.SMILE);
+    asyncProcessPayloadTopic.pipeInput(message.getPayloadReference(), message);
+
+    AsyncProcessMessage stored = testDriver.<String, AsyncProcessMessage>getKeyValueStore(
+        AsyncProcessTopology.ASYNC_PROCESS_PAYLOAD_STORE).get(message.getPayloadReference());
+
+    assertEquals(message.getPayloadReference(), stored.getPayloadReference());
+    assertEquals(Map.of("id", "A1"), stored.getBody(Map.class));
+  }
+
   @Test
   void testTopologyWhenRejection() {
     var rejectedTransactionId = UUID.randomUUID().toString();
@@ -20,9 +20,11 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableJpaRepositories("com.etendorx.entities.jparepo")
+@EnableScheduling
 @ComponentScan(basePackages = { "com.etendorx.utils.auth.key", "com.etendorx.das",
     "com.etendorx.entities.mappings", "com.etendorx.entities.metadata", "com.etendorx.mapping.tutorial", "com.etendorx.openapi",
     "com.etendorx.das.externalid", "com.etendorx.defaultvalues"
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2022-2024  Futit Services SL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.etendorx.das.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Actuator endpoint of the Hibernate second level cache. Reading it returns the statistics of
+ * every cache region, deleting it evicts all the regions, or a single one when its name is
+ * given. The cached tables are written by Etendo Classic too, so the eviction is the hook to
+ * drop stale reference data before its expiration.
+ */
+@Component
+@Endpoint(id = "secondlevelcache")
+@Slf4j
+public class SecondLevelCacheEndpoint {
+
+  private final SessionFactoryImplementor sessionFactory;
+
+  public SecondLevelCacheEndpoint(EntityManagerFactory entityManagerFactory) {
+    this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+  }
+
+  /**
+   * Returns the statistics of the cache regions. Hit, miss and put counts are only collected
+   * when the statistics are enabled.
+   *
+   * @return Map<String, Object> The statistics.
+   */
+  @ReadOperation
+  public Map<String, Object> statistics() {
+    Statistics statistics = sessionFactory.getStatistics();
+    Map<String, Object> result = new LinkedHashMap<>();
+    result.put("enabled", sessionFactory.getSessionFactoryOptions().isSecondLevelCacheEnabled());
+    result.put("statisticsEnabled", statistics.isStatisticsEnabled());
+    result.put("queryCacheHits", statistics.getQueryCacheHitCount());
+    result.put("queryCacheMisses", statistics.getQueryCacheMissCount());
+    Map<String, Object> regions = new TreeMap<>();
+    for (String regionName : statistics.getSecondLevelCacheRegionNames()) {
+      CacheRegionStatistics region = statistics.getCacheRegionStatistics(regionName);
+      if (region == null) {
+        continue;
+      }
+      Map<String, Object> regionStatistics = new LinkedHashMap<>();
+      regionStatistics.put("hits", region.getHitCount());
+      regionStatistics.put("misses", region.getMissCount());
+      regionStatistics.put("puts", region.getPutCount());
+      regionStatistics.put("elementsInMemory", region.getElementCountInMemory());
+      regions.put(regionName, regionStatistics);
+    }
+    result.put("regions", regions);
+    return result;
+  }
+
+  /**
+   * Evicts every entity, collection and query region.
+   */
+  @DeleteOperation
+  public void evictAll() {
+    log.info("Evicting all the second level cache regions");
+    sessionFactory.getCache().evictAllRegions();
+  }
+
+  /**
+   * Evicts a single region. Entity regions are named after the entity.
+   *
+   * @param region The region name.
+   */
+  @DeleteOperation
+  public void evict(@Selector String region) {
+    log.info("Evicting the second level cache region {}", region);
+    sessionFactory.getCache().evictRegion(region);
+  }
+}
@@ -17,35 +17,55 @@ package com.etendorx.das.connector;
 
 import com.etendoerp.etendorx.data.ETRXEntityField;
 import com.etendoerp.etendorx.data.InstanceConnectorMapping;
+import com.etendorx.das.utils.AfterCommit;
 import com.etendorx.entities.mapper.lib.DTOReadMapping;
-import com.etendorx.entities.metadata.FieldMetadata;
 import com.etendorx.entities.metadata.MetadataUtil;
+import com.etendorx.entities.metadata.PropertyPathMetadata;
+import com.etendorx.eventhandler.annotation.EventHandlerListener;
 import org.apache.commons.lang3.StringUtils;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * This class is a component that maps InstanceConnectorMapping entities to a list of maps.
  * It implements the DTOReadMapping interface.
+ * The maps of each connector mapping and projection entity are built once and cached as
+ * immutable descriptors. The cache is versioned: changes to the mapping rows made through DAS
+ * bump the version once they are committed, and descriptors older than the configured time to
+ * live are rebuilt to pick up the changes made from Etendo Classic.
  */
 @Component("OBCONFieldMapping")
 public class OBCONFieldMapping implements DTOReadMapping<InstanceConnectorMapping> {
 
   // Utility for metadata operations
   private final MetadataUtil metadataUtil;
+  private final long timeToLive;
+  private final Map<String, Descriptors> descriptors = new ConcurrentHashMap<>();
+  private final AtomicLong version = new AtomicLong();
 
   /**
    * Constructor for the OBCONFieldMapping class.
    *
    * @param metadataUtil Utility for metadata operations.
+   * @param timeToLive   Time in milliseconds a cached descriptor list is served before it is
+   *                     rebuilt.
    */
-  public OBCONFieldMapping(MetadataUtil metadataUtil) {
+  public OBCONFieldMapping(MetadataUtil metadataUtil,
+      @Value("${das.connector.field-mapping.ttl:60000}") long timeToLive) {
     super();
     this.metadataUtil = metadataUtil;
+    this.timeToLive = timeToLive;
   }
 
   /**
@@ -53,29 +73,84 @@ public class OBCONFieldMapping implements DTOReadMapping<InstanceConnectorMappin
    * Each map represents a field in the entity.
    *
    * @param entity The InstanceConnectorMapping entity to map.
-   * @return A list of maps representing the fields in the entity.
+   * @return An immutable list of immutable maps representing the fields in the entity.
    */
   @Override
   public Object map(InstanceConnectorMapping entity) {
+    var projectionEntity = entity.getEtrxEntityMapping().getProjectionEntity();
+    String key = entity.getId() + "/" + projectionEntity.getId();
+    long currentVersion = version.get();
+    long now = System.currentTimeMillis();
+    Descriptors cached = descriptors.get(key);
+    if (cached != null && cached.version == currentVersion && now - cached.builtAt < timeToLive) {
+      return cached.fields;
+    }
     List<Map<String, Object>> fieldMapping = new ArrayList<>();
-    for (ETRXEntityField etrxEntityField : entity.getEtrxEntityMapping()
-        .getProjectionEntity()
-        .getETRXEntityFieldList()) {
+    for (ETRXEntityField etrxEntityField : projectionEntity.getETRXEntityFieldList()) {
       Map<String, Object> map = new HashMap<>();
       map.put("name", etrxEntityField.getName());
       map.put("jsonpath", StringUtils.defaultIfBlank(etrxEntityField.getJsonpath(),
           "$." + etrxEntityField.getName()));
       map.put("fieldMapping", etrxEntityField.getFieldMapping());
       map.put("isExternalIdentifier", processProperty(map, etrxEntityField));
-      fieldMapping.add(map);
+      fieldMapping.add(Collections.unmodifiableMap(map));
+    }
+    List<Map<String, Object>> fields = Collections.unmodifiableList(fieldMapping);
+    // A descriptor built while the mapping rows were changing is not cached. If the version
+    // changes right after this check, the stored descriptor keeps the old version and the next
+    // lookup rebuilds it.
+    if (version.get() == currentVersion) {
+      descriptors.put(key, new Descriptors(currentVersion, now, fields));
     }
-    return fieldMapping;
+    return fields;
+  }
+
+  /**
+   * Discards all the cached descriptors.
+   */
+  public void invalidate() {
+    version.incrementAndGet();
+    descriptors.clear();
+  }
+
+  /**
+   * Discards all the cached descriptors once the current transaction is committed, a lookup
+   * made before the commit would rebuild them from the previous rows.
+   */
+  private void invalidateAfterCommit() {
+    AfterCommit.run(this::invalidate);
+  }
+
+  @EventHandlerListener
+  public void onPostInsert(ETRXEntityField etrxEntityField, PostInsertEvent event) {
+    invalidateAfterCommit();
+  }
+
+  @EventHandlerListener
+  public void onPostUpdate(ETRXEntityField etrxEntityField, PostUpdateEvent event) {
+    invalidateAfterCommit();
+  }
+
+  @EventHandlerListener
+  public void onPostDelete(ETRXEntityField etrxEntityField, PostDeleteEvent event) {
+    invalidateAfterCommit();
+  }
+
+  @EventHandlerListener
+  public void onPostUpdate(InstanceConnectorMapping mapping, PostUpdateEvent event) {
+    invalidateAfterCommit();
+  }
+
+  @EventHandlerListener
+  public void onPostDelete(InstanceConnectorMapping mapping, PostDeleteEvent event) {
+    invalidateAfterCommit();
   }
 
   /**
    * This method processes a property of an ETRXEntityField.
-   * It checks if the property is blank, and if not, it splits the property into segments and retrieves the metadata for the first segment.
-   * If the metadata and its related table ID are not null, it adds the table ID to the map and returns true.
+   * It checks if the property is blank, and if not, it resolves the property path starting on the
+   * table of the projection entity. If any segment is a relation, it adds the table ID, entity name
+   * and array flag of the last relation to the map and returns true.
    *
    * @param map             The map to add the table ID to.
    * @param etrxEntityField The ETRXEntityField to process the property of.
@@ -86,28 +161,29 @@ public class OBCONFieldMapping implements DTOReadMapping<InstanceConnectorMappin
     if (StringUtils.isBlank(property)) {
       return false;
     }
-    String[] propertySegments = property.split("\\.");
-    String tableId = etrxEntityField.getEtrxProjectionEntity().getTableEntity().getId();
-    String entityName = etrxEntityField.getEtrxProjectionEntity().getTableEntity().getName();
-    boolean isProcessProperty = false;
-    boolean isArrayProperty = false;
-
-    for (int i = 0; i < propertySegments.length; i++) {
-      FieldMetadata field = metadataUtil.getPropertyMetadata(
-          tableId,
-          propertySegments[i]);
-      if (field != null && (field.isArray() || field.getAdTableIdRel() != null)) {
-        tableId = field.getAdTableIdRel();
-        entityName = field.getEntityName();
-        isArrayProperty = field.isArray();
-        isProcessProperty = true;
-      }
+    PropertyPathMetadata pathMetadata = metadataUtil.getPropertyPathMetadata(
+        etrxEntityField.getEtrxProjectionEntity().getTableEntity().getId(), property);
+    if (pathMetadata == null) {
+      return false;
     }
-    if (isProcessProperty) {
-      map.put("ad_table_id", tableId);
-      map.put("entityName", entityName);
-      map.put("isArray", isArrayProperty);
+    map.put("ad_table_id", pathMetadata.getAdTableId());
+    map.put("entityName", pathMetadata.getEntityName());
+    map.put("isArray", pathMetadata.isArray());
+    return true;
+  }
+
+  /**
+   * The field descriptors of a connector mapping and projection entity.
+   */
+  private static final class Descriptors {
+    private final long version;
+    private final long builtAt;
+    private final List<Map<String, Object>> fields;
+
+    private Descriptors(long version, long builtAt, List<Map<String, Object>> fields) {
+      this.version = version;
+      this.builtAt = builtAt;
+      this.fields = fields;
     }
-    return isProcessProperty;
   }
 }
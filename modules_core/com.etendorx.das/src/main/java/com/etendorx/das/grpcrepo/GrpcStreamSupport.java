@@ -0,0 +1,244 @@
+/*
+ * Copyright 2022-2024  Futit Services SL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.etendorx.das.grpcrepo;
+
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Support for the streaming RPCs of the generated gRPC repository services. Server streams are
+ * fetched one page at a time and only pushed while the transport is ready, and client streams are
+ * requested and saved in batches, so the memory used by a call does not depend on the number of
+ * rows it moves.
+ */
+@Component
+@Slf4j
+public class GrpcStreamSupport {
+
+  private static final String ID = "id";
+
+  private final int pageSize;
+  private final int batchSize;
+
+  /**
+   * Constructor for the GrpcStreamSupport class.
+   *
+   * @param pageSize  The number of rows fetched from the database for each page of a stream.
+   * @param batchSize The number of received messages saved together in a batch upsert.
+   */
+  public GrpcStreamSupport(@Value("${das.grpc.stream.page-size:500}") int pageSize,
+      @Value("${das.grpc.batch.size:100}") int batchSize) {
+    this.pageSize = pageSize;
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * Streams the rows of a paged query. The next page is only fetched once the rows of the current
+   * one have been handed to the transport, and the stream pauses while the client is not ready.
+   * Must be called from the RPC method, before it returns.
+   *
+   * @param query            The query, called once per page.
+   * @param sort             The sort of the pages. The id is appended as the last order, offset
+   *                         pages of a query without a total order may repeat or skip rows.
+   * @param mapper           The conversion from the rows to the response messages.
+   * @param responseObserver The observer of the call.
+   */
+  public <E, M> void stream(Function<Pageable, Page<E>> query, Sort sort, Function<E, M> mapper,
+      StreamObserver<M> responseObserver) {
+    var observer = (ServerCallStreamObserver<M>) responseObserver;
+    Sort pageSort = sort.getOrderFor(ID) != null ? sort : sort.and(Sort.by(ID));
+    var pump = new PagePump<>(query, mapper, observer, PageRequest.of(0, pageSize, pageSort));
+    observer.setOnCancelHandler(() -> log.debug("gRPC stream cancelled by the client"));
+    observer.setOnReadyHandler(pump::drain);
+    pump.drain();
+  }
+
+  /**
+   * Receives a client stream and saves it in batches. Messages are requested one batch at a time,
+   * so a fast client cannot buffer more than a batch in the server. Each batch is saved in its own
+   * transaction; a failure ends the call with an error and the batches already saved are kept.
+   * Must be called from the RPC method, before it returns.
+   *
+   * @param converter        The conversion from the received messages to the entities to save.
+   * @param saver            Saves a batch of entities, returning the saved ones.
+   * @param onSaved          Called with every saved entity.
+   * @param result           Builds the response once the client completes the stream.
+   * @param responseObserver The observer of the call.
+   * @return StreamObserver<P> The observer of the received messages.
+   */
+  public <P, E, R> StreamObserver<P> batch(Function<P, E> converter,
+      Function<List<E>, ? extends Iterable<E>> saver, Consumer<E> onSaved, Supplier<R> result,
+      StreamObserver<R> responseObserver) {
+    var observer = (ServerCallStreamObserver<R>) responseObserver;
+    observer.disableAutoRequest();
+    observer.request(batchSize);
+    return new BatchReceiver<>(converter, saver, onSaved, result, observer, batchSize);
+  }
+
+  private static RuntimeException internal(Throwable e) {
+    return Status.INTERNAL.withDescription(e.getMessage()).withCause(e).asRuntimeException();
+  }
+
+  /**
+   * Pushes the rows of a paged query while the transport is ready. {@link #drain()} is called
+   * both from the RPC method and from the transport ready handler; the work counter makes sure
+   * only one thread drains at a time and that no ready signal is lost.
+   */
+  private static final class PagePump<E, M> {
+    private final Function<Pageable, Page<E>> query;
+    private final Function<E, M> mapper;
+    private final ServerCallStreamObserver<M> observer;
+    private final AtomicInteger wip = new AtomicInteger();
+    private Iterator<E> rows = Collections.emptyIterator();
+    private Pageable next;
+    private boolean done;
+
+    private PagePump(Function<Pageable, Page<E>> query, Function<E, M> mapper,
+        ServerCallStreamObserver<M> observer, Pageable first) {
+      this.query = query;
+      this.mapper = mapper;
+      this.observer = observer;
+      this.next = first;
+    }
+
+    private void drain() {
+      if (wip.getAndIncrement() != 0) {
+        return;
+      }
+      int missed = 1;
+      do {
+        push();
+        missed = wip.addAndGet(-missed);
+      } while (missed != 0);
+    }
+
+    private void push() {
+      try {
+        while (!done && !observer.isCancelled() && observer.isReady()) {
+          if (rows.hasNext()) {
+            observer.onNext(mapper.apply(rows.next()));
+          } else if (next != null) {
+            Page<E> page = query.apply(next);
+            rows = page.iterator();
+            next = page.hasNext() ? page.nextPageable() : null;
+          } else {
+            done = true;
+            observer.onCompleted();
+          }
+        }
+      } catch (RuntimeException e) {
+        log.error("Error streaming gRPC response", e);
+        done = true;
+        observer.onError(internal(e));
+      }
+    }
+  }
+
+  /**
+   * Buffers the received messages and saves them once a batch is full or the client completes.
+   * The transport delivers the messages of a call sequentially, so no synchronization is needed.
+   */
+  private static final class BatchReceiver<P, E, R> implements StreamObserver<P> {
+    private final Function<P, E> converter;
+    private final Function<List<E>, ? extends Iterable<E>> saver;
+    private final Consumer<E> onSaved;
+    private final Supplier<R> result;
+    private final ServerCallStreamObserver<R> observer;
+    private final int batchSize;
+    private final List<E> buffer;
+    private boolean failed;
+
+    private BatchReceiver(Function<P, E> converter, Function<List<E>, ? extends Iterable<E>> saver,
+        Consumer<E> onSaved, Supplier<R> result, ServerCallStreamObserver<R> observer,
+        int batchSize) {
+      this.converter = converter;
+      this.saver = saver;
+      this.onSaved = onSaved;
+      this.result = result;
+      this.observer = observer;
+      this.batchSize = batchSize;
+      this.buffer = new ArrayList<>(batchSize);
+    }
+
+    @Override
+    public void onNext(P message) {
+      if (failed) {
+        return;
+      }
+      try {
+        buffer.add(converter.apply(message));
+        if (buffer.size() >= batchSize) {
+          flush();
+          observer.request(batchSize);
+        }
+      } catch (RuntimeException e) {
+        fail(e);
+      }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+      log.warn("gRPC batch cancelled by the client: {}", t.getMessage());
+      buffer.clear();
+    }
+
+    @Override
+    public void onCompleted() {
+      if (failed) {
+        return;
+      }
+      try {
+        flush();
+        observer.onNext(result.get());
+        observer.onCompleted();
+      } catch (RuntimeException e) {
+        fail(e);
+      }
+    }
+
+    private void flush() {
+      if (buffer.isEmpty()) {
+        return;
+      }
+      saver.apply(new ArrayList<>(buffer)).forEach(onSaved);
+      buffer.clear();
+    }
+
+    private void fail(RuntimeException e) {
+      log.error("Error saving gRPC batch", e);
+      failed = true;
+      buffer.clear();
+      observer.onError(internal(e));
+    }
+  }
+}
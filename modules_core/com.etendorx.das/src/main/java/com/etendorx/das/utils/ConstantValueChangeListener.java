@@ -0,0 +1,53 @@
+/*
+ * Copyright 2022-2024  Futit Services SL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.etendorx.das.utils;
+
+import com.etendoerp.etendorx.data.ConstantValue;
+import com.etendorx.eventhandler.annotation.EventHandlerListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Discards the constant values snapshot of {@link MappingUtilsImpl} when a constant value is
+ * created, updated or deleted through DAS. The snapshot is discarded once the change is
+ * committed.
+ */
+@Component
+public class ConstantValueChangeListener {
+
+  private final MappingUtilsImpl mappingUtils;
+
+  public ConstantValueChangeListener(MappingUtilsImpl mappingUtils) {
+    this.mappingUtils = mappingUtils;
+  }
+
+  @EventHandlerListener
+  public void onPostInsert(ConstantValue constantValue, PostInsertEvent event) {
+    AfterCommit.run(mappingUtils::invalidateConstantValues);
+  }
+
+  @EventHandlerListener
+  public void onPostUpdate(ConstantValue constantValue, PostUpdateEvent event) {
+    AfterCommit.run(mappingUtils::invalidateConstantValues);
+  }
+
+  @EventHandlerListener
+  public void onPostDelete(ConstantValue constantValue, PostDeleteEvent event) {
+    AfterCommit.run(mappingUtils::invalidateConstantValues);
+  }
+}
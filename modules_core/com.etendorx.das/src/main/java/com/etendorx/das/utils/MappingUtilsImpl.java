@@ -20,18 +20,40 @@ import com.etendorx.entities.entities.BaseSerializableObject;
 import com.etendorx.entities.entities.mappings.MappingUtils;
 import com.etendorx.entities.jparepo.ETRX_Constant_ValueRepository;
 import com.etendorx.utils.auth.key.context.AppContext;
+import com.etendorx.utils.auth.key.context.UserContext;
 import jakarta.annotation.Nullable;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.hibernate.collection.spi.PersistentBag;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.text.ParsePosition;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.ResolverStyle;
+import java.time.format.SignStyle;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalField;
+import java.time.temporal.TemporalQueries;
+import java.time.temporal.WeekFields;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * This class provides utility methods for mapping objects. It is used to handle base objects, parse
@@ -41,7 +63,25 @@ import java.util.TimeZone;
 @Slf4j
 public class MappingUtilsImpl implements MappingUtils {
 
+  private static final String DEFAULT_DATE_FORMAT = "yyyy-MM-dd";
+  private static final String DEFAULT_DATE_TIME_FORMAT = "yyyy-MM-dd HH:mm:ss";
+  private static final Map<FormatterKey, DateTimeFormatter> FORMATTERS = new ConcurrentHashMap<>();
+  private static final Map<String, ZoneId> ZONES = new ConcurrentHashMap<>();
+  private static final String SIMPLE_DATE_FORMAT_LETTERS = "GyYMLwWDdFEuaHkKhmsSzZX";
+  private static final String RESERVED_CHARACTERS = "[]{}#";
+  // Numeric fields that DateTimeFormatter limits to two letters, SimpleDateFormat pads them
+  private static final Map<Character, ChronoField> PADDED_FIELDS = Map.of(
+      'd', ChronoField.DAY_OF_MONTH, 'H', ChronoField.HOUR_OF_DAY,
+      'k', ChronoField.CLOCK_HOUR_OF_DAY, 'K', ChronoField.HOUR_OF_AMPM,
+      'h', ChronoField.CLOCK_HOUR_OF_AMPM, 'm', ChronoField.MINUTE_OF_HOUR,
+      's', ChronoField.SECOND_OF_MINUTE);
+
   private final ETRX_Constant_ValueRepository constantValueRepository;
+  // Immutable snapshot of the constant values by id, its values are null until loaded or after
+  // a change. Every invalidation sets a new instance, so a load only publishes its values if no
+  // invalidation happened while it was running.
+  private final AtomicReference<ConstantValues> constantValues =
+      new AtomicReference<>(new ConstantValues(null));
 
   public MappingUtilsImpl(ETRX_Constant_ValueRepository constantValueRepository) {
     this.constantValueRepository = constantValueRepository;
@@ -72,58 +112,86 @@ public class MappingUtilsImpl implements MappingUtils {
     return obj;
   }
 
+  /**
+   * Formats a date according to the user's date format and time zone. The generated read
+   * converters call it for the fields they know to be dates.
+   *
+   * @param date The date to format.
+   * @return The formatted date, or the date itself if the user has no valid date format.
+   */
+  @Override
+  public Object handleDate(Date date) {
+    String formatted = handleDateObject(date);
+    return formatted != null ? formatted : date;
+  }
+
+  /**
+   * Returns the identifiers of the objects of a one-to-many list. The generated read converters
+   * call it for the fields they know to be entity lists.
+   *
+   * @param objects The objects of the list.
+   * @return The identifiers, in list order.
+   */
+  @Override
+  public List<String> handleIdentifiers(List<? extends BaseSerializableObject> objects) {
+    List<String> identifiers = new ArrayList<>(objects.size());
+    for (BaseSerializableObject object : objects) {
+      identifiers.add(object.get_identifier());
+    }
+    return identifiers;
+  }
+
   private static String handleBaseSerializableObject(BaseSerializableObject obj) {
     return obj.get_identifier();
   }
 
   @Nullable
   private static String handleDateObject(Date obj) {
-    var dateFormat = AppContext.getCurrentUser().getDateFormat();
-    var timeZone = AppContext.getCurrentUser().getTimeZone();
-    if (dateFormat != null) {
-      SimpleDateFormat sdf = new SimpleDateFormat(dateFormat);
-      if (timeZone != null) {
-        sdf.setTimeZone(TimeZone.getTimeZone(timeZone));
-      }
-      try {
-        return sdf.format(obj);
-      } catch (Exception e) {
-        // If the date cannot be formatted, try to format it with the user's date format
-      }
+    var user = AppContext.getCurrentUser();
+    var zone = getZone(user.getTimeZone());
+    var instant = Instant.ofEpochMilli(obj.getTime());
+    String formatted = format(instant, user.getDateFormat(), zone);
+    if (formatted == null) {
+      // If the date cannot be formatted, try to format it with the user's date time format
+      formatted = format(instant, user.getDateTimeFormat(), zone);
     }
-    var dateTimeFormat = AppContext.getCurrentUser().getDateTimeFormat();
-    if (dateTimeFormat != null) {
-      SimpleDateFormat sdf = new SimpleDateFormat(dateTimeFormat);
-      if (timeZone != null) {
-        sdf.setTimeZone(TimeZone.getTimeZone(timeZone));
-      }
-      try {
-        return sdf.format(obj);
-      } catch (Exception e) {
-        // If the date cannot be formatted, log an error and return null
-      }
+    if (formatted == null) {
+      log.error("Error formatting date with value {}", obj);
+    }
+    return formatted;
+  }
+
+  @Nullable
+  private static String format(Instant instant, String pattern, ZoneId zone) {
+    if (pattern == null) {
+      return null;
+    }
+    try {
+      return getFormatter(pattern, zone).format(instant);
+    } catch (IllegalArgumentException | DateTimeException e) {
+      log.debug("Error formatting date with pattern {}", pattern, e);
+      return null;
     }
-    log.error("Error formatting date with value {}", obj);
-    return null;
   }
 
   private List<Object> handlePersistentBag(PersistentBag<?> obj) {
-    List<Object> list = new ArrayList<>();
-    for (Object o : (PersistentBag<?>) obj) {
+    List<Object> list = new ArrayList<>(obj.size());
+    for (Object o : obj) {
       list.add(handleBaseObject(o));
     }
     return list;
   }
 
   /**
-   * Parses a date string into a Date object according to the current user's date format and time zone.
-   * If the date string is blank, it returns null.
-   * If the current user's date format is null, it uses "yyyy-MM-dd" as the default date format.
-   * If the date string is not blank and not equal to "null" (ignoring case), it tries to parse the date string.
-   * If the parsing fails, it logs an error and returns null.
+   * Parses a date string into a Date object according to the current user's date time format and
+   * time zone. If the date string does not match the date time format, it is parsed with the date
+   * format. Default formats are "yyyy-MM-dd HH:mm:ss" and "yyyy-MM-dd". As with SimpleDateFormat,
+   * parsing is lenient and text after the matched pattern is ignored. If the date string is blank
+   * or "null" (ignoring case), it returns null.
    *
    * @param date The date string to be parsed.
-   * @return The parsed Date object, or null if the date string is blank or cannot be parsed.
+   * @return The parsed Date object, or null if the date string is blank.
+   * @throws IllegalArgumentException If the date string cannot be parsed with any of the formats.
    */
   @Override
   public Date parseDate(String date) {
@@ -132,49 +200,282 @@ public class MappingUtilsImpl implements MappingUtils {
     }
     var dateTimeFormat = AppContext.getCurrentUser().getDateTimeFormat();
     if (dateTimeFormat == null) {
-      dateTimeFormat = "yyyy-MM-dd HH:mm:ss";
-    }
-    var timeZone = AppContext.getCurrentUser().getTimeZone();
-    Date returnValue = null;
-    SimpleDateFormat sdf = new SimpleDateFormat(dateTimeFormat);
-    if (timeZone != null) {
-      sdf.setTimeZone(TimeZone.getTimeZone(timeZone));
-    }
-    try {
-      returnValue = sdf.parse(date);
-    } catch (ParseException ignored) {
-      // This error is ignored because the date may be in a different format
-      // than the user's date format, and it will be parsed again below
+      dateTimeFormat = DEFAULT_DATE_TIME_FORMAT;
     }
+    var zone = getZone(AppContext.getCurrentUser().getTimeZone());
+    Date returnValue = parse(date, dateTimeFormat, zone);
     if (returnValue != null) {
       return returnValue;
     }
     var dateFormat = AppContext.getCurrentUser().getDateFormat();
     if (dateFormat == null) {
-      dateFormat = "yyyy-MM-dd";
+      dateFormat = DEFAULT_DATE_FORMAT;
     }
-    sdf = new SimpleDateFormat(dateFormat);
-    if (timeZone != null) {
-      sdf.setTimeZone(TimeZone.getTimeZone(timeZone));
-    }
-    try {
-      return sdf.parse(date);
-    } catch (ParseException e) {
-      log.error("Error parsing date with value {}", date, e);
+    returnValue = parse(date, dateFormat, zone);
+    if (returnValue != null) {
+      return returnValue;
     }
+    log.error("Error parsing date with value {}", date);
     throw new IllegalArgumentException("The date " + date + " cannot be parsed");
   }
 
   /**
-   * Retrieves the default value of a constant from the constant value repository by its identifier.
-   * If the constant is not found, it returns null.
+   * Parses the date without throwing exceptions on mismatch.
+   *
+   * @return The parsed date, or null if the text does not match the pattern.
+   */
+  @Nullable
+  private static Date parse(String text, String pattern, ZoneId zone) {
+    DateTimeFormatter formatter = getFormatter(pattern, zone);
+    Object parsed = formatter.toFormat().parseObject(text, new ParsePosition(0));
+    if (!(parsed instanceof TemporalAccessor temporal)) {
+      return null;
+    }
+    LocalDate localDate = temporal.query(TemporalQueries.localDate());
+    if (localDate == null) {
+      return null;
+    }
+    LocalTime localTime = temporal.query(TemporalQueries.localTime());
+    ZoneId parsedZone = temporal.query(TemporalQueries.zone());
+    ZonedDateTime dateTime = ZonedDateTime.of(localDate,
+        localTime != null ? localTime : LocalTime.MIDNIGHT,
+        parsedZone != null ? parsedZone : zone);
+    return Date.from(dateTime.toInstant());
+  }
+
+  /**
+   * Returns the formatter of the pattern and zone. Formatters are immutable and thread-safe, so
+   * they are built once and shared. They parse leniently, as SimpleDateFormat does by default.
+   *
+   * @throws IllegalArgumentException if the pattern is not a valid SimpleDateFormat pattern.
+   */
+  private static DateTimeFormatter getFormatter(String pattern, ZoneId zone) {
+    return FORMATTERS.computeIfAbsent(new FormatterKey(pattern, zone), key -> {
+      Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+      return appendPattern(new DateTimeFormatterBuilder().parseCaseInsensitive().parseLenient(),
+          key.pattern(), locale).toFormatter(locale)
+          .withResolverStyle(ResolverStyle.LENIENT)
+          .withZone(key.zone());
+    });
+  }
+
+  /**
+   * Appends a SimpleDateFormat pattern, translating the letters whose meaning or allowed counts
+   * differ in DateTimeFormatter:
+   * <ul>
+   *   <li>Two letter years ({@code yy}, {@code YY}) are parsed within 80 years before and 20
+   *   years after the current date, instead of the 2000-2099 range.</li>
+   *   <li>{@code u} is the day number of the week, Monday being 1, not the year.</li>
+   *   <li>{@code F} is the day of the week in the month, {@code S} are milliseconds and
+   *   {@code Z} is always the RFC 822 offset.</li>
+   *   <li>Counts not accepted by DateTimeFormatter are padded numbers or full texts.</li>
+   * </ul>
+   * Letters that SimpleDateFormat does not know are rejected, and the characters reserved by
+   * DateTimeFormatter are appended as literals.
+   *
+   * @throws IllegalArgumentException if the pattern has an unknown letter or unterminated quote.
+   */
+  private static DateTimeFormatterBuilder appendPattern(DateTimeFormatterBuilder builder,
+      String pattern, Locale locale) {
+    StringBuilder pending = new StringBuilder();
+    int i = 0;
+    while (i < pattern.length()) {
+      char c = pattern.charAt(i);
+      int end = i + 1;
+      if (c == '\'') {
+        end = closingQuote(pattern, i);
+        pending.append(pattern, i, end);
+      } else if (!Character.isLetter(c) || c > 'z') {
+        if (RESERVED_CHARACTERS.indexOf(c) >= 0) {
+          pending.append('\'').append(c).append('\'');
+        } else {
+          pending.append(c);
+        }
+      } else {
+        while (end < pattern.length() && pattern.charAt(end) == c) {
+          end++;
+        }
+        int count = end - i;
+        TemporalField field = translatedField(c, count, locale);
+        if (field != null) {
+          builder.appendPattern(pending.toString());
+          pending.setLength(0);
+          appendField(builder, field, c, count);
+        } else {
+          pending.append(String.valueOf(c).repeat(translatedCount(c, count, pattern)));
+        }
+      }
+      i = end;
+    }
+    return builder.appendPattern(pending.toString());
+  }
+
+  private static int closingQuote(String pattern, int start) {
+    int i = start + 1;
+    while (i < pattern.length()) {
+      if (pattern.charAt(i) == '\'') {
+        if (i + 1 < pattern.length() && pattern.charAt(i + 1) == '\'') {
+          i += 2;
+          continue;
+        }
+        return i + 1;
+      }
+      i++;
+    }
+    throw new IllegalArgumentException("Unterminated quote in pattern " + pattern);
+  }
+
+  /**
+   * Returns the field appended by hand instead of as a DateTimeFormatter pattern letter, or null
+   * if the letter keeps its meaning.
+   */
+  @Nullable
+  private static TemporalField translatedField(char letter, int count, Locale locale) {
+    switch (letter) {
+      case 'y':
+        return count == 2 ? ChronoField.YEAR_OF_ERA : null;
+      case 'Y':
+        return count == 2 ? WeekFields.of(locale).weekBasedYear() : null;
+      case 'u':
+        return ChronoField.DAY_OF_WEEK;
+      case 'F':
+        return ChronoField.ALIGNED_WEEK_OF_MONTH;
+      case 'S':
+        return ChronoField.MILLI_OF_SECOND;
+      case 'D':
+        return count > 3 ? ChronoField.DAY_OF_YEAR : null;
+      default:
+        ChronoField field = PADDED_FIELDS.get(letter);
+        return field != null && count > 2 ? field : null;
+    }
+  }
+
+  private static void appendField(DateTimeFormatterBuilder builder, TemporalField field,
+      char letter, int count) {
+    if ((letter == 'y' || letter == 'Y') && count == 2) {
+      builder.appendValueReduced(field, 2, 2, LocalDate.now().minusYears(80));
+    } else if (letter == 'S') {
+      builder.appendValue(field, count, Math.max(count, 3), SignStyle.NOT_NEGATIVE);
+    } else if (count == 1) {
+      builder.appendValue(field);
+    } else {
+      builder.appendValue(field, count);
+    }
+  }
+
+  /**
+   * Returns the count of a letter that keeps its meaning, limited to the counts accepted by
+   * DateTimeFormatter for the same output.
+   */
+  private static int translatedCount(char letter, int count, String pattern) {
+    switch (letter) {
+      case 'M', 'L', 'E', 'z':
+        return Math.min(count, 4);
+      case 'a', 'Z':
+        return 1;
+      case 'G':
+        return Math.min(count, 3);
+      default:
+        if (SIMPLE_DATE_FORMAT_LETTERS.indexOf(letter) < 0) {
+          throw new IllegalArgumentException(
+              "Illegal pattern character '" + letter + "' in pattern " + pattern);
+        }
+        return count;
+    }
+  }
+
+  /**
+   * Returns the zone of the time zone id, or the system default one if it is null. Unknown ids
+   * resolve to GMT, as in {@link TimeZone#getTimeZone(String)}.
+   */
+  private static ZoneId getZone(String timeZone) {
+    if (timeZone == null) {
+      return ZoneId.systemDefault();
+    }
+    return ZONES.computeIfAbsent(timeZone, id -> TimeZone.getTimeZone(id).toZoneId());
+  }
+
+  private record FormatterKey(String pattern, ZoneId zone) {
+  }
+
+  /**
+   * Retrieves the default value of a constant by its identifier. Values are served from an
+   * in-memory snapshot of all the constants, constants created after the snapshot was taken are
+   * read from the constant value repository. If the constant is not found, it returns null.
    *
    * @param id The identifier of the constant.
    * @return The default value of the constant, or null if the constant is not found.
    */
   @Override
   public String constantValue(String id) {
+    ConstantValues current = constantValues.get();
+    Map<String, String> snapshot = current.values();
+    if (snapshot == null) {
+      snapshot = loadConstantValues(current);
+    }
+    if (snapshot != null && snapshot.containsKey(id)) {
+      return snapshot.get(id);
+    }
     var constantValue = constantValueRepository.findById(id);
     return constantValue.map(ConstantValue::getDefaultValue).orElse(null);
   }
+
+  /**
+   * Reloads the constant values snapshot. Runs at startup and then periodically, to pick up the
+   * changes made outside DAS.
+   */
+  @Scheduled(fixedDelayString = "${das.constant-values.refresh-interval:300000}")
+  public void refreshConstantValues() {
+    loadConstantValues(constantValues.get());
+  }
+
+  /**
+   * Discards the constant values snapshot, the next lookup loads a new one. A load running at the
+   * same time does not publish its values.
+   */
+  public void invalidateConstantValues() {
+    constantValues.set(new ConstantValues(null));
+  }
+
+  /**
+   * Loads all the constant values as the system user. The snapshot is shared by every request,
+   * so it must not depend on the client and organization filters of the user that triggers the
+   * load, and the scheduled refresh runs without any user in the context.
+   *
+   * @return The loaded values, or the values of the expected snapshot if the load fails. Nothing
+   * is published on failure, so the next lookup or refresh loads them again.
+   */
+  @Nullable
+  private Map<String, String> loadConstantValues(ConstantValues expected) {
+    UserContext previousUser = AppContext.isUserInContext() ? AppContext.getCurrentUser() : null;
+    AppContext.setCurrentUser(systemUser());
+    Map<String, String> snapshot;
+    try {
+      Map<String, String> values = new HashMap<>();
+      for (ConstantValue constantValue : constantValueRepository.findAll()) {
+        values.put(constantValue.getId(), constantValue.getDefaultValue());
+      }
+      snapshot = Collections.unmodifiableMap(values);
+      log.debug("Loaded {} constant values", snapshot.size());
+    } catch (RuntimeException e) {
+      log.error("Error loading the constant values", e);
+      return expected.values();
+    } finally {
+      AppContext.setCurrentUser(previousUser);
+    }
+    constantValues.compareAndSet(expected, new ConstantValues(snapshot));
+    return snapshot;
+  }
+
+  private static UserContext systemUser() {
+    UserContext userContext = new UserContext();
+    userContext.setUserId(DefaultFilters.SUPER_USER_ID);
+    userContext.setClientId(DefaultFilters.SUPER_USER_CLIENT_ID);
+    userContext.setOrganizationId("0");
+    userContext.setRestMethod(DefaultFilters.GET_METHOD);
+    return userContext;
+  }
+
+  private record ConstantValues(Map<String, String> values) {
+  }
 }
@@ -3,18 +3,24 @@ package com.etendorx.das.utils;
 import com.etendorx.entities.metadata.EntityMetadata;
 import com.etendorx.entities.metadata.FieldMetadata;
 import com.etendorx.entities.metadata.MetadataUtil;
-import org.apache.commons.lang3.StringUtils;
+import com.etendorx.entities.metadata.PropertyPathMetadata;
 import org.springframework.stereotype.Component;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 public class MetadataUtilImpl implements MetadataUtil {
   private final Set<EntityMetadata> entityMetadataSet;
   private final Map<String, EntityMetadata> entityByName = new HashMap<>();
   private final Map<String, EntityMetadata> entityByTableId = new HashMap<>();
+  // Resolved property paths by table id and path. Single segment relations are indexed at
+  // startup, longer paths are added the first time they are resolved.
+  private final Map<String, Optional<PropertyPathMetadata>> propertyPaths =
+      new ConcurrentHashMap<>();
 
   public MetadataUtilImpl(Set<EntityMetadata> entityMetadataSet) {
     this.entityMetadataSet = entityMetadataSet;
@@ -22,20 +28,56 @@ public class MetadataUtilImpl implements MetadataUtil {
       entityByName.put(entity.getEntityName(), entity);
       entityByTableId.put(entity.getAdTableId(), entity);
     });
+    entityMetadataSet.forEach(entity -> entity.getFields().forEach((property, field) -> {
+      if (isRelation(field)) {
+        propertyPaths.put(getPathKey(entity.getAdTableId(), property), Optional.of(
+            new PropertyPathMetadata(field.getAdTableIdRel(), field.getEntityName(),
+                field.isArray())));
+      }
+    }));
   }
 
   @Override
   public FieldMetadata getPropertyMetadata(String adTableId, String property) {
     var entity = entityByTableId.get(adTableId);
-    if(entity != null) {
-      return entity.getFields()
-          .keySet()
-          .stream()
-          .filter(key -> StringUtils.equals(key, property))
-          .findFirst()
-          .map(key -> entity.getFields().get(key))
-          .orElse(null);
+    if (entity != null) {
+      return entity.getFields().get(property);
     }
     return null;
   }
+
+  @Override
+  public PropertyPathMetadata getPropertyPathMetadata(String adTableId, String propertyPath) {
+    return propertyPaths.computeIfAbsent(getPathKey(adTableId, propertyPath),
+        key -> Optional.ofNullable(resolvePropertyPath(adTableId, propertyPath))).orElse(null);
+  }
+
+  /**
+   * Walks the segments of the path. Segments that are not relations are looked up on the last
+   * table reached.
+   */
+  private PropertyPathMetadata resolvePropertyPath(String adTableId, String propertyPath) {
+    String tableId = adTableId;
+    String entityName = null;
+    boolean isArray = false;
+    boolean isRelation = false;
+    for (String segment : propertyPath.split("\\.")) {
+      FieldMetadata field = getPropertyMetadata(tableId, segment);
+      if (isRelation(field)) {
+        tableId = field.getAdTableIdRel();
+        entityName = field.getEntityName();
+        isArray = field.isArray();
+        isRelation = true;
+      }
+    }
+    return isRelation ? new PropertyPathMetadata(tableId, entityName, isArray) : null;
+  }
+
+  private static boolean isRelation(FieldMetadata field) {
+    return field != null && (field.isArray() || field.getAdTableIdRel() != null);
+  }
+
+  private static String getPathKey(String adTableId, String propertyPath) {
+    return adTableId + "/" + propertyPath;
+  }
 }
@@ -66,4 +66,17 @@ public class PropertyMetadataTest {
     Assertions.assertEquals("209", field.getAdTableIdRel());
     Assertions.assertFalse(field.isArray());
   }
+
+  /**
+   * This test method verifies that getPropertyPathMetadata resolves the relation of a property
+   * path, and returns null when no segment of the path is a relation.
+   */
+  @Test
+  void testProductPathMetadata() {
+    var path = metadataUtil.getPropertyPathMetadata("208", "productCategory");
+
+    Assertions.assertEquals("209", path.getAdTableId());
+    Assertions.assertFalse(path.isArray());
+    Assertions.assertNull(metadataUtil.getPropertyPathMetadata("208", "name"));
+  }
 }
@@ -24,20 +24,28 @@ import com.etendorx.entities.mapper.lib.ExternalIdService;
 import com.etendorx.entities.mapper.lib.JsonPathEntityRetriever;
 import com.etendorx.entities.mapper.lib.PostSyncService;
 import com.etendorx.eventhandler.transaction.RestCallTransactionHandler;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validator;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
 /**
@@ -72,6 +80,8 @@ class BaseDTORepositoryDefaultTests {
 
   @Mock
   PostSyncService postSyncService;
+  @Mock
+  EntityManager entityManager;
   @InjectMocks
   BaseDTORepositoryDefault<Car, CarDTO, CarDTO> baseDTORepositoryDefault;
 
@@ -83,6 +93,11 @@ class BaseDTORepositoryDefaultTests {
     MockitoAnnotations.openMocks(this);
   }
 
+  @AfterEach
+  void tearDown() {
+    TransactionSynchronizationManager.setActualTransactionActive(false);
+  }
+
   /**
    * A mock Car class for testing.
    */
@@ -154,7 +169,8 @@ class BaseDTORepositoryDefaultTests {
     // Assert
     // Verify that the converter's convert method was called as expected
     verify(converter, times(1)).convert(carDTORead, null);
-    verify(converter, times(2)).convert(carAfterSave);
+    verify(converter, times(1)).convert(carAfterSave);
+    verify(retriever, never()).get(anyString());
     verify(validator, times(1)).validate(carBeforeSave);
     verify(repository, times(1)).save(carBeforeSave);
 
@@ -171,4 +187,62 @@ class BaseDTORepositoryDefaultTests {
 
   }
 
+  /**
+   * Test that saveMinimal returns the id of the saved entity.
+   */
+  @Test
+  void shouldReturnIdWhenSavingMinimal() {
+    // Arrange
+    final String NEW_ID = "ABDC";
+    Car carBeforeSave = mock(Car.class);
+    Car carAfterSave = mock(Car.class);
+    CarDTO carDTOAfterSave = mock(CarDTO.class);
+    when(carDTOAfterSave.getId()).thenReturn(NEW_ID);
+    when(converter.convert(any(), any())).thenReturn(carBeforeSave);
+    when(converter.convert(carAfterSave)).thenReturn(carDTOAfterSave);
+    when(validator.validate(carBeforeSave)).thenReturn(Set.of());
+    when(repository.save(any())).thenReturn(carAfterSave);
+
+    // Act
+    String result = baseDTORepositoryDefault.saveMinimal(carDTORead);
+
+    // Assert
+    assertEquals(NEW_ID, result, "The returned id should match the saved entity.");
+    verify(repository, times(1)).save(carBeforeSave);
+    verify(retriever, never()).get(anyString());
+    verify(transactionHandler, times(1)).commit();
+  }
+
+  /**
+   * Test that a constraint violation raised while flushing an already managed entity is mapped
+   * to a ResponseStatusException before the commit.
+   */
+  @Test
+  void shouldMapConstraintViolationOfManagedEntity() {
+    // Arrange
+    final String ID = "ABDC";
+    Car existingCar = mock(Car.class);
+    when(carDTOWrite.getId()).thenReturn(ID);
+    when(retriever.get(ID)).thenReturn(existingCar);
+    when(converter.convert(carDTOWrite, existingCar)).thenReturn(existingCar);
+    when(converter.convertList(carDTOWrite, existingCar)).thenReturn(existingCar);
+    when(validator.validate(existingCar)).thenReturn(Set.of());
+    when(repository.save(existingCar)).thenReturn(existingCar);
+    when(entityManager.contains(existingCar)).thenReturn(true);
+    doThrow(new PersistenceException("duplicate key value violates unique constraint"))
+        .when(entityManager).flush();
+    ReflectionTestUtils.setField(baseDTORepositoryDefault, "entityManager", entityManager);
+    TransactionSynchronizationManager.setActualTransactionActive(true);
+
+    // Act
+    ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+        () -> baseDTORepositoryDefault.update(carDTOWrite));
+
+    // Assert
+    assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, exception.getStatusCode());
+    assertEquals("duplicate key value violates unique constraint", exception.getReason());
+    verify(entityManager, times(1)).flush();
+    verify(transactionHandler, never()).commit();
+  }
+
 }
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2022-2024  Futit Services SL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.etendorx.das.unit;
+
+import com.etendoerp.etendorx.data.ConstantValue;
+import com.etendorx.das.utils.ConstantValueChangeListener;
+import com.etendorx.das.utils.MappingUtilsImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class ConstantValueChangeListenerTest {
+
+  private MappingUtilsImpl mappingUtils;
+  private ConstantValueChangeListener listener;
+
+  @BeforeEach
+  public void setUp() {
+    mappingUtils = mock(MappingUtilsImpl.class);
+    listener = new ConstantValueChangeListener(mappingUtils);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @Test
+  void testInvalidatesAfterCommit() {
+    // Given
+    TransactionSynchronizationManager.initSynchronization();
+
+    // When
+    listener.onPostUpdate(new ConstantValue(), null);
+
+    // Then
+    verify(mappingUtils, never()).invalidateConstantValues();
+    TransactionSynchronizationManager.getSynchronizations()
+        .forEach(TransactionSynchronization::afterCommit);
+    verify(mappingUtils).invalidateConstantValues();
+  }
+
+  @Test
+  void testDoesNotInvalidateOnRollback() {
+    // Given
+    TransactionSynchronizationManager.initSynchronization();
+
+    // When
+    listener.onPostDelete(new ConstantValue(), null);
+    TransactionSynchronizationManager.getSynchronizations()
+        .forEach(synchronization -> synchronization.afterCompletion(
+            TransactionSynchronization.STATUS_ROLLED_BACK));
+
+    // Then
+    verify(mappingUtils, never()).invalidateConstantValues();
+  }
+
+  @Test
+  void testInvalidatesRightAwayWithoutTransaction() {
+    // When
+    listener.onPostInsert(new ConstantValue(), null);
+
+    // Then
+    verify(mappingUtils).invalidateConstantValues();
+  }
+}
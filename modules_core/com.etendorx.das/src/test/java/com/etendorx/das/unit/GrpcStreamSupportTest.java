@@ -0,0 +1,126 @@
+/*
+ * Copyright 2022-2024  Futit Services SL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.etendorx.das.unit;
+
+import com.etendorx.das.grpcrepo.GrpcStreamSupport;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class GrpcStreamSupportTest {
+
+  private static final List<Integer> ROWS = IntStream.range(0, 5).boxed().toList();
+
+  private final List<Pageable> fetchedPages = new ArrayList<>();
+
+  private Page<Integer> fetch(Pageable pageable) {
+    fetchedPages.add(pageable);
+    int from = (int) pageable.getOffset();
+    int to = Math.min(from + pageable.getPageSize(), ROWS.size());
+    return new PageImpl<>(ROWS.subList(from, to), pageable, ROWS.size());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void testStreamPushesAllPagesWhileReady() {
+    var observer = (ServerCallStreamObserver<String>) mock(ServerCallStreamObserver.class);
+    when(observer.isReady()).thenReturn(true);
+
+    new GrpcStreamSupport(2, 10).stream(this::fetch, Sort.unsorted(), String::valueOf, observer);
+
+    verify(observer, times(5)).onNext(any());
+    verify(observer).onCompleted();
+    assertEquals(3, fetchedPages.size());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void testStreamPagesAreOrderedById() {
+    var observer = (ServerCallStreamObserver<String>) mock(ServerCallStreamObserver.class);
+    when(observer.isReady()).thenReturn(true);
+
+    new GrpcStreamSupport(2, 10).stream(this::fetch, Sort.by("name"), String::valueOf, observer);
+
+    ArgumentCaptor<String> rows = ArgumentCaptor.forClass(String.class);
+    verify(observer, times(5)).onNext(rows.capture());
+    assertEquals(List.of("0", "1", "2", "3", "4"), rows.getAllValues());
+    assertEquals(List.of(0, 1, 2), fetchedPages.stream().map(Pageable::getPageNumber).toList());
+    for (Pageable pageable : fetchedPages) {
+      assertEquals(Sort.by("name").and(Sort.by("id")), pageable.getSort());
+    }
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void testStreamWaitsForTheTransport() {
+    var observer = (ServerCallStreamObserver<String>) mock(ServerCallStreamObserver.class);
+    when(observer.isReady()).thenReturn(false);
+
+    new GrpcStreamSupport(2, 10).stream(this::fetch, Sort.unsorted(), String::valueOf, observer);
+
+    verify(observer, never()).onNext(any());
+    assertEquals(0, fetchedPages.size());
+
+    ArgumentCaptor<Runnable> onReady = ArgumentCaptor.forClass(Runnable.class);
+    verify(observer).setOnReadyHandler(onReady.capture());
+    when(observer.isReady()).thenReturn(true);
+    onReady.getValue().run();
+
+    verify(observer, times(5)).onNext(any());
+    verify(observer).onCompleted();
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void testBatchSavesAndRequestsInBatches() {
+    var observer = (ServerCallStreamObserver<Integer>) mock(ServerCallStreamObserver.class);
+    var batches = new ArrayList<List<String>>();
+    var saved = new ArrayList<String>();
+    Function<List<String>, List<String>> saver = entities -> {
+      batches.add(entities);
+      return entities;
+    };
+
+    StreamObserver<Integer> receiver = new GrpcStreamSupport(2, 2).batch(String::valueOf, saver,
+        saved::add, saved::size, observer);
+    ROWS.forEach(receiver::onNext);
+    receiver.onCompleted();
+
+    assertEquals(List.of(List.of("0", "1"), List.of("2", "3"), List.of("4")), batches);
+    verify(observer).disableAutoRequest();
+    verify(observer, times(3)).request(2);
+    verify(observer).onNext(5);
+    verify(observer).onCompleted();
+  }
+}
@@ -27,12 +27,25 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import java.sql.Timestamp;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.TimeZone;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class MappingUtilsImplTest {
@@ -80,6 +93,36 @@ public class MappingUtilsImplTest {
     // Verify the formatted date string according to the fixed date/time and AppContext settings
   }
 
+  @Test
+  void testHandleDateMatchesHandleBaseObject() throws ParseException {
+    // Given
+    SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd");
+    format.setTimeZone(TimeZone.getTimeZone("UTC"));
+    Date date = format.parse("2023-01-01");
+
+    // When
+    Object result = mappingUtils.handleDate(date);
+
+    // Then
+    assertEquals("2023-01-01", result);
+    assertEquals(mappingUtils.handleBaseObject(date), result);
+  }
+
+  @Test
+  void testHandleIdentifiers() {
+    // Given
+    BaseSerializableObject first = mock(BaseSerializableObject.class);
+    BaseSerializableObject second = mock(BaseSerializableObject.class);
+    when(first.get_identifier()).thenReturn("first");
+    when(second.get_identifier()).thenReturn("second");
+
+    // When
+    List<String> result = mappingUtils.handleIdentifiers(List.of(first, second));
+
+    // Then
+    assertEquals(List.of("first", "second"), result);
+  }
+
   @Test
   void testParseDate() {
     // Given
@@ -108,4 +151,278 @@ public class MappingUtilsImplTest {
     // Then
     assertEquals("testValue", result);
   }
+
+  @Test
+  void testConstantValueFromSnapshot() {
+    // Given
+    ConstantValue constantValue = new ConstantValue();
+    constantValue.setId("testId");
+    constantValue.setDefaultValue("testValue");
+    when(constantValueRepository.findAll()).thenReturn(List.of(constantValue));
+
+    // When
+    String first = mappingUtils.constantValue("testId");
+    String second = mappingUtils.constantValue("testId");
+
+    // Then
+    assertEquals("testValue", first);
+    assertEquals("testValue", second);
+    verify(constantValueRepository, times(1)).findAll();
+    verify(constantValueRepository, never()).findById("testId");
+  }
+
+  @Test
+  void testConstantValueAfterInvalidate() {
+    // Given
+    ConstantValue constantValue = new ConstantValue();
+    constantValue.setId("testId");
+    constantValue.setDefaultValue("testValue");
+    when(constantValueRepository.findAll()).thenReturn(List.of(constantValue));
+    mappingUtils.constantValue("testId");
+
+    // When
+    constantValue.setDefaultValue("newValue");
+    mappingUtils.invalidateConstantValues();
+    String result = mappingUtils.constantValue("testId");
+
+    // Then
+    assertEquals("newValue", result);
+    verify(constantValueRepository, times(2)).findAll();
+  }
+
+  @Test
+  void testConstantValueInvalidatedDuringLoadIsNotCached() {
+    // Given
+    ConstantValue oldValue = new ConstantValue();
+    oldValue.setId("testId");
+    oldValue.setDefaultValue("oldValue");
+    ConstantValue newValue = new ConstantValue();
+    newValue.setId("testId");
+    newValue.setDefaultValue("newValue");
+    when(constantValueRepository.findAll()).thenAnswer(invocation -> {
+      // A change is committed while the old rows are being read
+      mappingUtils.invalidateConstantValues();
+      return List.of(oldValue);
+    }).thenReturn(List.of(newValue));
+
+    // When
+    String duringChange = mappingUtils.constantValue("testId");
+    String afterChange = mappingUtils.constantValue("testId");
+
+    // Then
+    assertEquals("oldValue", duringChange);
+    assertEquals("newValue", afterChange);
+    verify(constantValueRepository, times(2)).findAll();
+  }
+
+  @Test
+  void testConstantValueFailedLoadFallsBackToRepository() {
+    // Given
+    ConstantValue constantValue = new ConstantValue();
+    constantValue.setId("testId");
+    constantValue.setDefaultValue("testValue");
+    when(constantValueRepository.findAll()).thenThrow(new IllegalStateException("down"))
+        .thenReturn(List.of(constantValue));
+    when(constantValueRepository.findById("testId")).thenReturn(Optional.of(constantValue));
+
+    // When
+    String first = mappingUtils.constantValue("testId");
+    String second = mappingUtils.constantValue("testId");
+    String third = mappingUtils.constantValue("testId");
+
+    // Then the failed load is retried by the next lookup and its snapshot serves the third one
+    assertEquals("testValue", first);
+    assertEquals("testValue", second);
+    assertEquals("testValue", third);
+    verify(constantValueRepository, times(2)).findAll();
+    verify(constantValueRepository, times(1)).findById("testId");
+  }
+
+  @Test
+  void testRefreshConstantValuesWithoutUserInContext() {
+    // Given
+    ConstantValue constantValue = new ConstantValue();
+    constantValue.setId("testId");
+    constantValue.setDefaultValue("testValue");
+    List<String> loadUsers = new ArrayList<>();
+    when(constantValueRepository.findAll()).thenAnswer(invocation -> {
+      loadUsers.add(AppContext.getCurrentUser().getUserId());
+      loadUsers.add(AppContext.getCurrentUser().getClientId());
+      return List.of(constantValue);
+    });
+    AppContext.setCurrentUser(null);
+
+    // When
+    mappingUtils.refreshConstantValues();
+
+    // Then the load runs as the system user and the context is left empty
+    assertEquals(List.of("100", "0"), loadUsers);
+    assertFalse(AppContext.isUserInContext());
+    var uc = new UserContext();
+    uc.setClientId("23C59575B9CF467C9620760EB255B389");
+    AppContext.setCurrentUser(uc);
+    assertEquals("testValue", mappingUtils.constantValue("testId"));
+    verify(constantValueRepository, times(1)).findAll();
+    verify(constantValueRepository, never()).findById("testId");
+  }
+
+  @Test
+  void testConstantValueLoadRestoresTheUserContext() {
+    // Given
+    var uc = new UserContext();
+    uc.setUserId("userId");
+    uc.setClientId("clientId");
+    AppContext.setCurrentUser(uc);
+    when(constantValueRepository.findAll()).thenAnswer(invocation -> {
+      assertEquals("0", AppContext.getCurrentUser().getClientId());
+      return List.of();
+    });
+
+    // When
+    mappingUtils.constantValue("testId");
+
+    // Then
+    assertSame(uc, AppContext.getCurrentUser());
+  }
+
+  @Test
+  void testHandleBaseObjectFormatsLikeSimpleDateFormat() {
+    String[] patterns = { "yyyy-MM-dd", "dd-MM-yyyy", "dd/MM/yyyy HH:mm:ss",
+        "yyyy-MM-dd'T'HH:mm:ss.SSSZ", "dd MMM yyyy", "MM/dd/yy hh:mm a", "yyyy-MM-dd u",
+        "uu EEEEE MMMMM yyyy aa", "dd/MM/yyyy F S", "HHH:mmm:sss SSSS", "[yyyy] {MM} #dd",
+        "h 'o''clock'", "DDDD ZZZZ GGGG" };
+    String[] timeZones = { "UTC", "Europe/Madrid", "America/Argentina/Buenos_Aires" };
+    long[] times = { 0L, 1672531200000L, 1700000000123L };
+    for (String pattern : patterns) {
+      for (String timeZone : timeZones) {
+        var uc = new UserContext();
+        uc.setDateFormat(pattern);
+        uc.setTimeZone(timeZone);
+        AppContext.setCurrentUser(uc);
+        SimpleDateFormat legacy = new SimpleDateFormat(pattern);
+        legacy.setTimeZone(TimeZone.getTimeZone(timeZone));
+        for (long time : times) {
+          assertEquals(legacy.format(new Date(time)), mappingUtils.handleBaseObject(new Date(time)),
+              pattern + " " + timeZone);
+          assertEquals(legacy.format(new Timestamp(time)),
+              mappingUtils.handleBaseObject(new Timestamp(time)), pattern + " " + timeZone);
+        }
+      }
+    }
+  }
+
+  @Test
+  void testHandleBaseObjectFallsBackToDateTimeFormat() {
+    var uc = new UserContext();
+    uc.setDateFormat("yyyy-MM-dd c");
+    uc.setDateTimeFormat("dd/MM/yyyy HH:mm");
+    uc.setTimeZone("UTC");
+    AppContext.setCurrentUser(uc);
+
+    assertEquals("01/01/2023 00:00", mappingUtils.handleBaseObject(new Date(1672531200000L)));
+  }
+
+  @Test
+  void testHandleBaseObjectWithInvalidFormats() {
+    var uc = new UserContext();
+    uc.setDateFormat("yyyy-MM-dd 'unterminated");
+    uc.setDateTimeFormat("yyyy-MM-dd x");
+    uc.setTimeZone("UTC");
+    AppContext.setCurrentUser(uc);
+    Date date = new Date(1672531200000L);
+
+    assertEquals(date, mappingUtils.handleBaseObject(date));
+  }
+
+  @Test
+  void testHandleBaseObjectWithWeekYear() {
+    Locale defaultLocale = Locale.getDefault(Locale.Category.FORMAT);
+    try {
+      for (Locale locale : new Locale[] { Locale.UK, Locale.US }) {
+        Locale.setDefault(Locale.Category.FORMAT, locale);
+        // The formatters are cached by pattern, each locale uses its own pattern
+        String pattern = "YYYY-'W'ww-u '" + locale + "'";
+        var uc = new UserContext();
+        uc.setDateFormat(pattern);
+        uc.setTimeZone("UTC");
+        AppContext.setCurrentUser(uc);
+        SimpleDateFormat legacy = new SimpleDateFormat(pattern);
+        legacy.setTimeZone(TimeZone.getTimeZone("UTC"));
+        for (long time : new long[] { 0L, 1672531200000L, 1703980800000L }) {
+          assertEquals(legacy.format(new Date(time)), mappingUtils.handleBaseObject(new Date(time)),
+              pattern);
+        }
+      }
+    } finally {
+      Locale.setDefault(Locale.Category.FORMAT, defaultLocale);
+    }
+  }
+
+  @Test
+  void testHandleBaseObjectWithSqlDate() {
+    java.sql.Date date = java.sql.Date.valueOf("2023-01-01");
+
+    Object result = mappingUtils.handleBaseObject(date);
+
+    SimpleDateFormat legacy = new SimpleDateFormat("yyyy-MM-dd");
+    legacy.setTimeZone(TimeZone.getTimeZone("UTC"));
+    assertEquals(legacy.format(date), result);
+  }
+
+  @Test
+  void testParseDateTime() throws ParseException {
+    var uc = new UserContext();
+    uc.setDateFormat("dd-MM-yyyy");
+    uc.setDateTimeFormat("dd-MM-yyyy HH:mm:ss");
+    uc.setTimeZone("Europe/Madrid");
+    AppContext.setCurrentUser(uc);
+    SimpleDateFormat legacy = new SimpleDateFormat("dd-MM-yyyy HH:mm:ss");
+    legacy.setTimeZone(TimeZone.getTimeZone("Europe/Madrid"));
+
+    assertEquals(legacy.parse("15-06-2023 10:11:12"), mappingUtils.parseDate("15-06-2023 10:11:12"));
+  }
+
+  @Test
+  void testParseDateFallsBackToDateFormat() throws ParseException {
+    SimpleDateFormat legacy = new SimpleDateFormat("yyyy-MM-dd");
+    legacy.setTimeZone(TimeZone.getTimeZone("UTC"));
+
+    assertEquals(legacy.parse("2023-01-01"), mappingUtils.parseDate("2023-01-01"));
+  }
+
+  @Test
+  void testParseDateIsLenientLikeSimpleDateFormat() throws ParseException {
+    SimpleDateFormat legacy = new SimpleDateFormat("yyyy-MM-dd");
+    legacy.setTimeZone(TimeZone.getTimeZone("UTC"));
+
+    // Trailing text is ignored, out of range fields roll over and digit counts are not enforced
+    for (String input : new String[] { "2023-01-01T10:11:12", "2023-13-45", "2023-1-5" }) {
+      assertEquals(legacy.parse(input), mappingUtils.parseDate(input), input);
+    }
+  }
+
+  @Test
+  void testParseDateWithTwoDigitYear() throws ParseException {
+    var uc = new UserContext();
+    uc.setDateFormat("yy-MM-dd");
+    uc.setTimeZone("UTC");
+    AppContext.setCurrentUser(uc);
+    SimpleDateFormat legacy = new SimpleDateFormat("yy-MM-dd");
+    legacy.setTimeZone(TimeZone.getTimeZone("UTC"));
+
+    for (String input : new String[] { "99-01-01", "45-01-01", "2023-01-01" }) {
+      assertEquals(legacy.parse(input), mappingUtils.parseDate(input), input);
+    }
+  }
+
+  @Test
+  void testParseDateBlank() {
+    assertNull(mappingUtils.parseDate(" "));
+    assertNull(mappingUtils.parseDate("null"));
+  }
+
+  @Test
+  void testParseDateInvalid() {
+    assertThrows(IllegalArgumentException.class, () -> mappingUtils.parseDate("not a date"));
+  }
 }
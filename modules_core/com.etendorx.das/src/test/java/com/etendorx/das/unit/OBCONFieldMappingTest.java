@@ -0,0 +1,102 @@
+/*
+ * Copyright 2022-2024  Futit Services SL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.etendorx.das.unit;
+
+import com.etendoerp.etendorx.data.ETRXEntityField;
+import com.etendoerp.etendorx.data.InstanceConnectorMapping;
+import com.etendorx.das.connector.OBCONFieldMapping;
+import com.etendorx.entities.metadata.MetadataUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class OBCONFieldMappingTest {
+
+  private InstanceConnectorMapping mapping;
+  private ETRXEntityField field;
+
+  @BeforeEach
+  public void setUp() {
+    mapping = mock(InstanceConnectorMapping.class, RETURNS_DEEP_STUBS);
+    field = mock(ETRXEntityField.class);
+    when(field.getName()).thenReturn("name");
+    when(field.getFieldMapping()).thenReturn("DM");
+    var projectionEntity = mapping.getEtrxEntityMapping().getProjectionEntity();
+    when(mapping.getId()).thenReturn("M1");
+    when(projectionEntity.getId()).thenReturn("P1");
+    when(projectionEntity.getETRXEntityFieldList()).thenReturn(List.of(field));
+  }
+
+  @AfterEach
+  public void tearDown() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static String jsonPath(Object descriptors) {
+    return (String) ((List<Map<String, Object>>) descriptors).get(0).get("jsonpath");
+  }
+
+  @Test
+  void testDescriptorsAreCached() {
+    OBCONFieldMapping fieldMapping = new OBCONFieldMapping(mock(MetadataUtil.class), 60000);
+
+    Object first = fieldMapping.map(mapping);
+    Object second = fieldMapping.map(mapping);
+
+    assertSame(first, second);
+    assertEquals("$.name", jsonPath(first));
+  }
+
+  @Test
+  void testDescriptorsAreRebuiltAfterTimeToLive() {
+    OBCONFieldMapping fieldMapping = new OBCONFieldMapping(mock(MetadataUtil.class), 0);
+    fieldMapping.map(mapping);
+
+    when(field.getJsonpath()).thenReturn("$.changed");
+
+    assertEquals("$.changed", jsonPath(fieldMapping.map(mapping)));
+  }
+
+  @Test
+  void testDescriptorsAreRebuiltAfterCommit() {
+    OBCONFieldMapping fieldMapping = new OBCONFieldMapping(mock(MetadataUtil.class), 60000);
+    fieldMapping.map(mapping);
+    TransactionSynchronizationManager.initSynchronization();
+
+    // The change is flushed but not committed, lookups keep the cached descriptors
+    fieldMapping.onPostUpdate(field, null);
+    when(field.getJsonpath()).thenReturn("$.changed");
+    assertEquals("$.name", jsonPath(fieldMapping.map(mapping)));
+
+    TransactionSynchronizationManager.getSynchronizations()
+        .forEach(TransactionSynchronization::afterCommit);
+    assertEquals("$.changed", jsonPath(fieldMapping.map(mapping)));
+  }
+}
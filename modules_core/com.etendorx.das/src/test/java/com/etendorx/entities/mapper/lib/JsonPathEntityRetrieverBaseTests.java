@@ -28,17 +28,25 @@ import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabas
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.repository.CrudRepository;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.TreeSet;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -76,6 +84,12 @@ public class JsonPathEntityRetrieverBaseTests {
     String name;
   }
 
+  /**
+   * Repository exposing both lookups, as the generated DAS repositories do.
+   */
+  interface CarRepository extends CrudRepository<Car, String>, JpaSpecificationExecutor<Car> {
+  }
+
   /**
    * Set up the test environment before each test.
    */
@@ -116,8 +130,8 @@ public class JsonPathEntityRetrieverBaseTests {
     Car expectedEntity = new Car("1", "Car 1");
     List<Car> list = Collections.singletonList(expectedEntity);
     String key = "1";
-    when(repository.findAll(any(Specification.class))).thenReturn(
-        list);
+    when(repository.findAll(any(Specification.class), any(Pageable.class))).thenReturn(
+        new PageImpl<>(list));
 
     // When
     Car result = retriever.get(key);
@@ -146,7 +160,8 @@ public class JsonPathEntityRetrieverBaseTests {
     Car expectedEntity = new Car("1", "Car 1");
     List<Car> list = Collections.singletonList(expectedEntity);
     Integer key = 1;
-    when(repository.findAll(any(Specification.class))).thenReturn(list);
+    when(repository.findAll(any(Specification.class), any(Pageable.class))).thenReturn(
+        new PageImpl<>(list));
 
     // When
     Car result = retriever.get(key);
@@ -184,4 +199,46 @@ public class JsonPathEntityRetrieverBaseTests {
     // Then
     assertThrows(ResponseStatusException.class, () -> retriever.get(unsupportedKey));
   }
+
+  /**
+   * Test the get method when the repository supports lookups by id.
+   * The method should use findById and not run a specification query.
+   */
+  @Test
+  void getByIdShouldUseFindById() {
+    // Given
+    CarRepository carRepository = mock(CarRepository.class);
+    Car expectedEntity = new Car("1", "Car 1");
+    when(externalIdService.convertExternalToInternalId(any(), any())).thenReturn("1");
+    when(carRepository.findById("1")).thenReturn(Optional.of(expectedEntity));
+    var idRetriever = new JsonPathEntityRetrieverDefault<>(carRepository, externalIdService, "");
+
+    // When
+    Car result = idRetriever.get("id", "1");
+
+    // Then
+    assertEquals(expectedEntity, result);
+    verify(carRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+  }
+
+  /**
+   * Test the get method when more than one entity matches the keys.
+   * The method should read at most two rows and return the first one.
+   */
+  @Test
+  void getWithNonUniqueResultShouldReturnFirstOfTwoRows() {
+    // Given
+    Car first = new Car("1", "Car 1");
+    Car second = new Car("2", "Car 1");
+    when(repository.findAll(any(Specification.class), any(Pageable.class))).thenReturn(
+        new PageImpl<>(List.of(first, second)));
+
+    // When
+    Car result = retriever.get("name", "Car 1");
+
+    // Then
+    assertEquals(first, result);
+    verify(repository).findAll(any(Specification.class),
+        argThat((Pageable pageable) -> pageable.getPageSize() == 2));
+  }
 }
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2022-2024  Futit Services SL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.etendorx.grpc.common;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Timestamp;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Date;
+
+/**
+ * Conversions between the Java values of the entities and their protobuf encoding. Decimals keep
+ * their unscaled value and scale, and timestamps keep their nanoseconds.
+ */
+public final class GrpcValues {
+
+  private GrpcValues() {
+  }
+
+  /**
+   * Encodes a decimal. The unscaled value of zero is left empty.
+   *
+   * @param value the decimal
+   * @return Decimal the encoded decimal
+   */
+  public static Decimal toDecimal(BigDecimal value) {
+    var unscaled = value.signum() == 0
+        ? ByteString.EMPTY
+        : ByteString.copyFrom(value.unscaledValue().toByteArray());
+    return Decimal.newBuilder().setUnscaled(unscaled).setScale(value.scale()).build();
+  }
+
+  /**
+   * Decodes a decimal, keeping its scale.
+   *
+   * @param value the encoded decimal
+   * @return BigDecimal the decimal
+   */
+  public static BigDecimal toBigDecimal(Decimal value) {
+    if (value.getUnscaled().isEmpty()) {
+      return BigDecimal.valueOf(0, value.getScale());
+    }
+    return new BigDecimal(new BigInteger(value.getUnscaled().toByteArray()), value.getScale());
+  }
+
+  /**
+   * Encodes a date. The nanoseconds of a {@link java.sql.Timestamp} are kept, and dates before
+   * 1970 are encoded with a non-negative nanosecond part, as protobuf requires.
+   *
+   * @param value the date
+   * @return Timestamp the encoded date
+   */
+  public static Timestamp toTimestamp(Date value) {
+    long millis = value.getTime();
+    int nanos = value instanceof java.sql.Timestamp timestamp
+        ? timestamp.getNanos()
+        : (int) Math.floorMod(millis, 1000) * 1_000_000;
+    return Timestamp.newBuilder().setSeconds(Math.floorDiv(millis, 1000)).setNanos(nanos).build();
+  }
+
+  /**
+   * Decodes a timestamp to a date, truncated to milliseconds.
+   *
+   * @param value the encoded timestamp
+   * @return Date the date
+   */
+  public static Date toDate(Timestamp value) {
+    return new Date(value.getSeconds() * 1000 + value.getNanos() / 1_000_000);
+  }
+
+  /**
+   * Decodes a timestamp, keeping its nanoseconds.
+   *
+   * @param value the encoded timestamp
+   * @return java.sql.Timestamp the timestamp
+   */
+  public static java.sql.Timestamp toSqlTimestamp(Timestamp value) {
+    var timestamp = new java.sql.Timestamp(value.getSeconds() * 1000);
+    timestamp.setNanos(value.getNanos());
+    return timestamp;
+  }
+}
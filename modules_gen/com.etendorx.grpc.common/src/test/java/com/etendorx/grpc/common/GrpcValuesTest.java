@@ -0,0 +1,135 @@
+/*
+ * Copyright 2022-2024  Futit Services SL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.etendorx.grpc.common;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Timestamp;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GrpcValuesTest {
+
+  private static void assertRoundTrip(BigDecimal value) {
+    BigDecimal decoded = GrpcValues.toBigDecimal(GrpcValues.toDecimal(value));
+    assertEquals(value, decoded);
+    assertEquals(value.scale(), decoded.scale());
+  }
+
+  @Test
+  void zeroKeepsItsScale() {
+    var decimal = GrpcValues.toDecimal(new BigDecimal("0.00"));
+
+    assertTrue(decimal.getUnscaled().isEmpty());
+    assertEquals(2, decimal.getScale());
+    assertRoundTrip(BigDecimal.ZERO);
+    assertRoundTrip(new BigDecimal("0.00"));
+  }
+
+  @Test
+  void zeroWrittenWithAByteIsRead() {
+    var decimal = Decimal.newBuilder()
+        .setUnscaled(ByteString.copyFrom(BigInteger.ZERO.toByteArray()))
+        .setScale(3)
+        .build();
+
+    assertEquals(new BigDecimal("0.000"), GrpcValues.toBigDecimal(decimal));
+  }
+
+  @Test
+  void decimalsRoundTrip() {
+    assertRoundTrip(new BigDecimal("1"));
+    assertRoundTrip(new BigDecimal("-1"));
+    assertRoundTrip(new BigDecimal("127"));
+    assertRoundTrip(new BigDecimal("128"));
+    assertRoundTrip(new BigDecimal("-128"));
+    assertRoundTrip(new BigDecimal("-129"));
+    assertRoundTrip(new BigDecimal("12.34"));
+    assertRoundTrip(new BigDecimal("-0.01"));
+  }
+
+  @Test
+  void largeScaleDecimalsRoundTrip() {
+    assertRoundTrip(
+        new BigDecimal("123456789012345678901234567890.123456789012345678901234567890"));
+    assertRoundTrip(new BigDecimal("-0.000000000000000000000000000000000000001"));
+    assertRoundTrip(new BigDecimal(BigInteger.TWO.pow(200).negate(), 60));
+  }
+
+  @Test
+  void negativeScaleDecimalsRoundTrip() {
+    var value = new BigDecimal("1.2E+5");
+    var decimal = GrpcValues.toDecimal(value);
+
+    assertEquals(-4, decimal.getScale());
+    assertRoundTrip(value);
+    assertRoundTrip(new BigDecimal("-9E+10"));
+  }
+
+  @Test
+  void sqlTimestampKeepsItsNanos() {
+    var value = java.sql.Timestamp.valueOf("2024-03-01 10:15:30.123456789");
+
+    Timestamp encoded = GrpcValues.toTimestamp(value);
+    java.sql.Timestamp decoded = GrpcValues.toSqlTimestamp(encoded);
+
+    assertEquals(123456789, encoded.getNanos());
+    assertEquals(value, decoded);
+    assertEquals(123456789, decoded.getNanos());
+  }
+
+  @Test
+  void dateKeepsItsMillis() {
+    var value = new Date(1_709_288_130_123L);
+
+    Timestamp encoded = GrpcValues.toTimestamp(value);
+
+    assertEquals(1_709_288_130L, encoded.getSeconds());
+    assertEquals(123_000_000, encoded.getNanos());
+    assertEquals(value, GrpcValues.toDate(encoded));
+    assertEquals(value.getTime(), GrpcValues.toSqlTimestamp(encoded).getTime());
+  }
+
+  @Test
+  void datesBefore1970HaveNonNegativeNanos() {
+    var value = new Date(-1_500L);
+
+    Timestamp encoded = GrpcValues.toTimestamp(value);
+
+    assertEquals(-2L, encoded.getSeconds());
+    assertEquals(500_000_000, encoded.getNanos());
+    assertEquals(value, GrpcValues.toDate(encoded));
+  }
+
+  @Test
+  void sqlTimestampsBefore1970RoundTrip() {
+    var value = java.sql.Timestamp.valueOf("1965-07-20 23:59:59.987654321");
+
+    Timestamp encoded = GrpcValues.toTimestamp(value);
+    java.sql.Timestamp decoded = GrpcValues.toSqlTimestamp(encoded);
+
+    assertTrue(encoded.getSeconds() < 0);
+    assertEquals(987654321, encoded.getNanos());
+    assertEquals(value, decoded);
+    assertEquals(value.getTime(), GrpcValues.toDate(encoded).getTime());
+  }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2022-2024  Futit Services SL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.etendorx.benchmarks;
+
+import com.etendorx.das.utils.MappingUtilsImpl;
+import com.etendorx.entities.jparepo.ETRX_Constant_ValueRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Benchmarks the read conversion of a page of entities through
+ * {@link com.etendorx.entities.mapper.lib.DTOConverterBase}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DTOConverterBenchmark {
+
+  @Param({ "20", "100" })
+  private int pageSize;
+
+  private SyntheticDTOConverter converter;
+  private Page<SyntheticEntity> page;
+
+  @Setup
+  public void setUp() {
+    SyntheticEntities.setUserContext();
+    converter = new SyntheticDTOConverter(
+        new MappingUtilsImpl(mock(ETRX_Constant_ValueRepository.class)));
+    page = new PageImpl<>(SyntheticEntities.entities(pageSize, 0),
+        PageRequest.of(0, pageSize), pageSize * 10L);
+  }
+
+  @Benchmark
+  public Page<Map<String, Object>> convertPage() {
+    return converter.convert(page);
+  }
+}
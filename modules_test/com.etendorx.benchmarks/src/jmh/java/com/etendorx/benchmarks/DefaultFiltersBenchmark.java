@@ -0,0 +1,59 @@
+/*
+ * Copyright 2022-2024  Futit Services SL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.etendorx.benchmarks;
+
+import com.etendorx.das.utils.DefaultFilters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the rewrite of the SQL statements done by {@link DefaultFilters} on every query.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DefaultFiltersBenchmark {
+
+  private static final String USER_ID = "A530AAE22C864702B7E1C22D58E7B17B";
+  private static final String CLIENT_ID = "23C59575B9CF467C9620760EB255B389";
+  private static final String ROLE_ID = "42D0EEB1C66F497A90DD526DC597E6F0";
+
+  private static final String SELECT = "select o.c_order_id, o.documentno, o.grandtotal "
+      + "from c_order o where o.c_bpartner_id = ? and o.dateordered > ? order by o.dateordered";
+  private static final String UPDATE = "update c_order set description = ? where c_order_id = ?";
+
+  @Param({ DefaultFilters.GET_METHOD, DefaultFilters.PUT_METHOD })
+  private String restMethod;
+
+  @Benchmark
+  public String select() {
+    return DefaultFilters.addFilters(SELECT, USER_ID, CLIENT_ID, ROLE_ID, true, restMethod);
+  }
+
+  @Benchmark
+  public String update() {
+    return DefaultFilters.addFilters(UPDATE, USER_ID, CLIENT_ID, ROLE_ID, true,
+        DefaultFilters.PUT_METHOD);
+  }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2022-2024  Futit Services SL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.etendorx.benchmarks;
+
+import com.etendorx.eventhandler.AnnotatedEventHandlerListenerInvoker;
+import com.etendorx.eventhandler.annotation.EventHandlerListener;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.PreInsertEvent;
+import org.hibernate.event.spi.PreUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Benchmarks the dispatch of the Hibernate events to the {@link EventHandlerListener} methods
+ * done by {@link AnnotatedEventHandlerListenerInvoker} on every insert, update and delete.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EventHandlerDispatchBenchmark {
+
+  private AnnotatedEventHandlerListenerInvoker invoker;
+  private Handlers handlers;
+  private PreInsertEvent handledEvent;
+  private PreInsertEvent unhandledEvent;
+
+  @Setup
+  public void setUp() {
+    invoker = new AnnotatedEventHandlerListenerInvoker();
+    handlers = new Handlers();
+    invoker.postProcessAfterInitialization(handlers, "handlers");
+    EntityPersister persister = mock(EntityPersister.class);
+    EventSource source = mock(EventSource.class);
+    SyntheticEntity entity = SyntheticEntities.entities(1, 0).get(0);
+    handledEvent = new PreInsertEvent(entity, entity.getId(), new Object[0], persister, source);
+    unhandledEvent = new PreInsertEvent(new UnhandledEntity(), "1", new Object[0], persister,
+        source);
+  }
+
+  @Benchmark
+  public boolean dispatchHandled() {
+    return invoker.onPreInsert(handledEvent);
+  }
+
+  @Benchmark
+  public boolean dispatchUnhandled() {
+    return invoker.onPreInsert(unhandledEvent);
+  }
+
+  /**
+   * Entity class without registered handlers.
+   */
+  public static class UnhandledEntity {
+  }
+
+  /**
+   * Handlers registered for several event types, as a module with event handlers would do.
+   */
+  public static class Handlers {
+    private long calls;
+
+    @EventHandlerListener
+    public void preInsert(SyntheticEntity entity, PreInsertEvent event) {
+      calls++;
+    }
+
+    @EventHandlerListener
+    public void preInsertAudit(SyntheticEntity entity, PreInsertEvent event) {
+      calls++;
+    }
+
+    @EventHandlerListener
+    public void preUpdate(SyntheticEntity entity, PreUpdateEvent event) {
+      calls++;
+    }
+  }
+}
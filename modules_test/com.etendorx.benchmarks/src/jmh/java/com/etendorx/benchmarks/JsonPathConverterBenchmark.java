@@ -0,0 +1,58 @@
+/*
+ * Copyright 2022-2024  Futit Services SL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.etendorx.benchmarks;
+
+import com.etendorx.das.utils.MappingUtilsImpl;
+import com.etendorx.entities.jparepo.ETRX_Constant_ValueRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Benchmarks the conversion of a write request body through
+ * {@link com.etendorx.entities.mapper.lib.JsonPathConverterBase}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JsonPathConverterBenchmark {
+
+  private SyntheticJsonPathConverter converter;
+  private String rawData;
+
+  @Setup
+  public void setUp() {
+    SyntheticEntities.setUserContext();
+    converter = new SyntheticJsonPathConverter(
+        new MappingUtilsImpl(mock(ETRX_Constant_ValueRepository.class)));
+    rawData = SyntheticEntities.json(1);
+  }
+
+  @Benchmark
+  public Map<String, Object> convert() {
+    return converter.convert(rawData);
+  }
+}
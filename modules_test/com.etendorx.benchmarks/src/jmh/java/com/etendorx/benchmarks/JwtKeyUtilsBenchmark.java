@@ -0,0 +1,79 @@
+/*
+ * Copyright 2022-2024  Futit Services SL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.etendorx.benchmarks;
+
+import com.etendorx.utils.auth.key.JwtKeyUtils;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.ECDSASigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.ECPrivateKey;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the parsing and verification of the token done on every request by
+ * {@link JwtKeyUtils#getTokenValues(String, String)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtKeyUtilsBenchmark {
+
+  private String publicKey;
+  private String token;
+
+  @Setup
+  public void setUp() throws GeneralSecurityException, JOSEException {
+    KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+    generator.initialize(new ECGenParameterSpec("secp256r1"));
+    KeyPair keyPair = generator.generateKeyPair();
+    publicKey = Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded());
+
+    JWTClaimsSet claims = new JWTClaimsSet.Builder()
+        .issuer("EtendoRX Auth")
+        .claim(JwtKeyUtils.USER_ID_CLAIM, "100")
+        .claim(JwtKeyUtils.CLIENT_ID_CLAIM, "23C59575B9CF467C9620760EB255B389")
+        .claim(JwtKeyUtils.ORG_ID, "0")
+        .claim(JwtKeyUtils.ROLE_ID, "42D0EEB1C66F497A90DD526DC597E6F0")
+        .claim(JwtKeyUtils.SERVICE_SEARCH_KEY, "das")
+        .build();
+    SignedJWT signedJWT = new SignedJWT(new JWSHeader(JWSAlgorithm.ES256), claims);
+    signedJWT.sign(new ECDSASigner((ECPrivateKey) keyPair.getPrivate()));
+    token = signedJWT.serialize();
+  }
+
+  @Benchmark
+  public Map<String, Object> getTokenValues() {
+    return JwtKeyUtils.getTokenValues(publicKey, token);
+  }
+}
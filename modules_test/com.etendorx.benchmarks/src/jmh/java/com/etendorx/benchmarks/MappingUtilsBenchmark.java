@@ -0,0 +1,88 @@
+/*
+ * Copyright 2022-2024  Futit Services SL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.etendorx.benchmarks;
+
+import com.etendorx.das.utils.MappingUtilsImpl;
+import com.etendorx.entities.jparepo.ETRX_Constant_ValueRepository;
+import org.hibernate.collection.spi.PersistentBag;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Benchmarks the value conversions done by {@link MappingUtilsImpl} for every field of every
+ * row read or written.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MappingUtilsBenchmark {
+
+  private MappingUtilsImpl mappingUtils;
+  private SyntheticEntity entity;
+  private Date date;
+  private PersistentBag<SyntheticEntity> bag;
+
+  @Setup
+  public void setUp() {
+    SyntheticEntities.setUserContext();
+    mappingUtils = new MappingUtilsImpl(mock(ETRX_Constant_ValueRepository.class));
+    entity = SyntheticEntities.entities(1, 10).get(0);
+    date = entity.getUpdated();
+    bag = new PersistentBag<>(null, entity.getLines());
+  }
+
+  @Benchmark
+  public Object handleBaseObjectEntity() {
+    return mappingUtils.handleBaseObject(entity.getBusinessPartner());
+  }
+
+  @Benchmark
+  public Object handleBaseObjectDate() {
+    return mappingUtils.handleBaseObject(date);
+  }
+
+  @Benchmark
+  public Object handleBaseObjectBag() {
+    return mappingUtils.handleBaseObject(bag);
+  }
+
+  @Benchmark
+  public Object handleBaseObjectScalar() {
+    return mappingUtils.handleBaseObject(entity.getAmount());
+  }
+
+  @Benchmark
+  public Date parseDateTime() {
+    return mappingUtils.parseDate("2024-01-01 10:00:00");
+  }
+
+  @Benchmark
+  public Date parseDateFallback() {
+    // Fails with the date time format and is parsed with the date format
+    return mappingUtils.parseDate("2024-01-01");
+  }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2022-2024  Futit Services SL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.etendorx.benchmarks;
+
+import com.etendorx.entities.entities.mappings.MappingUtils;
+import com.etendorx.entities.mapper.lib.DTOConverterBase;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * DTO converter with the same structure as the generated read converters: a null-checked getter
+ * chain per field and a call to {@link MappingUtils#handleBaseObject(Object)} for each value.
+ */
+public class SyntheticDTOConverter
+    extends DTOConverterBase<SyntheticEntity, Map<String, Object>, Map<String, Object>> {
+
+  private final MappingUtils mappingUtils;
+
+  public SyntheticDTOConverter(MappingUtils mappingUtils) {
+    this.mappingUtils = mappingUtils;
+  }
+
+  @Override
+  public Map<String, Object> convert(SyntheticEntity entity) {
+    if (entity == null) {
+      return null;
+    }
+    Map<String, Object> dto = new HashMap<>();
+    dto.put("id", entity.getId());
+    dto.put("searchKey", handle(entity.getSearchKey()));
+    dto.put("name", handle(entity.getName()));
+    dto.put("description", handle(entity.getDescription()));
+    dto.put("active", handle(entity.getActive()));
+    dto.put("amount", handle(entity.getAmount()));
+    dto.put("creationDate", handle(entity.getCreationDate()));
+    dto.put("updated", handle(entity.getUpdated()));
+    dto.put("organization", handle(entity.getOrganization()));
+    dto.put("organizationName",
+        entity.getOrganization() != null ? handle(entity.getOrganization().getName()) : null);
+    dto.put("businessPartner", handle(entity.getBusinessPartner()));
+    dto.put("businessPartnerName",
+        entity.getBusinessPartner() != null ? handle(entity.getBusinessPartner().getName()) : null);
+    return dto;
+  }
+
+  @Override
+  public SyntheticEntity convert(Map<String, Object> dto, SyntheticEntity entity) {
+    return entity;
+  }
+
+  @Override
+  public SyntheticEntity convertList(Map<String, Object> dto, SyntheticEntity entity) {
+    return entity;
+  }
+
+  private Object handle(Object value) {
+    return value != null ? mappingUtils.handleBaseObject(value) : null;
+  }
+}
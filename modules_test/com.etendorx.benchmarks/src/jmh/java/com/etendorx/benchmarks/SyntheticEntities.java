@@ -0,0 +1,120 @@
+/*
+ * Copyright 2022-2024  Futit Services SL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.etendorx.benchmarks;
+
+import com.etendorx.utils.auth.key.context.AppContext;
+import com.etendorx.utils.auth.key.context.UserContext;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates the synthetic entities and JSON documents used by the benchmarks.
+ * The generation is seeded, so every run works over the same data.
+ */
+public class SyntheticEntities {
+
+  private static final long SEED = 20240101L;
+  private static final long BASE_TIME = 1704067200000L;
+
+  private SyntheticEntities() {
+  }
+
+  /**
+   * Creates a list of entities, each one referencing an organization and a business partner
+   * and holding the given number of lines.
+   *
+   * @param count The number of entities.
+   * @param lines The number of lines of each entity.
+   * @return List<SyntheticEntity> The generated entities.
+   */
+  public static List<SyntheticEntity> entities(int count, int lines) {
+    Random random = new Random(SEED);
+    SyntheticEntity organization = entity(random, "ORG", null);
+    List<SyntheticEntity> result = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      SyntheticEntity entity = entity(random, "DOC", organization);
+      entity.setBusinessPartner(entity(random, "BP", organization));
+      List<SyntheticEntity> entityLines = new ArrayList<>(lines);
+      for (int j = 0; j < lines; j++) {
+        entityLines.add(entity(random, "LINE", organization));
+      }
+      entity.setLines(entityLines);
+      result.add(entity);
+    }
+    return result;
+  }
+
+  /**
+   * Creates the JSON document of a write request, with the same fields the entities expose.
+   *
+   * @param index The index of the document, used to build unique values.
+   * @return String The JSON document.
+   */
+  public static String json(int index) {
+    return "{"
+        + "\"id\": \"" + id(index) + "\","
+        + "\"searchKey\": \"DOC-" + index + "\","
+        + "\"name\": \"Synthetic document " + index + "\","
+        + "\"description\": \"Generated for benchmarking purposes\","
+        + "\"active\": true,"
+        + "\"amount\": " + (index * 13.37) + ","
+        + "\"creationDate\": \"2024-01-01 10:00:00\","
+        + "\"organization\": {\"id\": \"" + id(0) + "\"},"
+        + "\"businessPartner\": \"" + id(index + 1) + "\","
+        + "\"lines\": [{\"id\": \"" + id(index + 2) + "\"}, {\"id\": \"" + id(index + 3) + "\"}]"
+        + "}";
+  }
+
+  /**
+   * Sets the user of the current thread with the date formats used by the mappings.
+   */
+  public static void setUserContext() {
+    UserContext userContext = new UserContext();
+    userContext.setUserId("100");
+    userContext.setClientId("23C59575B9CF467C9620760EB255B389");
+    userContext.setRoleId("42D0EEB1C66F497A90DD526DC597E6F0");
+    userContext.setDateFormat("yyyy-MM-dd");
+    userContext.setDateTimeFormat("yyyy-MM-dd HH:mm:ss");
+    userContext.setTimeZone("UTC");
+    AppContext.setCurrentUser(userContext);
+  }
+
+  private static SyntheticEntity entity(Random random, String prefix,
+      SyntheticEntity organization) {
+    int number = random.nextInt(1_000_000);
+    SyntheticEntity entity = new SyntheticEntity();
+    entity.setId(id(number));
+    entity.setSearchKey(prefix + "-" + number);
+    entity.setName("Synthetic " + prefix.toLowerCase() + " " + number);
+    entity.setDescription("Generated for benchmarking purposes");
+    entity.setActive(random.nextBoolean());
+    entity.setAmount(BigDecimal.valueOf(random.nextInt(100_000), 2));
+    entity.setCreationDate(new Date(BASE_TIME + random.nextInt(1_000_000_000)));
+    entity.setUpdated(new Timestamp(BASE_TIME + random.nextInt(1_000_000_000)));
+    entity.setOrganization(organization);
+    return entity;
+  }
+
+  private static String id(int number) {
+    return String.format("%032X", number);
+  }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2022-2024  Futit Services SL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.etendorx.benchmarks;
+
+import com.etendorx.entities.entities.BaseSerializableObject;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Entity with the shape of a generated entity: scalar columns, dates, many-to-one references
+ * and a one-to-many list.
+ */
+@Getter
+@Setter
+public class SyntheticEntity implements BaseSerializableObject {
+
+  private String id;
+  private String searchKey;
+  private String name;
+  private String description;
+  private Boolean active;
+  private BigDecimal amount;
+  private Date creationDate;
+  private Date updated;
+  private SyntheticEntity organization;
+  private SyntheticEntity businessPartner;
+  private List<SyntheticEntity> lines;
+
+  @Override
+  public String get_identifier() {
+    return searchKey + " - " + name;
+  }
+
+  @Override
+  public String getTableId() {
+    return "259";
+  }
+}
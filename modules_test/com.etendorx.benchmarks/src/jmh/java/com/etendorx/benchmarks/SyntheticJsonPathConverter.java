@@ -0,0 +1,81 @@
+/*
+ * Copyright 2022-2024  Futit Services SL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.etendorx.benchmarks;
+
+import com.etendorx.entities.entities.mappings.MappingUtils;
+import com.etendorx.entities.mapper.lib.JsonPathConverterBase;
+import com.etendorx.entities.mapper.lib.ReturnKey;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JSON path converter with the same structure as the generated ones: one read per field, date
+ * parsing through {@link MappingUtils} and a final validation of all the read values.
+ */
+public class SyntheticJsonPathConverter extends JsonPathConverterBase<Map<String, Object>> {
+
+  private final MappingUtils mappingUtils;
+
+  public SyntheticJsonPathConverter(MappingUtils mappingUtils) {
+    this.mappingUtils = mappingUtils;
+  }
+
+  @Override
+  public Map<String, Object> convert(String rawData) {
+    var ctx = getReadContext(rawData);
+    List<ReturnKey<?>> values = new ArrayList<>();
+    Map<String, Object> dto = new HashMap<>();
+
+    var id = read(ctx, "$.id", String.class);
+    values.add(id);
+    dto.put("id", id.getValue());
+    var searchKey = read(ctx, "$.searchKey", String.class);
+    values.add(searchKey);
+    dto.put("searchKey", searchKey.getValue());
+    var name = read(ctx, "$.name", String.class);
+    values.add(name);
+    dto.put("name", name.getValue());
+    var description = read(ctx, "$.description", String.class);
+    values.add(description);
+    dto.put("description", description.getValue());
+    var active = read(ctx, "$.active", Boolean.class);
+    values.add(active);
+    dto.put("active", active.getValue());
+    var amount = read(ctx, "$.amount", BigDecimal.class);
+    values.add(amount);
+    dto.put("amount", amount.getValue());
+    var creationDate = read(ctx, "$.creationDate", String.class);
+    values.add(creationDate);
+    dto.put("creationDate", mappingUtils.parseDate(creationDate.getValue()));
+    var organization = read(ctx, "$.organization", Object.class);
+    values.add(organization);
+    dto.put("organization", toString(organization.getValue()));
+    var businessPartner = read(ctx, "$.businessPartner", Object.class);
+    values.add(businessPartner);
+    dto.put("businessPartner", toString(businessPartner.getValue()));
+    var lines = read(ctx, "$.lines", List.class);
+    values.add(lines);
+    dto.put("lines", lines.getValue());
+
+    validateValues(values);
+    return dto;
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2022-2024  Futit Services SL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.etendorx.loadtest;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * PostgreSQL server started from the bundled binaries, without containers nor an external
+ * installation. The Etendo schema is loaded from a plain SQL script before DAS starts.
+ */
+@Slf4j
+public class EmbeddedDatabase implements AutoCloseable {
+
+  public static final String USER = "postgres";
+  public static final String DATABASE = "postgres";
+
+  private final EmbeddedPostgres postgres;
+
+  private EmbeddedDatabase(EmbeddedPostgres postgres) {
+    this.postgres = postgres;
+  }
+
+  /**
+   * Starts the database and loads the schema script.
+   *
+   * @param schema The path of the SQL script.
+   * @return EmbeddedDatabase The started database.
+   * @throws IOException          If the server cannot be started.
+   * @throws SQLException         If the script fails.
+   * @throws InterruptedException If interrupted while waiting for psql.
+   */
+  public static EmbeddedDatabase start(String schema)
+      throws IOException, SQLException, InterruptedException {
+    EmbeddedDatabase database = new EmbeddedDatabase(EmbeddedPostgres.builder().start());
+    log.info("Embedded PostgreSQL started on port {}", database.getPort());
+    database.loadSchema(new File(schema));
+    return database;
+  }
+
+  public int getPort() {
+    return postgres.getPort();
+  }
+
+  public String getJdbcUrl() {
+    return postgres.getJdbcUrl(USER, DATABASE);
+  }
+
+  /**
+   * Loads the script with psql when it is available, it supports COPY and dollar quoted function
+   * bodies. Otherwise the script is executed statement by statement through JDBC, which is enough
+   * for dumps generated with --inserts and without functions.
+   */
+  private void loadSchema(File schema) throws IOException, SQLException, InterruptedException {
+    long start = System.currentTimeMillis();
+    if (!loadWithPsql(schema)) {
+      try (Connection connection = postgres.getPostgresDatabase().getConnection()) {
+        ScriptUtils.executeSqlScript(connection, new FileSystemResource(schema));
+      }
+    }
+    log.info("Schema {} loaded in {} ms", schema, System.currentTimeMillis() - start);
+  }
+
+  private boolean loadWithPsql(File schema) throws InterruptedException {
+    ProcessBuilder builder = new ProcessBuilder("psql", "-q", "-v", "ON_ERROR_STOP=1", "-h",
+        "localhost", "-p", String.valueOf(getPort()), "-U", USER, "-d", DATABASE, "-f",
+        schema.getAbsolutePath()).inheritIO();
+    try {
+      int exitCode = builder.start().waitFor();
+      if (exitCode != 0) {
+        throw new IllegalStateException("psql failed loading " + schema + ", exit code " + exitCode);
+      }
+      return true;
+    } catch (IOException e) {
+      log.info("psql not found, loading the schema through JDBC");
+      return false;
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    postgres.close();
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2022-2024  Futit Services SL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.etendorx.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Results of a load test phase: throughput, latency percentiles and errors per operation, and
+ * the bytes allocated per request.
+ */
+public class LoadReport {
+
+  private static final double[] PERCENTILES = { 50, 90, 99, 99.9 };
+
+  private final LoadTestConfig config;
+  private final Map<Operation, OperationStats> stats;
+  private final long elapsedNanos;
+  private final long allocatedBytes;
+
+  public LoadReport(LoadTestConfig config, Map<Operation, OperationStats> stats,
+      long elapsedNanos, long allocatedBytes) {
+    this.config = config;
+    this.stats = stats;
+    this.elapsedNanos = elapsedNanos;
+    this.allocatedBytes = allocatedBytes;
+  }
+
+  public long getTotalRequests() {
+    return stats.values().stream().mapToLong(OperationStats::getCount).sum();
+  }
+
+  /**
+   * Summary of the phase.
+   *
+   * @return Map<String, Object> The summary, ready to be serialized.
+   */
+  public Map<String, Object> toMap() {
+    double seconds = elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1);
+    long total = getTotalRequests();
+    Map<String, Object> summary = new LinkedHashMap<>();
+    summary.put("entity", config.getEntity());
+    summary.put("threads", config.getThreads());
+    summary.put("arraySize", config.getArraySize());
+    summary.put("externalIdRate", config.getExternalIdRate());
+    summary.put("seconds", seconds);
+    summary.put("requests", total);
+    summary.put("requestsPerSecond", total / seconds);
+    summary.put("allocatedBytesPerRequest", total == 0 ? 0 : allocatedBytes / total);
+    Map<String, Object> operations = new LinkedHashMap<>();
+    for (OperationStats operationStats : stats.values()) {
+      if (operationStats.getCount() == 0) {
+        continue;
+      }
+      Histogram latencies = operationStats.getLatencies();
+      Map<String, Object> operation = new LinkedHashMap<>();
+      operation.put("requests", operationStats.getCount());
+      operation.put("errors", operationStats.getErrors());
+      operation.put("requestsPerSecond", operationStats.getCount() / seconds);
+      for (double percentile : PERCENTILES) {
+        operation.put("p" + percentile + "Micros", latencies.getValueAtPercentile(percentile));
+      }
+      operation.put("maxMicros", latencies.getMaxValue());
+      operations.put(operationStats.getOperation().name(), operation);
+    }
+    summary.put("operations", operations);
+    return summary;
+  }
+
+  /**
+   * Prints the summary and writes it to a JSON file.
+   *
+   * @param file The JSON file.
+   * @return String The printed summary.
+   * @throws IOException If the file cannot be written.
+   */
+  public String write(File file) throws IOException {
+    ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    file.getParentFile().mkdirs();
+    objectMapper.writeValue(file, toMap());
+    return objectMapper.writeValueAsString(toMap());
+  }
+}
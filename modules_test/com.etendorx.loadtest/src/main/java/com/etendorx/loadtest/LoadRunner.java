@@ -0,0 +1,233 @@
+/*
+ * Copyright 2022-2024  Futit Services SL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.etendorx.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sends the configured traffic mix to DAS from a pool of worker threads and collects the
+ * latency of every request.
+ */
+@Slf4j
+public class LoadRunner {
+
+  private static final String X_TOKEN = "X-TOKEN";
+  private static final int SEED_BATCH = 50;
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+  private static final com.sun.management.ThreadMXBean THREADS =
+      (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+  private final LoadTestConfig config;
+  private final RequestFactory requests;
+  private final String baseUrl;
+  private final String token;
+  private final HttpClient client = HttpClient.newBuilder()
+      .connectTimeout(Duration.ofSeconds(10))
+      .build();
+
+  public LoadRunner(LoadTestConfig config, RequestFactory requests, int port, String token) {
+    this.config = config;
+    this.requests = requests;
+    this.baseUrl = "http://localhost:" + port + config.getEntity();
+    this.token = token;
+  }
+
+  /**
+   * Creates the records the GET and PUT requests work with.
+   *
+   * @throws IOException          If a request fails.
+   * @throws InterruptedException If interrupted.
+   */
+  public void seed() throws IOException, InterruptedException {
+    int created = 0;
+    while (created < config.getSeedCount()) {
+      int size = Math.min(SEED_BATCH, config.getSeedCount() - created);
+      HttpResponse<String> response = send(Operation.POST, requests.body(size), null);
+      if (response.statusCode() >= 300) {
+        throw new IllegalStateException(
+            "Seeding failed with status " + response.statusCode() + ": " + response.body());
+      }
+      collectIds(response.body());
+      created += size;
+    }
+    log.info("Seeded {} records", requests.getKnownIds());
+  }
+
+  /**
+   * Runs the mix during the given time.
+   *
+   * @param seconds The duration of the phase.
+   * @return LoadReport The results of the phase.
+   * @throws InterruptedException If interrupted.
+   */
+  public LoadReport run(int seconds) throws InterruptedException {
+    Map<Long, Long> allocatedBefore = allocatedBytesByThread();
+    Set<Long> workerThreads = ConcurrentHashMap.newKeySet();
+    LongAdder workerAllocated = new LongAdder();
+    long start = System.nanoTime();
+    long deadline = start + Duration.ofSeconds(seconds).toNanos();
+    ExecutorService executor = Executors.newFixedThreadPool(config.getThreads());
+    List<Future<Map<Operation, OperationStats>>> workers = new ArrayList<>();
+    for (int i = 0; i < config.getThreads(); i++) {
+      workers.add(executor.submit(() -> {
+        // The pool threads end after the phase, so each worker samples its own allocations
+        workerThreads.add(Thread.currentThread().getId());
+        long before = THREADS.getCurrentThreadAllocatedBytes();
+        try {
+          return work(deadline);
+        } finally {
+          workerAllocated.add(THREADS.getCurrentThreadAllocatedBytes() - before);
+        }
+      }));
+    }
+    Map<Operation, OperationStats> stats = newStats();
+    for (Future<Map<Operation, OperationStats>> worker : workers) {
+      try {
+        worker.get().forEach((operation, workerStats) -> stats.get(operation).add(workerStats));
+      } catch (ExecutionException e) {
+        log.error("Worker failed", e.getCause());
+      }
+    }
+    long elapsed = System.nanoTime() - start;
+    long allocated = workerAllocated.sum() + allocatedBytesSince(allocatedBefore, workerThreads);
+    executor.shutdown();
+    return new LoadReport(config, stats, elapsed, allocated);
+  }
+
+  private Map<Operation, OperationStats> work(long deadline) {
+    Map<Operation, OperationStats> stats = newStats();
+    while (System.nanoTime() < deadline) {
+      Operation operation = requests.nextOperation();
+      long start = System.nanoTime();
+      boolean success;
+      try {
+        HttpResponse<String> response = switch (operation) {
+          case GET -> send(operation, null, requests.randomId());
+          case LIST -> send(operation, null, null);
+          case POST -> send(operation, requests.postBody(), null);
+          case PUT -> {
+            String id = requests.randomId();
+            yield send(operation, requests.putBody(id), id);
+          }
+        };
+        success = response.statusCode() < 300;
+        if (success && operation == Operation.POST) {
+          collectIds(response.body());
+        }
+      } catch (IOException e) {
+        success = false;
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      }
+      stats.get(operation).record(System.nanoTime() - start, success);
+    }
+    return stats;
+  }
+
+  private HttpResponse<String> send(Operation operation, String body, String id)
+      throws IOException, InterruptedException {
+    HttpRequest.Builder builder = HttpRequest.newBuilder()
+        .header(X_TOKEN, token)
+        .header("Content-Type", "application/json")
+        .timeout(Duration.ofSeconds(60));
+    switch (operation) {
+      case GET -> builder.uri(URI.create(baseUrl + "/" + id)).GET();
+      case LIST -> builder.uri(URI.create(baseUrl + "?page=0&size=20")).GET();
+      case POST -> builder.uri(URI.create(baseUrl)).POST(HttpRequest.BodyPublishers.ofString(body));
+      case PUT -> builder.uri(URI.create(baseUrl + "/" + id))
+          .PUT(HttpRequest.BodyPublishers.ofString(body));
+    }
+    return client.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+  }
+
+  private void collectIds(String body) throws IOException {
+    JsonNode node = OBJECT_MAPPER.readTree(body);
+    if (node.isArray()) {
+      node.forEach(this::collectId);
+    } else {
+      collectId(node);
+    }
+  }
+
+  private void collectId(JsonNode node) {
+    JsonNode id = node.get("id");
+    if (id != null && id.isTextual()) {
+      requests.addId(id.asText());
+    }
+  }
+
+  private static Map<Operation, OperationStats> newStats() {
+    Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+    for (Operation operation : Operation.values()) {
+      stats.put(operation, new OperationStats(operation));
+    }
+    return stats;
+  }
+
+  /**
+   * Bytes allocated so far by each live thread of the JVM, by thread id.
+   */
+  private static Map<Long, Long> allocatedBytesByThread() {
+    long[] ids = THREADS.getAllThreadIds();
+    long[] allocated = THREADS.getThreadAllocatedBytes(ids);
+    Map<Long, Long> result = new HashMap<>(ids.length * 2);
+    for (int i = 0; i < ids.length; i++) {
+      if (allocated[i] >= 0) {
+        result.put(ids[i], allocated[i]);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Bytes allocated since the given sample by the live threads other than the workers. DAS runs
+   * in the same process, so this includes the allocations done while serving the requests.
+   * Threads started during the phase count from zero.
+   */
+  private static long allocatedBytesSince(Map<Long, Long> before, Set<Long> excluded) {
+    long total = 0;
+    for (Map.Entry<Long, Long> entry : allocatedBytesByThread().entrySet()) {
+      if (!excluded.contains(entry.getKey())) {
+        total += Math.max(0, entry.getValue() - before.getOrDefault(entry.getKey(), 0L));
+      }
+    }
+    return total;
+  }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2022-2024  Futit Services SL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.etendorx.loadtest;
+
+import com.etendorx.das.EtendorxDasApplication;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+
+/**
+ * Boots DAS against an embedded PostgreSQL, seeds it through its own REST API and replays the
+ * configured GET, POST and PUT mix, reporting latency percentiles and allocations.
+ * Usage: {@code LoadTestApplication [loadtest.properties]}.
+ */
+@Slf4j
+public class LoadTestApplication {
+
+  private static final String DEFAULT_REPORT = "build/loadtest/report.json";
+
+  public static void main(String[] args) throws Exception {
+    LoadTestConfig config = LoadTestConfig.load(args.length > 0 ? args[0] : null);
+    TokenFactory tokens = new TokenFactory(config);
+
+    try (EmbeddedDatabase database = EmbeddedDatabase.start(config.getSchema());
+         ConfigurableApplicationContext das = startDas(database, tokens)) {
+      int port = ((ServletWebServerApplicationContext) das).getWebServer().getPort();
+      RequestFactory requests = new RequestFactory(config);
+      LoadRunner runner = new LoadRunner(config, requests, port, tokens.getToken());
+
+      runner.seed();
+      log.info("Warming up for {} seconds", config.getWarmupSeconds());
+      runner.run(config.getWarmupSeconds());
+      log.info("Measuring for {} seconds", config.getDurationSeconds());
+      LoadReport report = runner.run(config.getDurationSeconds());
+
+      File reportFile = new File(System.getProperty("loadtest.report", DEFAULT_REPORT));
+      log.info("Load test results ({}):\n{}", reportFile, report.write(reportFile));
+    }
+  }
+
+  private static ConfigurableApplicationContext startDas(EmbeddedDatabase database,
+      TokenFactory tokens) {
+    // Command line arguments take precedence over the application.properties of DAS
+    return new SpringApplicationBuilder(EtendorxDasApplication.class).run(
+        "--server.port=0",
+        "--spring.cloud.config.enabled=false",
+        "--grpc.server.port=-1",
+        "--spring.datasource.url=" + database.getJdbcUrl(),
+        "--spring.datasource.username=" + EmbeddedDatabase.USER,
+        "--spring.datasource.password=",
+        "--public-key=" + tokens.getPublicKey(),
+        "--logging.level.root=WARN");
+  }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2022-2024  Futit Services SL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.etendorx.loadtest;
+
+import lombok.Getter;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+/**
+ * Configuration of a load test run. The defaults are read from the bundled
+ * {@code loadtest.properties} and can be overridden by an external file and system properties.
+ */
+@Getter
+public class LoadTestConfig {
+
+  private static final String DEFAULTS = "/loadtest.properties";
+  private static final String DEFAULT_TEMPLATE = "/loadtest-template.json";
+
+  private final String schema;
+  private final String entity;
+  private final String template;
+  private final int seedCount;
+  private final int getWeight;
+  private final int listWeight;
+  private final int postWeight;
+  private final int putWeight;
+  private final int arraySize;
+  private final double externalIdRate;
+  private final int threads;
+  private final int warmupSeconds;
+  private final int durationSeconds;
+  private final String userId;
+  private final String clientId;
+  private final String orgId;
+  private final String roleId;
+
+  private LoadTestConfig(Properties properties) throws IOException {
+    this.schema = properties.getProperty("loadtest.schema");
+    this.entity = properties.getProperty("loadtest.entity");
+    this.template = readTemplate(properties.getProperty("loadtest.template"));
+    this.seedCount = getInt(properties, "loadtest.seed.count");
+    this.getWeight = getInt(properties, "loadtest.mix.get");
+    this.listWeight = getInt(properties, "loadtest.mix.list");
+    this.postWeight = getInt(properties, "loadtest.mix.post");
+    this.putWeight = getInt(properties, "loadtest.mix.put");
+    this.arraySize = Math.max(1, getInt(properties, "loadtest.array.size"));
+    this.externalIdRate = Double.parseDouble(properties.getProperty("loadtest.externalid.rate"));
+    this.threads = getInt(properties, "loadtest.threads");
+    this.warmupSeconds = getInt(properties, "loadtest.warmup.seconds");
+    this.durationSeconds = getInt(properties, "loadtest.duration.seconds");
+    this.userId = properties.getProperty("loadtest.user.id");
+    this.clientId = properties.getProperty("loadtest.client.id");
+    this.orgId = properties.getProperty("loadtest.org.id");
+    this.roleId = properties.getProperty("loadtest.role.id");
+    if (StringUtils.isBlank(schema)) {
+      throw new IllegalArgumentException("The property loadtest.schema is required");
+    }
+    if (getWeight + listWeight + postWeight + putWeight <= 0) {
+      throw new IllegalArgumentException("At least one loadtest.mix weight must be positive");
+    }
+  }
+
+  /**
+   * Loads the configuration.
+   *
+   * @param file The external properties file, may be null.
+   * @return LoadTestConfig The configuration.
+   * @throws IOException If a file cannot be read.
+   */
+  public static LoadTestConfig load(String file) throws IOException {
+    Properties properties = new Properties();
+    try (InputStream defaults = LoadTestConfig.class.getResourceAsStream(DEFAULTS)) {
+      properties.load(defaults);
+    }
+    if (file != null) {
+      try (InputStream external = Files.newInputStream(Path.of(file))) {
+        properties.load(external);
+      }
+    }
+    for (String name : properties.stringPropertyNames()) {
+      String override = System.getProperty(name);
+      if (override != null) {
+        properties.setProperty(name, override);
+      }
+    }
+    return new LoadTestConfig(properties);
+  }
+
+  private static String readTemplate(String file) throws IOException {
+    if (StringUtils.isNotBlank(file)) {
+      return Files.readString(Path.of(file), StandardCharsets.UTF_8);
+    }
+    try (InputStream template = LoadTestConfig.class.getResourceAsStream(DEFAULT_TEMPLATE)) {
+      return new String(template.readAllBytes(), StandardCharsets.UTF_8);
+    }
+  }
+
+  private static int getInt(Properties properties, String name) {
+    return Integer.parseInt(properties.getProperty(name).trim());
+  }
+}
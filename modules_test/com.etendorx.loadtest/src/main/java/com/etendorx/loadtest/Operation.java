@@ -0,0 +1,31 @@
+/*
+ * Copyright 2022-2024  Futit Services SL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.etendorx.loadtest;
+
+/**
+ * Kinds of request replayed against the generated {@code BindedRestController} endpoints.
+ */
+public enum Operation {
+  // GET /{entity}/{id}
+  GET,
+  // GET /{entity}?page=&size=
+  LIST,
+  // POST /{entity}, a single record or an array of records
+  POST,
+  // PUT /{entity}/{id}
+  PUT
+}
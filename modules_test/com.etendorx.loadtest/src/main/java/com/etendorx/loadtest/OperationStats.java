@@ -0,0 +1,56 @@
+/*
+ * Copyright 2022-2024  Futit Services SL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.etendorx.loadtest;
+
+import lombok.Getter;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latencies and errors of one kind of request. Each worker keeps its own instance, they are
+ * merged when the phase ends.
+ */
+@Getter
+public class OperationStats {
+
+  private static final long MAX_LATENCY = TimeUnit.MINUTES.toMicros(5);
+
+  private final Operation operation;
+  private final Histogram latencies = new Histogram(MAX_LATENCY, 3);
+  private long errors;
+
+  public OperationStats(Operation operation) {
+    this.operation = operation;
+  }
+
+  public void record(long latencyNanos, boolean success) {
+    latencies.recordValue(Math.min(MAX_LATENCY, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+    if (!success) {
+      errors++;
+    }
+  }
+
+  public void add(OperationStats other) {
+    latencies.add(other.latencies);
+    errors += other.errors;
+  }
+
+  public long getCount() {
+    return latencies.getTotalCount();
+  }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2022-2024  Futit Services SL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.etendorx.loadtest;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Builds the requests of the test from the configured mix and record template.
+ * The template supports the placeholders {@code ${id}} and {@code ${index}}. The id is an
+ * internal id or, with the configured probability, an external id that DAS resolves through
+ * the external id service.
+ */
+public class RequestFactory {
+
+  private final LoadTestConfig config;
+  private final AtomicLong index = new AtomicLong();
+  private final List<String> ids = new CopyOnWriteArrayList<>();
+  private final Operation[] operations;
+  private final int[] cumulativeWeights;
+
+  public RequestFactory(LoadTestConfig config) {
+    this.config = config;
+    this.operations = Operation.values();
+    int[] weights = { config.getGetWeight(), config.getListWeight(), config.getPostWeight(),
+        config.getPutWeight() };
+    this.cumulativeWeights = new int[weights.length];
+    int total = 0;
+    for (int i = 0; i < weights.length; i++) {
+      total += Math.max(0, weights[i]);
+      cumulativeWeights[i] = total;
+    }
+  }
+
+  /**
+   * Picks the next operation according to the mix weights. Reads and updates fall back to POST
+   * until there are records to work with.
+   *
+   * @return Operation The operation to send.
+   */
+  public Operation nextOperation() {
+    int value = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+    Operation operation = operations[operations.length - 1];
+    for (int i = 0; i < cumulativeWeights.length; i++) {
+      if (value < cumulativeWeights[i]) {
+        operation = operations[i];
+        break;
+      }
+    }
+    if (ids.isEmpty() && (operation == Operation.GET || operation == Operation.PUT)) {
+      return Operation.POST;
+    }
+    return operation;
+  }
+
+  /**
+   * Body of a POST request, an array when the configured array size is greater than one.
+   *
+   * @return String The JSON body.
+   */
+  public String postBody() {
+    return body(config.getArraySize());
+  }
+
+  /**
+   * Body of a POST request with the given number of records.
+   *
+   * @param size The number of records.
+   * @return String The JSON body.
+   */
+  public String body(int size) {
+    if (size == 1) {
+      return record(newId());
+    }
+    StringBuilder body = new StringBuilder("[");
+    for (int i = 0; i < size; i++) {
+      if (i > 0) {
+        body.append(',');
+      }
+      body.append(record(newId()));
+    }
+    return body.append(']').toString();
+  }
+
+  /**
+   * Body of a PUT request of an existing record.
+   *
+   * @param id The id of the record.
+   * @return String The JSON body.
+   */
+  public String putBody(String id) {
+    return record(id);
+  }
+
+  public String randomId() {
+    return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+  }
+
+  public void addId(String id) {
+    ids.add(id);
+  }
+
+  public int getKnownIds() {
+    return ids.size();
+  }
+
+  private String record(String id) {
+    return config.getTemplate()
+        .replace("${id}", id)
+        .replace("${index}", String.valueOf(index.incrementAndGet()));
+  }
+
+  private String newId() {
+    if (ThreadLocalRandom.current().nextDouble() < config.getExternalIdRate()) {
+      return "LT-EXT-" + index.incrementAndGet();
+    }
+    return UUID.randomUUID().toString().replace("-", "").toUpperCase(Locale.ROOT);
+  }
+}
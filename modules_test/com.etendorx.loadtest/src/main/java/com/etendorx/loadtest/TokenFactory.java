@@ -0,0 +1,65 @@
+/*
+ * Copyright 2022-2024  Futit Services SL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.etendorx.loadtest;
+
+import com.etendorx.utils.auth.key.JwtKeyUtils;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.ECDSASigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import lombok.Getter;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.ECPrivateKey;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * Creates a key pair for the test run and signs the token sent on every request, so the test
+ * does not need the auth service. DAS is started with the public key of this pair.
+ */
+@Getter
+public class TokenFactory {
+
+  private final String publicKey;
+  private final String token;
+
+  public TokenFactory(LoadTestConfig config) throws GeneralSecurityException, JOSEException {
+    KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+    generator.initialize(new ECGenParameterSpec("secp256r1"));
+    KeyPair keyPair = generator.generateKeyPair();
+    this.publicKey = Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded());
+
+    JWTClaimsSet claims = new JWTClaimsSet.Builder()
+        .issuer("EtendoRX Load Test")
+        .issueTime(new Date())
+        .claim(JwtKeyUtils.USER_ID_CLAIM, config.getUserId())
+        .claim(JwtKeyUtils.CLIENT_ID_CLAIM, config.getClientId())
+        .claim(JwtKeyUtils.ORG_ID, config.getOrgId())
+        .claim(JwtKeyUtils.ROLE_ID, config.getRoleId())
+        .claim(JwtKeyUtils.SERVICE_SEARCH_KEY, "loadtest")
+        .build();
+    SignedJWT signedJWT = new SignedJWT(new JWSHeader(JWSAlgorithm.ES256), claims);
+    signedJWT.sign(new ECDSASigner((ECPrivateKey) keyPair.getPrivate()));
+    this.token = signedJWT.serialize();
+  }
+}